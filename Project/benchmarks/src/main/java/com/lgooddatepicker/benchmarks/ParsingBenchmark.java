@@ -0,0 +1,160 @@
+package com.lgooddatepicker.benchmarks;
+
+import com.lgooddatepicker.core.DatePickerSettings;
+import com.lgooddatepicker.utilities.DatePickerUtilities;
+import java.text.DateFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ParsingBenchmark, This measures the throughput of the text parsing functions that the date
+ * picker calls whenever the text of its text field changes. (See
+ * DatePickerUtilities.getParsedDateOrNull() and DatePickerUtilities.doesParsedDateMatchText().)
+ *
+ * The inputs are prepared for every locale in DateFormat.getAvailableLocales(), using the default
+ * settings of each locale. Each benchmark call uses the next locale in turn, so every result is an
+ * average over all the locales. The allocation rate is reported when the benchmarks are run with
+ * the GC profiler. (See RunBenchmarks.)
+ *
+ * The inputKind parameter selects the text that is parsed:
+ *
+ * "valid": The display text of a date. This text parses successfully.
+ *
+ * "invalid": The display text of a date, with the day of the month changed to a day that does not
+ * exist in that month (February 31st). This text is accepted by the formatters, and then rejected
+ * by doesParsedDateMatchText().
+ *
+ * "partial": The first half of the display text of a date, as it would be while a user is typing.
+ * This text does not parse.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParsingBenchmark {
+
+    /**
+     * sampleDate, This is the date that is used to create the input texts. The day of the month
+     * (28) does not occur anywhere in the year, so it can be safely replaced in the text.
+     */
+    final static private LocalDate sampleDate = LocalDate.of(2026, 2, 28);
+
+    /**
+     * inputKind, This selects the kind of text that is parsed. See the class documentation.
+     */
+    @Param({"valid", "invalid", "partial"})
+    public String inputKind;
+
+    /**
+     * inputs, This holds the prepared input of each locale.
+     */
+    private LocaleInput[] inputs;
+
+    /**
+     * nextInputIndex, This is the index of the input that is used by the next benchmark call.
+     */
+    private int nextInputIndex = 0;
+
+    /**
+     * createInputText, This returns the input text of the current input kind, for the supplied
+     * display formatter.
+     */
+    private String createInputText(DateTimeFormatter displayFormatterAD) {
+        String validText = displayFormatterAD.format(sampleDate);
+        switch (inputKind) {
+            case "valid":
+                return validText;
+            case "invalid":
+                return validText.replace("28", "31");
+            case "partial":
+                return validText.substring(0, validText.length() / 2);
+            default:
+                throw new IllegalArgumentException("Unknown input kind: " + inputKind);
+        }
+    }
+
+    /**
+     * doesParsedDateMatchText, This measures the check that rejects dates which the formatters
+     * adjusted during parsing (such as February 31st becoming February 28th).
+     */
+    @Benchmark
+    public boolean doesParsedDateMatchText() {
+        LocaleInput input = nextInput();
+        return DatePickerUtilities.doesParsedDateMatchText(sampleDate, input.text, input.locale);
+    }
+
+    /**
+     * getParsedDateOrNull, This measures the complete parsing of the text field text, including
+     * all the parsing formatters of the locale.
+     */
+    @Benchmark
+    public LocalDate getParsedDateOrNull() {
+        LocaleInput input = nextInput();
+        return DatePickerUtilities.getParsedDateOrNull(input.text, input.displayFormatterAD,
+                input.displayFormatterBC, input.parsingFormatters, input.locale);
+    }
+
+    /**
+     * nextInput, This returns the input of the next locale, and advances to the following locale.
+     */
+    private LocaleInput nextInput() {
+        LocaleInput input = inputs[nextInputIndex];
+        nextInputIndex = (nextInputIndex + 1 == inputs.length) ? 0 : nextInputIndex + 1;
+        return input;
+    }
+
+    /**
+     * setup, This prepares the input of every available locale.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        Locale[] locales = DateFormat.getAvailableLocales();
+        inputs = new LocaleInput[locales.length];
+        for (int i = 0; i < locales.length; ++i) {
+            DatePickerSettings settings = new DatePickerSettings(locales[i]);
+            inputs[i] = new LocaleInput(locales[i], createInputText(settings.displayFormatterAD),
+                    settings.displayFormatterAD, settings.displayFormatterBC,
+                    settings.parsingFormatters);
+        }
+        nextInputIndex = 0;
+    }
+
+    /**
+     * LocaleInput, This holds the input text and the formatters of one locale.
+     */
+    private static final class LocaleInput {
+
+        final DateTimeFormatter displayFormatterAD;
+        final DateTimeFormatter displayFormatterBC;
+        final Locale locale;
+        final ArrayList<DateTimeFormatter> parsingFormatters;
+        final String text;
+
+        LocaleInput(Locale locale, String text, DateTimeFormatter displayFormatterAD,
+                DateTimeFormatter displayFormatterBC,
+                ArrayList<DateTimeFormatter> parsingFormatters) {
+            this.locale = locale;
+            this.text = text;
+            this.displayFormatterAD = displayFormatterAD;
+            this.displayFormatterBC = displayFormatterBC;
+            this.parsingFormatters = parsingFormatters;
+        }
+    }
+}
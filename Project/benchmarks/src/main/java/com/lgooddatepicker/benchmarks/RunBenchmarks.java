@@ -0,0 +1,28 @@
+package com.lgooddatepicker.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * RunBenchmarks, This is the main class of the benchmarks jar. This runs the benchmarks with the
+ * GC profiler, so that the allocation rate of each benchmark is reported alongside its throughput.
+ * Any supplied arguments are interpreted as standard JMH command line options, and are applied on
+ * top of the defaults.
+ */
+public class RunBenchmarks {
+
+    /**
+     * main, This runs the benchmarks.
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,314 @@
+package com.lgooddatepicker.core;
+
+import java.awt.Color;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import javax.swing.border.LineBorder;
+import com.jgoodies.forms.factories.CC;
+import com.jgoodies.forms.layout.FormLayout;
+import com.lgooddatepicker.policies.HighlightPolicy;
+import com.lgooddatepicker.policies.PendingVetoPolicy;
+import com.lgooddatepicker.policies.VetoPolicy;
+import com.lgooddatepicker.utilities.CalendarSymbols;
+import com.lgooddatepicker.utilities.MonthGrid;
+
+/**
+ * CalendarMonthView, This holds the GUI components that display a single month in a calendar
+ * panel: A row of 7 weekday labels, and a grid of 42 date labels. (A multi-month calendar panel
+ * also shows a title label above each month.) The labels are created once, and are reused each
+ * time that the view is drawn.
+ *
+ * The first month view of a calendar panel uses the weekday panel and the dates panel that are
+ * created by the JFormDesigner code of the calendar panel. Any additional month views create
+ * panels with the same layout.
+ *
+ * A month view remembers which month it has drawn. When a multi-month calendar panel is moved by
+ * less than its number of visible months, the views that already show one of the newly visible
+ * months are kept as they are, and only the other views are drawn again.
+ *
+ * This class should not be used directly. It is only intended to be used by the CalendarPanel
+ * class.
+ */
+final class CalendarMonthView {
+
+    /**
+     * dateLabels, This holds the 42 date labels of this view.
+     */
+    private final ArrayList<JLabel> dateLabels = new ArrayList<>();
+
+    /**
+     * datesPanel, This is the panel that holds the date labels.
+     */
+    final JPanel datesPanel;
+
+    /**
+     * displayedMonthGrid, This holds the layout of the date cells for the drawn month, or null if
+     * this view has not been drawn yet.
+     */
+    private MonthGrid displayedMonthGrid = null;
+
+    /**
+     * monthPanel, This panel holds the title label, the weekday panel, and the dates panel of this
+     * view. This panel is only used by multi-month calendar panels.
+     */
+    final JPanel monthPanel;
+
+    /**
+     * titleLabel, This label shows the month and year of this view, in a multi-month calendar
+     * panel.
+     */
+    private final JLabel titleLabel;
+
+    /**
+     * weekDaysPanel, This is the panel that holds the weekday labels.
+     */
+    final JPanel weekDaysPanel;
+
+    /**
+     * weekdayLabels, This holds the 7 weekday labels of this view.
+     */
+    private final ArrayList<JLabel> weekdayLabels = new ArrayList<>();
+
+    /**
+     * weekdayLabelsFirstDayOfWeek, This holds the first day of the week that was used the last
+     * time that the weekday labels were set. The weekday labels are only rewritten when this value
+     * or the weekdayLabelsSymbols value has changed.
+     */
+    private DayOfWeek weekdayLabelsFirstDayOfWeek = null;
+
+    /**
+     * weekdayLabelsSymbols, This holds the (locale specific) calendar symbols that were used the
+     * last time that the weekday labels were set.
+     */
+    private CalendarSymbols weekdayLabelsSymbols = null;
+
+    /**
+     * Constructor, This creates a month view that uses the supplied weekday panel and dates panel.
+     * The weekday labels and the date labels are added to those panels. The supplied action is
+     * called with the date of any date label in the month that is clicked.
+     */
+    CalendarMonthView(JPanel weekDaysPanel, JPanel datesPanel,
+            Consumer<LocalDate> dateClickedAction) {
+        this.weekDaysPanel = weekDaysPanel;
+        this.datesPanel = datesPanel;
+        addWeekdayLabels();
+        addDateLabels(dateClickedAction);
+        titleLabel = new JLabel();
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        monthPanel = new JPanel(new FormLayout(
+                "default:grow",
+                "fill:default, $lgap, default, fill:default"));
+    }
+
+    /**
+     * createAdditionalView, This creates a month view with a new weekday panel and a new dates
+     * panel. The new panels have the same layout as the panels that are created by the
+     * JFormDesigner code of the calendar panel.
+     */
+    static CalendarMonthView createAdditionalView(Consumer<LocalDate> dateClickedAction) {
+        JPanel weekDaysPanel = new JPanel();
+        weekDaysPanel.setBorder(null);
+        weekDaysPanel.setLayout(new FormLayout(
+                "[27px,default]:grow, 6*(default:grow)",
+                "fill:[22px,default]"));
+        ((FormLayout) weekDaysPanel.getLayout()).setColumnGroups(
+                new int[][]{{1, 2, 3, 4, 5, 6, 7}});
+        JPanel datesPanel = new JPanel();
+        datesPanel.setBorder(new LineBorder(new Color(99, 130, 191)));
+        datesPanel.setBackground(Color.white);
+        datesPanel.setLayout(new FormLayout(
+                "7*(pref:grow)",
+                "2px, 6*(fill:[18px,default]:grow), 3px"));
+        ((FormLayout) datesPanel.getLayout()).setColumnGroups(
+                new int[][]{{1, 2, 3, 4, 5, 6, 7}});
+        ((FormLayout) datesPanel.getLayout()).setRowGroups(new int[][]{{2, 3, 4, 5, 6, 7}});
+        return new CalendarMonthView(weekDaysPanel, datesPanel, dateClickedAction);
+    }
+
+    /**
+     * addDateLabels, This adds a set of 42 date labels to the dates panel, and ties each of those
+     * labels to a mouse click event handler. The date labels are reused any time that the view is
+     * redrawn.
+     */
+    private void addDateLabels(Consumer<LocalDate> dateClickedAction) {
+        for (int i = 0; i < MonthGrid.cellCount; ++i) {
+            final int cellIndex = i;
+            int dateLabelColumnX = ((i % 7) + 1);
+            int dateLabelRowY = ((i / 7) + 2);
+            JLabel dateLabel = new JLabel();
+            dateLabel.setHorizontalAlignment(SwingConstants.CENTER);
+            dateLabel.setVerticalAlignment(SwingConstants.CENTER);
+            dateLabel.setBackground(Color.white);
+            dateLabel.setBorder(null);
+            dateLabel.setOpaque(true);
+            dateLabel.setText("" + i);
+            datesPanel.add(dateLabel, CC.xy(dateLabelColumnX, dateLabelRowY));
+            dateLabels.add(dateLabel);
+            // Add a mouse click listener for every date label, even the blank ones.
+            dateLabel.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    // If the label is not inside the displayed month, it is empty, so do nothing.
+                    MonthGrid monthGrid = displayedMonthGrid;
+                    if (monthGrid == null || !monthGrid.isInMonth(cellIndex)) {
+                        return;
+                    }
+                    dateClickedAction.accept(LocalDate.ofEpochDay(monthGrid.getEpochDay(cellIndex)));
+                }
+            });
+        }
+    }
+
+    /**
+     * addWeekdayLabels, This adds a set of 7 weekday labels to the weekday panel. The text of these
+     * labels is set with locale sensitive weekday names when the view is drawn.
+     */
+    private void addWeekdayLabels() {
+        for (int i = 0; i < 7; ++i) {
+            int weekdayLabelColumnX = (i + 1);
+            int weekdayLabelRowY = 1;
+            JLabel weekdayLabel = new JLabel();
+            weekdayLabel.setHorizontalAlignment(SwingConstants.CENTER);
+            weekdayLabel.setVerticalAlignment(SwingConstants.CENTER);
+            weekdayLabel.setBackground(new Color(184, 207, 229));
+            weekdayLabel.setOpaque(true);
+            weekdayLabel.setText("wd" + i);
+            weekDaysPanel.add(weekdayLabel, CC.xy(weekdayLabelColumnX, weekdayLabelRowY));
+            weekdayLabels.add(weekdayLabel);
+        }
+    }
+
+    /**
+     * draw, This draws the supplied month into this view.
+     *
+     * If useVetoMask is true, then the vetoed days of the month are taken from the supplied bit
+     * mask (see BatchVetoPolicy), and the veto policy is not asked about individual dates.
+     * Otherwise, the veto policy of the settings (if any) is asked about each date. In the same
+     * way, if highlightStringsOfMonth is not null, then the highlight strings of the days of the
+     * month are taken from that array (see BatchHighlightPolicy). Otherwise, the highlight policy
+     * of the settings (if any) is asked about each date. Dates outside of the date bounds of the
+     * settings are disabled, without asking any policy.
+     */
+    void draw(YearMonth yearMonth, DatePickerSettings settings, CalendarSymbols symbols,
+            boolean useVetoMask, int vetoedDaysOfMonth, String[] highlightStringsOfMonth,
+            LocalDate selectedDate) {
+        LocalDate minimumDate = settings.minimumDate;
+        LocalDate maximumDate = settings.maximumDate;
+        long minimumEpochDay = (minimumDate == null) ? Long.MIN_VALUE : minimumDate.toEpochDay();
+        long maximumEpochDay = (maximumDate == null) ? Long.MAX_VALUE : maximumDate.toEpochDay();
+        // Get the layout of the date cells for this month.
+        MonthGrid monthGrid = MonthGrid.getInstance(yearMonth, settings.firstDayOfWeek);
+        this.displayedMonthGrid = monthGrid;
+        // Set the title label. This is only visible in a multi-month calendar panel.
+        titleLabel.setText(symbols.getMonthName(yearMonth.getMonth()) + " " + yearMonth.getYear());
+        // Find the cell index of the selected date, if it is inside the displayed month.
+        int selectedDateCellIndex = monthGrid.getCellIndexOrNegativeOne(selectedDate);
+        // Set the days of the week labels, if the locale or the first day of the week has changed
+        // since the weekday labels were last set.
+        if (symbols != weekdayLabelsSymbols
+                || monthGrid.getFirstDayOfWeek() != weekdayLabelsFirstDayOfWeek) {
+            String[] localShortDaysOfWeek
+                    = symbols.getShortWeekdaysAsDisplayed(monthGrid.getFirstDayOfWeek());
+            for (int column = 0; column < 7; ++column) {
+                weekdayLabels.get(column).setText(localShortDaysOfWeek[column]);
+            }
+            weekdayLabelsSymbols = symbols;
+            weekdayLabelsFirstDayOfWeek = monthGrid.getFirstDayOfWeek();
+        }
+        // Set the dates of the month labels.
+        // Also save the label for the selected date, if one is present in the current month.
+        VetoPolicy vetoPolicy = settings.vetoPolicy;
+        HighlightPolicy highlightPolicy = settings.highlightPolicy;
+        PendingVetoPolicy pendingVetoPolicy = (vetoPolicy instanceof PendingVetoPolicy)
+                ? ((PendingVetoPolicy) vetoPolicy) : null;
+        JLabel selectedDateLabel = null;
+        for (int dateLabelArrayIndex = 0; dateLabelArrayIndex < dateLabels.size(); ++dateLabelArrayIndex) {
+            // Get the current date label.
+            JLabel dateLabel = dateLabels.get(dateLabelArrayIndex);
+            // Reset the state of every label to a default state.
+            dateLabel.setBackground(Color.white);
+            dateLabel.setForeground(Color.black);
+            dateLabel.setBorder(null);
+            dateLabel.setEnabled(true);
+            dateLabel.setToolTipText(null);
+            // While we are inside the current month, set the date labels with the day of the month.
+            if (monthGrid.isInMonth(dateLabelArrayIndex)) {
+                long epochDay = monthGrid.getEpochDay(dateLabelArrayIndex);
+                int dayOfMonth = monthGrid.getDayOfMonth(dateLabelArrayIndex);
+                // Set the text for the current date.
+                dateLabel.setText("" + dayOfMonth);
+                // Dates outside of the date bounds are disabled, without asking any policy.
+                if (epochDay < minimumEpochDay || epochDay > maximumEpochDay) {
+                    dateLabel.setEnabled(false);
+                    continue;
+                }
+                // Get a local date object for the current date.
+                LocalDate currentDate = LocalDate.ofEpochDay(epochDay);
+                boolean dateIsVetoed;
+                if (useVetoMask) {
+                    dateIsVetoed = ((vetoedDaysOfMonth >>> (dayOfMonth - 1)) & 1) != 0;
+                } else {
+                    dateIsVetoed = (vetoPolicy != null) && (vetoPolicy.isDateVetoed(currentDate));
+                }
+                String highlightStringOrNull = null;
+                if (highlightStringsOfMonth != null) {
+                    highlightStringOrNull = highlightStringsOfMonth[dayOfMonth - 1];
+                } else if (highlightPolicy != null) {
+                    highlightStringOrNull = highlightPolicy.getHighlightStringOrNull(currentDate);
+                }
+                if (dateIsVetoed) {
+                    dateLabel.setEnabled(false);
+                    boolean dateIsPending = (pendingVetoPolicy != null)
+                            && (pendingVetoPolicy.isDatePending(currentDate));
+                    dateLabel.setBackground(dateIsPending
+                            ? settings.backgroundColorPending
+                            : settings.backgroundColorVetoed);
+                }
+                if ((!dateIsVetoed) && (highlightStringOrNull != null)) {
+                    dateLabel.setBackground(settings.backgroundColorHighlighted);
+                    if (!highlightStringOrNull.isEmpty()) {
+                        dateLabel.setToolTipText(highlightStringOrNull);
+                    }
+                }
+                // If needed, save the label for the selected date.
+                if (dateLabelArrayIndex == selectedDateCellIndex) {
+                    selectedDateLabel = dateLabel;
+                }
+            } else {
+                // We are not inside the current month, so set this label to an empty string.
+                dateLabel.setText("");
+            }
+        }
+        // If needed, change the color of the selected date.
+        if (selectedDateLabel != null) {
+            selectedDateLabel.setBackground(new Color(163, 184, 204));
+            selectedDateLabel.setBorder(new LineBorder(new Color(99, 130, 191)));
+        }
+    }
+
+    /**
+     * getDisplayedYearMonth, This returns the month that was last drawn in this view, or null if
+     * this view has not been drawn yet.
+     */
+    YearMonth getDisplayedYearMonth() {
+        return (displayedMonthGrid == null) ? null : displayedMonthGrid.getYearMonth();
+    }
+
+    /**
+     * installInMonthPanel, This places the title label, the weekday panel, and the dates panel of
+     * this view into the month panel of this view. This is used by multi-month calendar panels.
+     */
+    void installInMonthPanel() {
+        monthPanel.add(titleLabel, CC.xy(1, 1));
+        monthPanel.add(weekDaysPanel, CC.xy(1, 3));
+        monthPanel.add(datesPanel, CC.xy(1, 4));
+    }
+}
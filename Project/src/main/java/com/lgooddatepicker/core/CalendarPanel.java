@@ -3,18 +3,24 @@ package com.lgooddatepicker.core;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.*;
 import javax.swing.border.*;
 import com.jgoodies.forms.factories.*;
 import com.jgoodies.forms.layout.*;
-import java.text.DateFormatSymbols;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import com.lgooddatepicker.policies.BatchHighlightPolicy;
+import com.lgooddatepicker.policies.BatchVetoPolicy;
 import com.lgooddatepicker.policies.HighlightPolicy;
+import com.lgooddatepicker.policies.PendingVetoPolicy;
 import com.lgooddatepicker.policies.VetoPolicy;
-import com.lgooddatepicker.utilities.TopWindowMovementListener;
+import com.lgooddatepicker.utilities.CalendarSymbols;
+import com.lgooddatepicker.utilities.PolicyMonitor;
+import com.lgooddatepicker.utilities.PolicyMonitor.CallSite;
 
 /**
  * CalendarPanel, This implements the calendar panel which is displayed on the screen when the user
@@ -27,15 +33,24 @@ import com.lgooddatepicker.utilities.TopWindowMovementListener;
  * Life cycle: Each time that the user clicks the toggle calendar button on a date picker, a new
  * CalendarPanel instance is created and displayed, inside of a new instance of CustomPopup. The
  * calendar panel instance is closed and disposed each time that the date picker popup is closed.
+ *
+ * Multi-month calendars: If the date picker settings request more than one visible month (see
+ * DatePickerSettings.visibleMonthRows and visibleMonthColumns), then the calendar shows a grid of
+ * consecutive months. The header shows (and navigates from) the first visible month. Each month is
+ * displayed by a CalendarMonthView. When the calendar is moved by fewer months than are visible,
+ * the views that already show a newly visible month are moved into place instead of being drawn
+ * again. The vetoed dates of all the months that need to be drawn are requested from a batch veto
+ * policy with a single call.
  */
 public class CalendarPanel extends JPanel {
 
     /**
-     * dateLabels, This holds a list of all the date labels in the calendar, including ones that
-     * currently have dates or ones that are blank. This should always have exactly 42 labels. Date
-     * labels are reused when the currently displayed month or year is changed.
+     * monthYearPanelSizeCache, This holds the calculated size of the month and year panel, for each
+     * combination of font and locale that has been used. The key is a list that holds the font and
+     * the locale. See setSizeOfMonthYearPanel() for details.
      */
-    private ArrayList<JLabel> dateLabels;
+    private static final ConcurrentHashMap<List<Object>, Dimension> monthYearPanelSizeCache
+            = new ConcurrentHashMap<>();
 
     /**
      * displayedSelectedDate, This stores a date that will be highlighted in the calendar as the
@@ -52,6 +67,44 @@ public class CalendarPanel extends JPanel {
      */
     private YearMonth displayedYearMonth = YearMonth.now();
 
+    /**
+     * monthViews, This holds the month views of the calendar, in the order that they are
+     * displayed. The first month view always shows the displayed year and month. There is always
+     * at least one month view.
+     */
+    private final ArrayList<CalendarMonthView> monthViews = new ArrayList<>();
+
+    /**
+     * monthViewsAreCurrent, This is true if the month views that have already been drawn are still
+     * correct, so that a month view which already shows a month that needs to be displayed can be
+     * reused without drawing it again. This is cleared whenever something changes that affects
+     * every month, such as the selected date or the arrival of pending veto policy data.
+     */
+    private boolean monthViewsAreCurrent = false;
+
+    /**
+     * monthsPanel, This panel holds the month panels of a multi-month calendar. This is null if
+     * the calendar only shows a single month.
+     */
+    private JPanel monthsPanel = null;
+
+    /**
+     * pendingDataListener, This listener redraws the calendar when new data arrives for a pending
+     * veto policy. See the PendingVetoPolicy interface.
+     */
+    private final Runnable pendingDataListener = () -> {
+        if (this.parentDatePicker != null) {
+            this.monthViewsAreCurrent = false;
+            drawCalendar(displayedYearMonth);
+        }
+    };
+
+    /**
+     * pendingDataListenerPolicy, This holds the pending veto policy that the pending data listener
+     * is currently registered with, or null if the listener is not registered.
+     */
+    private PendingVetoPolicy pendingDataListenerPolicy = null;
+
     /**
      * parentDatePicker, This holds a reference to the date picker that is the parent of this
      * calendar panel. A calendar panel always has a parent date picker. This will never be null
@@ -60,11 +113,10 @@ public class CalendarPanel extends JPanel {
     private DatePicker parentDatePicker;
 
     /**
-     * weekdayLabels, This holds a list of all the weekday labels in the calendar. This should
-     * always have exactly 7 labels. Weekday labels are reused when the currently displayed month or
-     * year is changed.
+     * yearChooser, This holds the year chooser popup menu for this calendar panel. This is null
+     * until the first time that the user clicks on the year label.
      */
-    private ArrayList<JLabel> weekdayLabels;
+    private YearChooser yearChooser = null;
 
     /**
      * JFormDesigner GUI components, These variables are automatically generated by JFormDesigner.
@@ -95,13 +147,8 @@ public class CalendarPanel extends JPanel {
         // Initialize the components.
         initComponents();
 
-        // Create a TopWindowMovementListener.
-        Window topWindow = SwingUtilities.getWindowAncestor(parentDatePicker);
-        TopWindowMovementListener.addNewTopWindowMovementListener(parentDatePicker, topWindow);
-
-        // Generate and add the date labels and weekday labels.
-        addDateLabels();
-        addWeekdayLabels();
+        // Generate and add the month views, with their date labels and weekday labels.
+        addMonthViews();
 
         // Shrink the buttons for previous and next year and month.
         buttonPreviousYear.setMargin(new java.awt.Insets(1, 2, 1, 2));
@@ -129,53 +176,31 @@ public class CalendarPanel extends JPanel {
     }
 
     /**
-     * addDateLabels, This adds a set of 42 date labels to the calendar, and ties each of those
-     * labels to a mouse click event handler. The date labels are reused any time that the calendar
-     * is redrawn.
-     */
-    private void addDateLabels() {
-        dateLabels = new ArrayList<>();
-        for (int i = 0; i < 42; ++i) {
-            int dateLabelColumnX = ((i % 7) + 1);
-            int dateLabelRowY = ((i / 7) + 2);
-            JLabel dateLabel = new JLabel();
-            dateLabel.setHorizontalAlignment(SwingConstants.CENTER);
-            dateLabel.setVerticalAlignment(SwingConstants.CENTER);
-            dateLabel.setBackground(Color.white);
-            dateLabel.setBorder(null);
-            dateLabel.setOpaque(true);
-            dateLabel.setText("" + i);
-            datesPanel.add(dateLabel, CC.xy(dateLabelColumnX, dateLabelRowY));
-            dateLabels.add(dateLabel);
-            // Add a mouse click listener for every date label, even the blank ones.
-            dateLabel.addMouseListener(new MouseAdapter() {
-                @Override
-                public void mouseClicked(MouseEvent e) {
-                    dateLabelMouseClicked(e);
-                }
-            });
+     * addMonthViews, This creates the month views of the calendar. The first month view uses the
+     * weekday panel and the dates panel that were created by initComponents(). If the settings
+     * request more than one visible month, then additional month views are created, and all the
+     * month views are placed in a grid that replaces the weekday panel and the dates panel.
+     */
+    private void addMonthViews() {
+        monthViews.add(new CalendarMonthView(weekDaysPanel, datesPanel, this::userSelectedADate));
+        int rows = Math.max(1, getSettings().visibleMonthRows);
+        int columns = Math.max(1, getSettings().visibleMonthColumns);
+        if (rows * columns == 1) {
+            return;
         }
-    }
-
-    /**
-     * addWeekdayLabels, This adds a set of 7 weekday labels to the calendar panel. The text of
-     * these labels is set with locale sensitive weekday names each time that the calendar is
-     * redrawn.
-     */
-    private void addWeekdayLabels() {
-        weekdayLabels = new ArrayList<>();
-        for (int i = 0; i < 7; ++i) {
-            int weekdayLabelColumnX = (i + 1);
-            int weekdayLabelRowY = 1;
-            JLabel weekdayLabel = new JLabel();
-            weekdayLabel.setHorizontalAlignment(SwingConstants.CENTER);
-            weekdayLabel.setVerticalAlignment(SwingConstants.CENTER);
-            weekdayLabel.setBackground(new Color(184, 207, 229));
-            weekdayLabel.setOpaque(true);
-            weekdayLabel.setText("wd" + i);
-            weekDaysPanel.add(weekdayLabel, CC.xy(weekdayLabelColumnX, weekdayLabelRowY));
-            weekdayLabels.add(weekdayLabel);
+        for (int i = 1; i < rows * columns; ++i) {
+            monthViews.add(CalendarMonthView.createAdditionalView(this::userSelectedADate));
+        }
+        remove(weekDaysPanel);
+        remove(datesPanel);
+        monthsPanel = new JPanel(new GridLayout(rows, columns, 8, 4));
+        for (CalendarMonthView monthView : monthViews) {
+            monthView.installInMonthPanel();
+            monthsPanel.add(monthView.monthPanel);
         }
+        // The months panel is placed in the row of the dates panel. (In a FormLayout, a component
+        // that spans several rows does not contribute to the height of those rows.)
+        add(monthsPanel, CC.xy(2, 5));
     }
 
     /**
@@ -218,28 +243,10 @@ public class CalendarPanel extends JPanel {
      * its popup calendar panel.
      */
     void clearParent() {
+        setPendingDataListenerPolicy(null);
         parentDatePicker = null;
     }
 
-    /**
-     * dateLabelMouseClicked, This event is called any time that the user clicks on a date label in
-     * the calendar. This sets the date picker to the selected date, and closes the calendar panel.
-     */
-    private void dateLabelMouseClicked(MouseEvent e) {
-        // Get the label that was clicked.
-        JLabel label = (JLabel) e.getSource();
-        // If the label is empty, do nothing and return.
-        String labelText = label.getText();
-        if ("".equals(labelText)) {
-            return;
-        }
-        // We have a label with a specific date, so set the date and close the calendar.
-        int dayOfMonth = Integer.parseInt(labelText);
-        LocalDate clickedDate = LocalDate.of(
-                displayedYearMonth.getYear(), displayedYearMonth.getMonth(), dayOfMonth);
-        userSelectedADate(clickedDate);
-    }
-
     /**
      * drawCalendar, This is called whenever the calendar needs to be drawn. This takes a year and a
      * month to indicate which month should be drawn in the calendar.
@@ -253,134 +260,131 @@ public class CalendarPanel extends JPanel {
      * month to indicate which month should be drawn in the calendar.
      */
     final void drawCalendar(YearMonth yearMonth) {
+        // Any policy calls made while drawing are attributed to the draw call site.
+        CallSite previousCallSite = PolicyMonitor.enterCallSite(CallSite.DRAW);
+        try {
+            drawCalendarContents(yearMonth);
+        } finally {
+            PolicyMonitor.exitCallSite(previousCallSite);
+        }
+    }
+
+    /**
+     * drawCalendarContents, This draws the supplied month into the calendar panel. In a
+     * multi-month calendar, the supplied month is the first visible month. This should only be
+     * called from drawCalendar().
+     */
+    private void drawCalendarContents(YearMonth yearMonth) {
+        int monthCount = monthViews.size();
+        // Keep the displayed months within the date bounds, if any bounds have been set. If all
+        // the bounded months do not fit in the calendar, the first month is kept at the minimum.
+        LocalDate minimumDate = getSettings().minimumDate;
+        LocalDate maximumDate = getSettings().maximumDate;
+        YearMonth minimumYearMonth = (minimumDate == null) ? null : YearMonth.from(minimumDate);
+        YearMonth maximumYearMonth = (maximumDate == null) ? null : YearMonth.from(maximumDate);
+        if (maximumYearMonth != null && yearMonth.plusMonths(monthCount - 1).isAfter(maximumYearMonth)) {
+            yearMonth = maximumYearMonth.minusMonths(monthCount - 1);
+        }
+        if (minimumYearMonth != null && yearMonth.isBefore(minimumYearMonth)) {
+            yearMonth = minimumYearMonth;
+        }
+        YearMonth lastYearMonth = yearMonth.plusMonths(monthCount - 1);
         // Save the displayed yearMonth.
         this.displayedYearMonth = yearMonth;
-        // Get the displayed month and year.
-        Month displayedMonth = yearMonth.getMonth();
-        int displayedYear = yearMonth.getYear();
-        // Get an instance of the calendar symbols for the current locale.
-        DateFormatSymbols symbols = DateFormatSymbols.getInstance(getSettings().pickerLocale);
-        // Get the days of the week in the local language.
-        String localShortDaysOfWeek[] = symbols.getShortWeekdays();
-        // Get the full name of the month in the current locale.
-        String localizedFullMonth = symbols.getMonths()[displayedMonth.getValue() - 1];
-        // Get the first day of the month, and the first day of week.
-        LocalDate firstDayOfMonth = LocalDate.of(displayedYear, displayedMonth, 1);
-        DayOfWeek firstDayOfWeekOfMonth = firstDayOfMonth.getDayOfWeek();
-        // Get the last day of the month.
-        int lastDateOfMonth = getLastDayOfMonth(displayedYearMonth);
-        // Find out if we have a selected date that is inside the currently displayed month.
-        boolean selectedDateIsInDisplayedMonth = (displayedSelectedDate != null)
-                && (displayedSelectedDate.getYear() == displayedYear)
-                && (displayedSelectedDate.getMonth() == displayedMonth);
+        // Get the cached calendar symbols for the current locale.
+        CalendarSymbols symbols = CalendarSymbols.getInstance(getSettings().pickerLocale);
         // Set the month and the year labels.
-        labelMonthIndicator.setText(localizedFullMonth);
-        labelYearIndicator.setText("" + displayedYear);
-        // Set the days of the week labels, and create an array to represent the weekday positions.
-        ArrayList<DayOfWeek> daysOfWeekAsDisplayed = new ArrayList<>();
-        int isoFirstDayOfWeekValue = getSettings().firstDayOfWeek.getValue();
-        int isoLastDayOfWeekOverflowed = isoFirstDayOfWeekValue + 6;
-        int weekdayLabelArrayIndex = 0;
-        for (int dayOfWeek = isoFirstDayOfWeekValue; dayOfWeek <= isoLastDayOfWeekOverflowed; dayOfWeek++) {
-            int localShortDaysOfWeekArrayIndex = (dayOfWeek % 7) + 1;
-            int isoDayOfWeek = (dayOfWeek > 7) ? (dayOfWeek - 7) : dayOfWeek;
-            DayOfWeek currentDayOfWeek = DayOfWeek.of(isoDayOfWeek);
-            daysOfWeekAsDisplayed.add(currentDayOfWeek);
-            weekdayLabels.get(weekdayLabelArrayIndex).setText(localShortDaysOfWeek[localShortDaysOfWeekArrayIndex]);
-            ++weekdayLabelArrayIndex;
+        labelMonthIndicator.setText(symbols.getMonthName(yearMonth.getMonth()));
+        labelYearIndicator.setText("" + yearMonth.getYear());
+        // Assign a month view to each visible month. Views that already show one of the visible
+        // months keep that month, and the remaining views are used for the other months.
+        CalendarMonthView[] assignedViews = new CalendarMonthView[monthCount];
+        ArrayList<CalendarMonthView> unassignedViews = new ArrayList<>();
+        for (CalendarMonthView monthView : monthViews) {
+            YearMonth viewYearMonth = monthView.getDisplayedYearMonth();
+            long offset = (viewYearMonth == null)
+                    ? -1 : yearMonth.until(viewYearMonth, ChronoUnit.MONTHS);
+            if (monthViewsAreCurrent && offset >= 0 && offset < monthCount
+                    && assignedViews[(int) offset] == null) {
+                assignedViews[(int) offset] = monthView;
+            } else {
+                unassignedViews.add(monthView);
+            }
         }
-        // Set the dates of the month labels.
-        // Also save the label for the selected date, if one is present in the current month.
-        boolean insideValidRange = false;
-        int dayOfMonth = 1;
-        JLabel selectedDateLabel = null;
-        for (int dateLabelArrayIndex = 0; dateLabelArrayIndex < dateLabels.size(); ++dateLabelArrayIndex) {
-            // Get the current date label.
-            JLabel dateLabel = dateLabels.get(dateLabelArrayIndex);
-            // Reset the state of every label to a default state.
-            dateLabel.setBackground(Color.white);
-            dateLabel.setForeground(Color.black);
-            dateLabel.setBorder(null);
-            dateLabel.setEnabled(true);
-            dateLabel.setToolTipText(null);
-            // Calculate the index to use on the daysOfWeekAsDisplayed array.
-            int daysOfWeekAsDisplayedArrayIndex = dateLabelArrayIndex % 7;
-            // Check to see if we are inside the valid range for days of this month.
-            if (daysOfWeekAsDisplayed.get(daysOfWeekAsDisplayedArrayIndex) == firstDayOfWeekOfMonth
-                    && dateLabelArrayIndex < 7) {
-                insideValidRange = true;
+        int firstOffsetToDraw = -1;
+        int lastOffsetToDraw = -1;
+        for (int offset = 0; offset < monthCount; ++offset) {
+            if (assignedViews[offset] == null) {
+                assignedViews[offset] = unassignedViews.remove(0);
+                firstOffsetToDraw = (firstOffsetToDraw < 0) ? offset : firstOffsetToDraw;
+                lastOffsetToDraw = offset;
             }
-            if (dayOfMonth > lastDateOfMonth) {
-                insideValidRange = false;
+        }
+        // Put the month views in the displayed order.
+        for (int offset = 0; offset < monthCount; ++offset) {
+            monthViews.set(offset, assignedViews[offset]);
+            if (monthsPanel != null && monthsPanel.getComponent(offset) != assignedViews[offset].monthPanel) {
+                monthsPanel.setComponentZOrder(assignedViews[offset].monthPanel, offset);
             }
-            // While we are inside the valid range, set the date labels with the day of the month.
-            if (insideValidRange) {
-                // Get a local date object for the current date.
-                LocalDate currentDate = LocalDate.of(displayedYear, displayedMonth, dayOfMonth);
-                VetoPolicy vetoPolicy = getSettings().vetoPolicy;
-                HighlightPolicy highlightPolicy = getSettings().highlightPolicy;
-                boolean dateIsVetoed = (vetoPolicy != null)
-                        && (vetoPolicy.isDateVetoed(currentDate));
-                String highlightStringOrNull = null;
-                if (highlightPolicy != null) {
-                    highlightStringOrNull = highlightPolicy.getHighlightStringOrNull(currentDate);
-                }
-                if (dateIsVetoed) {
-                    dateLabel.setEnabled(false);
-                    dateLabel.setBackground(getSettings().backgroundColorVetoed);
-                }
-                if ((!dateIsVetoed) && (highlightStringOrNull != null)) {
-                    dateLabel.setBackground(getSettings().backgroundColorHighlighted);
-                    if (!highlightStringOrNull.isEmpty()) {
-                        dateLabel.setToolTipText(highlightStringOrNull);
-                    }
-                }
-                // If needed, save the label for the selected date.
-                if (selectedDateIsInDisplayedMonth && displayedSelectedDate != null
-                        && displayedSelectedDate.getDayOfMonth() == dayOfMonth) {
-                    selectedDateLabel = dateLabel;
+        }
+        if (monthsPanel != null) {
+            monthsPanel.revalidate();
+            monthsPanel.repaint();
+        }
+        // If the veto policy loads its data in the background, listen for the arrival of the data.
+        VetoPolicy vetoPolicy = getSettings().vetoPolicy;
+        setPendingDataListenerPolicy((vetoPolicy instanceof PendingVetoPolicy)
+                ? ((PendingVetoPolicy) vetoPolicy) : null);
+        // Draw the month views that need to be drawn. If the veto policy or the highlight policy
+        // supports it, get the vetoed days or the highlight strings of all those months with a
+        // single call.
+        if (firstOffsetToDraw >= 0) {
+            YearMonth firstYearMonthToDraw = yearMonth.plusMonths(firstOffsetToDraw);
+            int monthCountToDraw = lastOffsetToDraw - firstOffsetToDraw + 1;
+            BatchVetoPolicy batchVetoPolicy = (vetoPolicy instanceof BatchVetoPolicy)
+                    ? ((BatchVetoPolicy) vetoPolicy) : null;
+            int[] vetoedDaysOfMonths = (batchVetoPolicy == null) ? null
+                    : batchVetoPolicy.getVetoedDaysOfMonths(
+                            firstYearMonthToDraw, monthCountToDraw);
+            HighlightPolicy highlightPolicy = getSettings().highlightPolicy;
+            String[][] highlightStringsOfMonths = (highlightPolicy instanceof BatchHighlightPolicy)
+                    ? ((BatchHighlightPolicy) highlightPolicy).getHighlightStringsOfMonths(
+                            firstYearMonthToDraw, monthCountToDraw)
+                    : null;
+            for (int offset = firstOffsetToDraw; offset <= lastOffsetToDraw; ++offset) {
+                CalendarMonthView monthView = monthViews.get(offset);
+                YearMonth viewYearMonth = yearMonth.plusMonths(offset);
+                if (monthViewsAreCurrent && viewYearMonth.equals(monthView.getDisplayedYearMonth())) {
+                    continue;
                 }
-                // Set the text for the current date.
-                dateLabel.setText("" + dayOfMonth);
-                ++dayOfMonth;
-            } else {
-                // We are not inside the valid range, so set this label to an empty string.
-                dateLabel.setText("");
+                int vetoedDaysOfMonth = (vetoedDaysOfMonths == null)
+                        ? 0 : vetoedDaysOfMonths[offset - firstOffsetToDraw];
+                String[] highlightStringsOfMonth = (highlightStringsOfMonths == null)
+                        ? null : highlightStringsOfMonths[offset - firstOffsetToDraw];
+                monthView.draw(viewYearMonth, getSettings(), symbols, (batchVetoPolicy != null),
+                        vetoedDaysOfMonth, highlightStringsOfMonth, displayedSelectedDate);
             }
         }
-        // If needed, change the color of the selected date.
-        if (selectedDateLabel != null) {
-            selectedDateLabel.setBackground(new Color(163, 184, 204));
-            selectedDateLabel.setBorder(new LineBorder(new Color(99, 130, 191)));
-        }
+        monthViewsAreCurrent = true;
         // Set the label for the today button.
         String todayDateString = getSettings().todayFormatter.format(LocalDate.now());
         String todayLabel = getSettings().todayTranslation + ":  " + todayDateString;
         labelSetDateToToday.setText(todayLabel);
-        // If today is vetoed, disable the today button.
-        VetoPolicy vetoPolicy = getSettings().vetoPolicy;
-        boolean todayIsVetoed = (vetoPolicy != null)
-                && (vetoPolicy.isDateVetoed(LocalDate.now()));
-        labelSetDateToToday.setEnabled(!todayIsVetoed);
+        // If today is outside of the date bounds or vetoed, disable the today button.
+        labelSetDateToToday.setEnabled(isTodaySelectable());
+        // Disable the navigation buttons that would move the calendar outside of the date bounds.
+        boolean isAtMinimumMonth = (minimumYearMonth != null)
+                && (!yearMonth.isAfter(minimumYearMonth));
+        boolean isAtMaximumMonth = (maximumYearMonth != null)
+                && (!lastYearMonth.isBefore(maximumYearMonth));
+        buttonPreviousYear.setEnabled(!isAtMinimumMonth);
+        buttonPreviousMonth.setEnabled(!isAtMinimumMonth);
+        buttonNextMonth.setEnabled(!isAtMaximumMonth);
+        buttonNextYear.setEnabled(!isAtMaximumMonth);
         // Set the label for the clear button.
         labelClearDate.setText(getSettings().clearTranslation);
     }
 
-    /**
-     * getLastDayOfMonth, This returns the last day of the month for the specified year and month.
-     *
-     * Implementation notes: As of this writing, the below implementation is verified to work
-     * correctly for negative years, as those years are to defined in the iso 8601 your format that
-     * is used by java.time.YearMonth. This functionality can be tested by by checking to see if to
-     * see if the year "-0004" is correctly displayed as a leap year. Leap years have 29 days in
-     * February. There should be 29 days in the month of "February 1, -0004".
-     */
-    private int getLastDayOfMonth(YearMonth yearMonth) {
-        LocalDate firstDayOfMonth = LocalDate.of(yearMonth.getYear(), yearMonth.getMonth(), 1);
-        int lastDayOfMonth = firstDayOfMonth.lengthOfMonth();
-        return lastDayOfMonth;
-    }
-
     /**
      * getMonthOrYearMenuLocation, This calculates the position should be used to set the location
      * of the month or the year popup menus, relative to their source labels. These menus are used
@@ -402,6 +406,32 @@ public class CalendarPanel extends JPanel {
         return parentDatePicker.getSettings();
     }
 
+    /**
+     * isTodaySelectable, This returns true if today's date is inside the date bounds and is not
+     * vetoed. The veto policy is only asked if today is inside the date bounds.
+     */
+    private boolean isTodaySelectable() {
+        LocalDate today = LocalDate.now();
+        if (!getSettings().isDateWithinBounds(today)) {
+            return false;
+        }
+        VetoPolicy vetoPolicy = getSettings().vetoPolicy;
+        return !((vetoPolicy != null) && (vetoPolicy.isDateVetoed(today)));
+    }
+
+    /**
+     * isYearMonthWithinBounds, This returns true if any date in the supplied month is inside the
+     * date bounds.
+     */
+    private boolean isYearMonthWithinBounds(YearMonth yearMonth) {
+        LocalDate minimumDate = getSettings().minimumDate;
+        LocalDate maximumDate = getSettings().maximumDate;
+        if (minimumDate != null && yearMonth.isBefore(YearMonth.from(minimumDate))) {
+            return false;
+        }
+        return !(maximumDate != null && yearMonth.isAfter(YearMonth.from(maximumDate)));
+    }
+
     /**
      * labelClearDateMouseClicked, This event is called when the "Clear" label is clicked in a date
      * picker. This sets the date picker date to an empty date. (This sets the last valid date to
@@ -417,13 +447,8 @@ public class CalendarPanel extends JPanel {
      */
     private void labelIndicatorMouseEntered(MouseEvent e) {
         JLabel label = ((JLabel) e.getSource());
-        if (label == labelSetDateToToday) {
-            VetoPolicy vetoPolicy = getSettings().vetoPolicy;
-            boolean todayIsVetoed = (vetoPolicy != null)
-                    && (vetoPolicy.isDateVetoed(LocalDate.now()));
-            if (todayIsVetoed) {
-                return;
-            }
+        if (label == labelSetDateToToday && !isTodaySelectable()) {
+            return;
         }
         label.setBackground(new Color(184, 207, 229));
         label.setBorder(new CompoundBorder(
@@ -448,13 +473,13 @@ public class CalendarPanel extends JPanel {
      */
     private void labelMonthIndicatorMousePressed(MouseEvent e) {
         JPopupMenu monthPopupMenu = new JPopupMenu();
-        DateFormatSymbols symbols = DateFormatSymbols.getInstance(getSettings().pickerLocale);
-        String[] allLocalMonths = symbols.getMonths();
+        CalendarSymbols symbols = CalendarSymbols.getInstance(getSettings().pickerLocale);
+        String[] allLocalMonths = symbols.getMonthNames();
         for (int i = 0; i < allLocalMonths.length; ++i) {
             final String localMonth = allLocalMonths[i];
             final int localMonthZeroBasedIndexTemp = i;
             if (!localMonth.isEmpty()) {
-                monthPopupMenu.add(new JMenuItem(new AbstractAction(localMonth) {
+                JMenuItem monthMenuItem = new JMenuItem(new AbstractAction(localMonth) {
                     int localMonthZeroBasedIndex = localMonthZeroBasedIndexTemp;
 
                     @Override
@@ -462,7 +487,11 @@ public class CalendarPanel extends JPanel {
                         drawCalendar(displayedYearMonth.getYear(),
                                 Month.of(localMonthZeroBasedIndex + 1));
                     }
-                }));
+                });
+                // Disable the months that are entirely outside of the date bounds.
+                YearMonth menuYearMonth = YearMonth.of(displayedYearMonth.getYear(), i + 1);
+                monthMenuItem.setEnabled(isYearMonthWithinBounds(menuYearMonth));
+                monthPopupMenu.add(monthMenuItem);
             }
         }
         Point menuLocation = getMonthOrYearMenuLocation(labelMonthIndicator, monthPopupMenu);
@@ -479,30 +508,23 @@ public class CalendarPanel extends JPanel {
 
     /**
      * labelYearIndicatorMousePressed, This event is called any time that the user clicks on the
-     * year display label in the calendar. This opens a menu that the user can use to select a new
-     * year within a chosen range of the previously displayed year.
+     * year display label in the calendar. This opens a scrollable year chooser that the user can
+     * use to select a new year. The year chooser is created the first time that it is needed, and
+     * is reused after that.
      */
     private void labelYearIndicatorMousePressed(MouseEvent e) {
-        int firstYearDifference = -11;
-        int lastYearDifference = +11;
-        JPopupMenu yearPopupMenu = new JPopupMenu();
-        for (int yearDifference = firstYearDifference; yearDifference <= lastYearDifference;
-                ++yearDifference) {
-            // No special processing is required for the BC to AD transition in the 
-            // ISO 8601 calendar system. Year zero does exist in this system.
-            YearMonth choiceYearMonth = displayedYearMonth.plusYears(yearDifference);
-            String choiceYearMonthString = "" + choiceYearMonth.getYear();
-            yearPopupMenu.add(new JMenuItem(new AbstractAction(choiceYearMonthString) {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    String chosenMenuText = ((JMenuItem) e.getSource()).getText();
-                    int chosenYear = Integer.parseInt(chosenMenuText);
-                    drawCalendar(chosenYear, displayedYearMonth.getMonth());
-                }
-            }));
+        if (yearChooser == null) {
+            yearChooser = new YearChooser(
+                    chosenYear -> drawCalendar(chosenYear, displayedYearMonth.getMonth()));
         }
-        Point menuLocation = getMonthOrYearMenuLocation(labelYearIndicator, yearPopupMenu);
-        yearPopupMenu.show(monthAndYearPanel, menuLocation.x, menuLocation.y);
+        // Only offer the years that are inside the date bounds.
+        LocalDate minimumDate = getSettings().minimumDate;
+        LocalDate maximumDate = getSettings().maximumDate;
+        yearChooser.setYearRange(
+                (minimumDate == null) ? YearChooser.firstSupportedYear : minimumDate.getYear(),
+                (maximumDate == null) ? YearChooser.lastSupportedYear : maximumDate.getYear());
+        Point menuLocation = getMonthOrYearMenuLocation(labelYearIndicator, yearChooser);
+        yearChooser.show(monthAndYearPanel, menuLocation, displayedYearMonth.getYear());
     }
 
     /**
@@ -511,38 +533,66 @@ public class CalendarPanel extends JPanel {
      */
     void setDisplayedSelectedDate(LocalDate selectedDate) {
         this.displayedSelectedDate = selectedDate;
+        this.monthViewsAreCurrent = false;
+    }
+
+    /**
+     * setPendingDataListenerPolicy, This registers the pending data listener with the supplied
+     * pending veto policy, and unregisters it from any previous policy. If the supplied policy is
+     * null, the listener is only unregistered.
+     */
+    private void setPendingDataListenerPolicy(PendingVetoPolicy policy) {
+        if (policy == pendingDataListenerPolicy) {
+            return;
+        }
+        if (pendingDataListenerPolicy != null) {
+            pendingDataListenerPolicy.removeDataArrivalListener(pendingDataListener);
+        }
+        if (policy != null) {
+            policy.addDataArrivalListener(pendingDataListener);
+        }
+        pendingDataListenerPolicy = policy;
     }
 
     /**
      * setSizeOfMonthYearPanel, This sets the size of the panel at the top of the calendar that
      * holds the month and the year label. The size is calculated from the largest month name (in
      * pixels), that exists in locale and language that is being used by the date picker.
+     *
+     * The calculated size is cached for each combination of font and locale, so the text is only
+     * measured the first time that a calendar with that combination is opened. The font metrics
+     * are retrieved from the label itself, which does not require the creation of a heavyweight
+     * AWT component.
      */
     private void setSizeOfMonthYearPanel() {
-        // Get the font metrics object.
         Font font = labelMonthIndicator.getFont();
-        Canvas canvas = new Canvas();
-        FontMetrics metrics = canvas.getFontMetrics(font);
-        // Get the height of a line of text in this font.
-        int height = metrics.getHeight();
-        // Get the length of the longest translated month string (in pixels).
-        DateFormatSymbols symbols = DateFormatSymbols.getInstance(getSettings().pickerLocale);
-        String[] allLocalMonths = symbols.getMonths();
-        int longestMonthPixels = 0;
-        for (String month : allLocalMonths) {
-            int monthPixels = metrics.stringWidth(month);
-            longestMonthPixels = (monthPixels > longestMonthPixels) ? monthPixels : longestMonthPixels;
+        Locale locale = getSettings().pickerLocale;
+        List<Object> cacheKey = Arrays.asList(font, locale);
+        Dimension size = monthYearPanelSizeCache.get(cacheKey);
+        if (size == null) {
+            // Get the font metrics object.
+            FontMetrics metrics = labelMonthIndicator.getFontMetrics(font);
+            // Get the height of a line of text in this font.
+            int height = metrics.getHeight();
+            // Get the length of the longest translated month string (in pixels).
+            CalendarSymbols symbols = CalendarSymbols.getInstance(locale);
+            String[] allLocalMonths = symbols.getMonthNames();
+            int longestMonthPixels = 0;
+            for (String month : allLocalMonths) {
+                int monthPixels = metrics.stringWidth(month);
+                longestMonthPixels = (monthPixels > longestMonthPixels) ? monthPixels : longestMonthPixels;
+            }
+            int yearPixels = metrics.stringWidth("_2000");
+            // Calculate the size of a box to hold the text with some padding.
+            size = new Dimension(longestMonthPixels + yearPixels + 12, height + 2);
+            monthYearPanelSizeCache.put(cacheKey, size);
         }
-        int yearPixels = metrics.stringWidth("_2000");
-        // Calculate the size of a box to hold the text with some padding.
-        Dimension size = new Dimension(longestMonthPixels + yearPixels + 12, height + 2);
-        // Set the monthAndYearPanel to the appropriate constant size.
-        monthAndYearPanel.setMinimumSize(size);
-        monthAndYearPanel.setMaximumSize(size);
-        monthAndYearPanel.setPreferredSize(size);
-        // Redraw the panel.
-        this.doLayout();
-        this.validate();
+        // Set the monthAndYearPanel to the appropriate constant size. A copy of the size is used
+        // because the Dimension class is mutable. The panel will be laid out when the calendar
+        // popup is packed.
+        monthAndYearPanel.setMinimumSize(new Dimension(size));
+        monthAndYearPanel.setMaximumSize(new Dimension(size));
+        monthAndYearPanel.setPreferredSize(new Dimension(size));
     }
 
     /**
@@ -552,12 +602,20 @@ public class CalendarPanel extends JPanel {
      * user left focus of the component or pressed escape to cancel choosing a new date.
      */
     private void userSelectedADate(LocalDate selectedDate) {
-        // If a date was selected and the date is vetoed, do nothing.
+        // If a date was selected and the date is outside of the date bounds or vetoed, do nothing.
         if (selectedDate != null) {
-            VetoPolicy vetoPolicy = getSettings().vetoPolicy;
-            if (vetoPolicy != null && vetoPolicy.isDateVetoed(selectedDate)) {
+            if (!getSettings().isDateWithinBounds(selectedDate)) {
                 return;
             }
+            VetoPolicy vetoPolicy = getSettings().vetoPolicy;
+            CallSite previousCallSite = PolicyMonitor.enterCallSite(CallSite.SELECTION);
+            try {
+                if (vetoPolicy != null && vetoPolicy.isDateVetoed(selectedDate)) {
+                    return;
+                }
+            } finally {
+                PolicyMonitor.exitCallSite(previousCallSite);
+            }
         }
         // Save the selected date.
         this.displayedSelectedDate = selectedDate;
@@ -0,0 +1,62 @@
+package com.lgooddatepicker.core;
+
+import java.time.LocalDate;
+import java.util.EventObject;
+
+/**
+ * DateChangeEvent, This event is given to a DateChangeListener when the date of a date picker has
+ * changed. The source of the event is the date picker.
+ */
+public class DateChangeEvent extends EventObject {
+
+    /**
+     * newDate, This holds the date of the date picker after the change, or null if the date picker
+     * is now empty.
+     */
+    private final LocalDate newDate;
+
+    /**
+     * oldDate, This holds the date of the date picker before the change, or null if the date picker
+     * was empty.
+     */
+    private final LocalDate oldDate;
+
+    /**
+     * Constructor, This creates an event for the supplied date picker, with the supplied old and
+     * new dates.
+     */
+    public DateChangeEvent(DatePicker source, LocalDate oldDate, LocalDate newDate) {
+        super(source);
+        this.oldDate = oldDate;
+        this.newDate = newDate;
+    }
+
+    /**
+     * getNewDate, This returns the date of the date picker after the change, or null if the date
+     * picker is now empty.
+     */
+    public LocalDate getNewDate() {
+        return newDate;
+    }
+
+    /**
+     * getOldDate, This returns the date of the date picker before the change, or null if the date
+     * picker was empty.
+     */
+    public LocalDate getOldDate() {
+        return oldDate;
+    }
+
+    /**
+     * getSource, This returns the date picker whose date has changed.
+     */
+    @Override
+    public DatePicker getSource() {
+        return (DatePicker) super.getSource();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "[oldDate=" + oldDate + ", newDate=" + newDate + "]";
+    }
+}
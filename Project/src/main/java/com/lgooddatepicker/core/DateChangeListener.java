@@ -0,0 +1,22 @@
+package com.lgooddatepicker.core;
+
+import java.util.EventListener;
+
+/**
+ * DateChangeListener, This interface can be implemented to be notified when the date of a date
+ * picker changes. The date of a date picker is the "last valid date", which is the value returned
+ * by DatePicker.getDateOrNull(). Text changes that do not change the last valid date (such as
+ * typing an incomplete or invalid date) do not cause a notification.
+ *
+ * Listeners are added with DatePicker.addDateChangeListener(). Listeners are always notified on
+ * the Swing event dispatch thread.
+ */
+public interface DateChangeListener extends EventListener {
+
+    /**
+     * dateChanged, This is called when the date of a date picker has changed. The event holds the
+     * previous date and the new date. Either date may be null, which indicates an empty date.
+     */
+    public void dateChanged(DateChangeEvent event);
+
+}
@@ -3,6 +3,10 @@ package com.lgooddatepicker.core;
 import com.lgooddatepicker.utilities.DatePickerUtilities;
 import com.jgoodies.forms.factories.*;
 import com.jgoodies.forms.layout.*;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
 import java.awt.Window;
 import java.awt.event.*;
 import javax.swing.*;
@@ -10,10 +14,14 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.chrono.IsoEra;
+import java.util.Objects;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import com.lgooddatepicker.policies.PendingVetoPolicy;
 import com.lgooddatepicker.policies.VetoPolicy;
 import com.lgooddatepicker.utilities.CustomPopup;
+import com.lgooddatepicker.utilities.PolicyMonitor;
+import com.lgooddatepicker.utilities.PolicyMonitor.CallSite;
 import com.lgooddatepicker.utilities.TopWindowMovementListener;
 
 /**
@@ -35,6 +43,15 @@ import com.lgooddatepicker.utilities.TopWindowMovementListener;
  * // Create a panel, and add the date picker. The date picker should be working at this point.
  *
  * JPanel panel = new JPanel(); panel.add(datePicker); panel.pack(); panel.validate();
+ *
+ * Lazy (dehydrated) date pickers: Forms with hundreds of date pickers can create them with the
+ * "startDehydrated" constructor parameter. A dehydrated date picker does not create its text
+ * field, its button, its layout, or its listeners. It is painted as a placeholder that looks like
+ * a normal date picker and shows the current text. The real components are created ("hydrated")
+ * the first time that the date picker gains the focus or is clicked, or when one of its components
+ * is requested. The date functions (such as getDateOrNull(), setDate(), and setText()) work
+ * normally while a date picker is dehydrated. Sharing one settings instance between the date
+ * pickers of a form also reduces the creation cost.
  */
 public class DatePicker extends JPanel {
 
@@ -51,6 +68,48 @@ public class DatePicker extends JPanel {
      */
     private CalendarPanel calendarPanel = null;
 
+    /**
+     * coalescedOldDate, When date change events are coalesced, this holds the last valid date from
+     * before the first change of the current burst of changes.
+     */
+    private LocalDate coalescedOldDate = null;
+
+    /**
+     * coalescedNotificationPending, When date change events are coalesced, this is true while a
+     * notification has been scheduled but has not run yet.
+     */
+    private boolean coalescedNotificationPending = false;
+
+    /**
+     * dateChangeEventsCoalesced, This indicates if date change events should be coalesced. See
+     * setDateChangeEventsCoalesced() for details.
+     */
+    private boolean dateChangeEventsCoalesced = false;
+
+    /**
+     * dehydrated, This is true while the date picker is in the dehydrated (lazy) state. See the
+     * class documentation for details.
+     */
+    private boolean dehydrated = false;
+
+    /**
+     * dehydratedFocusListener, This listener hydrates a dehydrated date picker when it gains the
+     * focus. This is null when the date picker is not dehydrated.
+     */
+    private FocusListener dehydratedFocusListener = null;
+
+    /**
+     * dehydratedMouseListener, This listener hydrates a dehydrated date picker when it is clicked.
+     * This is null when the date picker is not dehydrated.
+     */
+    private MouseListener dehydratedMouseListener = null;
+
+    /**
+     * dehydratedText, This holds the text of a dehydrated date picker. This text is copied to the
+     * text field when the date picker is hydrated.
+     */
+    private String dehydratedText = "";
+
     /**
      * lastPopupCloseTime, This holds a timestamp that indicates when the calendar was last closed.
      * This is used to implement a workaround for event behavior that was causing the date picker
@@ -65,6 +124,22 @@ public class DatePicker extends JPanel {
      */
     private LocalDate lastValidDate = null;
 
+    /**
+     * pendingDataPolicy, This holds the pending veto policy that the pending data revalidator is
+     * currently registered with, or null if the revalidator is not registered. The revalidator is
+     * only registered while the text contains a date that is pending.
+     */
+    private PendingVetoPolicy pendingDataPolicy = null;
+
+    /**
+     * pendingDataRevalidator, This validates the text again when the data of a pending date has
+     * arrived, so that the text does not stay styled as vetoed after its date becomes available.
+     * (The validation unregisters the revalidator, and registers it again if needed.)
+     */
+    private final Runnable pendingDataRevalidator = () -> {
+        zValidateTextAndStoreWhenValid(getText());
+    };
+
     /**
      * popup, This is the custom popup instance for this date picker. This should remain null until
      * a popup is opened. Creating a custom popup class allowed us to control the details of when
@@ -72,6 +147,12 @@ public class DatePicker extends JPanel {
      */
     private CustomPopup popup = null;
 
+    /**
+     * scrollingCalendarPanel, This holds the scrolling calendar of this date picker, while the
+     * popup is open and the settings use a scrolling calendar. Otherwise this is null.
+     */
+    private ScrollingCalendarPanel scrollingCalendarPanel = null;
+
     /**
      * settings, This holds the settings instance for this date picker. Default settings are
      * generated automatically. Custom settings may optionally be supplied in the DatePicker
@@ -86,6 +167,14 @@ public class DatePicker extends JPanel {
      */
     private boolean skipIndicateIfValidFunctionWhileTrue = false;
 
+    /**
+     * textState, This holds the validity state of the current text. The font and color of the text
+     * are only changed when this state changes. This is null until the text has been validated for
+     * the first time (and after the date picker is hydrated), so that the first state is always
+     * applied.
+     */
+    private TextState textState = null;
+
     /**
      * JFormDesigner GUI components, These variables are automatically generated by JFormDesigner.
      * This section should not be modified by hand, but only modified from within the JFormDesigner
@@ -109,12 +198,45 @@ public class DatePicker extends JPanel {
      * picker settings.
      */
     public DatePicker(DatePickerSettings settings) {
+        this(settings, false);
+    }
+
+    /**
+     * Constructor with Custom Settings and Lazy Creation, Create a date picker instance using the
+     * supplied date picker settings. If startDehydrated is true, the date picker starts in the
+     * dehydrated (lazy) state. See the class documentation for details.
+     */
+    public DatePicker(DatePickerSettings settings, boolean startDehydrated) {
         this.settings = settings;
-        initComponents();
-        // Add a change listener to the text field.
-        zAddTextChangeListener();
-        // Shrink the toggle calendar button to a reasonable size.
-        toggleCalendarButton.setMargin(new java.awt.Insets(1, 2, 1, 2));
+        if (startDehydrated) {
+            dehydrated = true;
+            // The placeholder is hydrated when it gains the focus, or when it is clicked.
+            setFocusable(true);
+            dehydratedFocusListener = new FocusAdapter() {
+                @Override
+                public void focusGained(FocusEvent e) {
+                    zEventDehydratedPlaceholderFocusGained();
+                }
+            };
+            dehydratedMouseListener = new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    zEventDehydratedPlaceholderMousePressed(e);
+                }
+            };
+            addFocusListener(dehydratedFocusListener);
+            addMouseListener(dehydratedMouseListener);
+            return;
+        }
+        zCreateComponents();
+    }
+
+    /**
+     * addDateChangeListener, This adds a listener that is notified when the date of this date
+     * picker changes. See the DateChangeListener interface for details.
+     */
+    public void addDateChangeListener(DateChangeListener listener) {
+        listenerList.add(DateChangeListener.class, listener);
     }
 
     /**
@@ -143,16 +265,80 @@ public class DatePicker extends JPanel {
             calendarPanel.clearParent();
         }
         calendarPanel = null;
+        scrollingCalendarPanel = null;
         lastPopupCloseTime = Instant.now();
-        // Remove any component listeners from the top window better instances of the
-        // TopWindowMovementListener class.
-        Window topWindow = SwingUtilities.getWindowAncestor(this);
-        ComponentListener[] componentListeners = topWindow.getComponentListeners();
-        for (ComponentListener listener : componentListeners) {
-            if (listener instanceof TopWindowMovementListener) {
-                topWindow.removeComponentListener(listener);
+        // Tell the shared movement listener of the top window that this popup is closed. The top
+        // window may be null, if this date picker has been removed from its window.
+        TopWindowMovementListener.clearOpenPopupDatePicker(this,
+                SwingUtilities.getWindowAncestor(this));
+    }
+
+    /**
+     * commitDate, This sets the text and the last valid date of this date picker together, from a
+     * date that is already known. The text is the standard AD or BC display format of the date, so
+     * it does not need to be parsed again. Validation of the text field is suppressed while the
+     * text is replaced, and the text field is styled as a valid date.
+     *
+     * If the supplied date is outside of the date bounds, or is vetoed by the veto policy, then
+     * nothing is changed and this returns false. A null date clears the date picker, and is always
+     * committed. This is used by setDate(), and by the focus lost validation of the text field.
+     */
+    boolean commitDate(LocalDate date) {
+        if (date != null) {
+            if (!settings.isDateWithinBounds(date)) {
+                return false;
+            }
+            VetoPolicy vetoPolicy = settings.vetoPolicy;
+            CallSite previousCallSite = PolicyMonitor.enterCallSite(CallSite.OTHER);
+            try {
+                if (vetoPolicy != null && vetoPolicy.isDateVetoed(date)) {
+                    return false;
+                }
+            } finally {
+                PolicyMonitor.exitCallSite(previousCallSite);
             }
         }
+        String text = zFormatDate(date);
+        if (dehydrated) {
+            dehydratedText = text;
+            repaint();
+        } else if (!text.equals(dateTextField.getText())) {
+            skipIndicateIfValidFunctionWhileTrue = true;
+            dateTextField.setText(text);
+            skipIndicateIfValidFunctionWhileTrue = false;
+        }
+        zSetTextState((date == null) ? TextState.EMPTY : TextState.VALID);
+        zSetLastValidDate(date);
+        return true;
+    }
+
+    /**
+     * getComponentDateTextField, This returns the date text field that is used by this date
+     * picker. This is intended for advanced customization, such as adding key bindings or changing
+     * the border of the text field. The text of the field should be changed with setText() or
+     * setDate(), rather than by changing the text field directly.
+     */
+    public JTextField getComponentDateTextField() {
+        hydrate();
+        return dateTextField;
+    }
+
+    /**
+     * getComponentToggleCalendarButton, This returns the button that opens the calendar popup of
+     * this date picker. This is intended for advanced customization, such as changing the text or
+     * the icon of the button.
+     */
+    public JButton getComponentToggleCalendarButton() {
+        hydrate();
+        return toggleCalendarButton;
+    }
+
+    /**
+     * getDateChangeListeners, This returns an array of the date change listeners of this date
+     * picker.
+     */
+    public DateChangeListener[] getDateChangeListeners() {
+        return listenerList.getListeners(DateChangeListener.class);
     }
 
     /**
@@ -200,15 +386,120 @@ public class DatePicker extends JPanel {
      * DatePicker.getDateOrNull() for retrieving the date.
      */
     public String getText() {
-        return dateTextField.getText();
+        return (dehydrated) ? dehydratedText : dateTextField.getText();
+    }
+
+    /**
+     * getMinimumSize, This returns the minimum size of the date picker. A dehydrated date picker
+     * returns the same size as a hydrated date picker, so that the layout does not change when it
+     * is hydrated.
+     */
+    @Override
+    public Dimension getMinimumSize() {
+        if (dehydrated && !isMinimumSizeSet()) {
+            return DehydratedDatePickerPainter.getMinimumSize(
+                    this, dehydratedText, zGetDehydratedTextFont());
+        }
+        return super.getMinimumSize();
+    }
+
+    /**
+     * getPreferredSize, This returns the preferred size of the date picker. A dehydrated date
+     * picker returns the same size as a hydrated date picker, so that the layout does not change
+     * when it is hydrated.
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        if (dehydrated && !isPreferredSizeSet()) {
+            return DehydratedDatePickerPainter.getPreferredSize(
+                    this, dehydratedText, zGetDehydratedTextFont());
+        }
+        return super.getPreferredSize();
+    }
+
+    /**
+     * hydrate, This creates the components of a dehydrated date picker, and copies the dehydrated
+     * text into the text field. This does nothing if the date picker is not dehydrated. This is
+     * called automatically when a dehydrated date picker gains the focus or is clicked, but it
+     * can also be called directly.
+     */
+    public void hydrate() {
+        if (!dehydrated) {
+            return;
+        }
+        dehydrated = false;
+        removeFocusListener(dehydratedFocusListener);
+        removeMouseListener(dehydratedMouseListener);
+        dehydratedFocusListener = null;
+        dehydratedMouseListener = null;
+        setFocusable(false);
+        zCreateComponents();
+        // Setting the text also sets the last valid date and the text field font and color. The
+        // text state is cleared, so that the font and color are applied to the new text field.
+        textState = null;
+        skipIndicateIfValidFunctionWhileTrue = true;
+        dateTextField.setText(dehydratedText);
+        skipIndicateIfValidFunctionWhileTrue = false;
+        zTextFieldChangedSoIndicateIfValidAndStoreWhenValid();
+        dehydratedText = "";
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * isDateVetoedWhileTyping, This returns true if the supplied veto policy is not null, and
+     * vetoes the supplied date. Any policy monitor will attribute the call to the typing call site.
+     * If the date is vetoed only because its data is still pending, then the text will be
+     * validated again when the data arrives.
+     */
+    private boolean isDateVetoedWhileTyping(VetoPolicy vetoPolicy, LocalDate date) {
+        if (vetoPolicy == null) {
+            return false;
+        }
+        CallSite previousCallSite = PolicyMonitor.enterCallSite(CallSite.TYPING);
+        try {
+            if (!vetoPolicy.isDateVetoed(date)) {
+                return false;
+            }
+            if (vetoPolicy instanceof PendingVetoPolicy
+                    && ((PendingVetoPolicy) vetoPolicy).isDatePending(date)) {
+                zSetPendingDataPolicy((PendingVetoPolicy) vetoPolicy);
+            }
+            return true;
+        } finally {
+            PolicyMonitor.exitCallSite(previousCallSite);
+        }
+    }
+
+    /**
+     * isDateChangeEventsCoalesced, This returns true if date change events are coalesced. See
+     * setDateChangeEventsCoalesced() for details.
+     */
+    public boolean isDateChangeEventsCoalesced() {
+        return dateChangeEventsCoalesced;
+    }
+
+    /**
+     * isDehydrated, This returns true while the date picker is in the dehydrated (lazy) state. See
+     * the class documentation for details.
+     */
+    public boolean isDehydrated() {
+        return dehydrated;
+    }
+
+    /**
+     * isPopupOpen, This returns true if the calendar popup of this date picker is currently open.
+     */
+    public boolean isPopupOpen() {
+        return (popup != null);
     }
 
     /**
      * isTextValid, Utility function. This returns true if, and only if, the supplied text contains
-     * a valid, parsable date that has not been vetoed by a current veto policy, or contains an
-     * empty string. This could be used in conjunction with the getText() function to determine if
-     * the date picker text currently contains a valid parsable date. It is expected that this
-     * function would be rarely needed.
+     * a valid, parsable date that is inside the date bounds (if any) and has not been vetoed by a
+     * current veto policy, or contains an empty string. This could be used in conjunction with the
+     * getText() function to determine if the date picker text currently contains a valid parsable
+     * date. It is expected that this function would be rarely needed.
      */
     public boolean isTextValid(String text) {
         // If the text is null, return false.
@@ -229,36 +520,61 @@ public class DatePicker extends JPanel {
         if (parsedDate == null) {
             return false;
         }
+        // If the date is outside of the date bounds, return false without asking the veto policy.
+        if (!settings.isDateWithinBounds(parsedDate)) {
+            return false;
+        }
         // If the date is vetoed, return false.
         VetoPolicy vetoPolicy = settings.vetoPolicy;
-        if (vetoPolicy != null && vetoPolicy.isDateVetoed(parsedDate)) {
-            return false;
+        CallSite previousCallSite = PolicyMonitor.enterCallSite(CallSite.TEXT_VALIDATION);
+        try {
+            if (vetoPolicy != null && vetoPolicy.isDateVetoed(parsedDate)) {
+                return false;
+            }
+        } finally {
+            PolicyMonitor.exitCallSite(previousCallSite);
         }
         // The date is valid, so return true.
         return true;
     }
 
+    /**
+     * removeDateChangeListener, This removes a listener that was added with
+     * addDateChangeListener().
+     */
+    public void removeDateChangeListener(DateChangeListener listener) {
+        listenerList.remove(DateChangeListener.class, listener);
+    }
+
+    /**
+     * setDateChangeEventsCoalesced, This sets whether date change events should be coalesced. The
+     * default value is false.
+     *
+     * When events are not coalesced, the listeners are notified immediately after each change of
+     * the last valid date. When events are coalesced, all the changes that are made during a single
+     * event dispatch thread cycle (for example, while the user types quickly, or during a series of
+     * programmatic updates) are combined into a single notification. That notification is sent
+     * later on the event dispatch thread, and holds the date from before the first change and the
+     * date after the last change. If the date ends up unchanged, no notification is sent.
+     */
+    public void setDateChangeEventsCoalesced(boolean coalesced) {
+        this.dateChangeEventsCoalesced = coalesced;
+    }
+
     /**
      * setDate, This uses the supplied date to set both the text field, and to set the last valid
      * date. If the supplied date is null, this will clear the date picker. (A null value would have
      * the same effect as DatePicker.clear().)
      */
     public void setDate(LocalDate optionalDate) {
-        // Note, any time that the text field changes to a valid string, the lastValidDate is
-        // also automatically set.
-        // If the date is null, clear the text field.
-        if (optionalDate == null) {
-            dateTextField.setText("");
+        // Commit the date directly when possible. The text is the standard format of a known
+        // date, so there is no need to parse it again.
+        if (commitDate(optionalDate)) {
             return;
         }
-        // Set the text field to the supplied date, using the standard format for AD or BC.
-        if (optionalDate.getEra() == IsoEra.CE) {
-            String dateString = optionalDate.format(settings.displayFormatterAD);
-            dateTextField.setText(dateString);
-        } else {
-            String dateString = optionalDate.format(settings.displayFormatterBC);
-            dateTextField.setText(dateString);
-        }
+        // The date is outside of the date bounds or is vetoed. Set the text field to the supplied
+        // date, so that the text field indicates the problem, and leave the lastValidDate as it is.
+        zSetTextFieldText(zFormatDate(optionalDate));
     }
 
     /**
@@ -268,6 +584,10 @@ public class DatePicker extends JPanel {
      * date of the text field, instead use DatePicker.setDate().
      */
     public void setText(String text) {
+        if (dehydrated) {
+            zSetTextFieldText(text);
+            return;
+        }
         skipIndicateIfValidFunctionWhileTrue = true;
         // This clears the text internally before setting it.
         dateTextField.setText(text);
@@ -298,6 +618,8 @@ public class DatePicker extends JPanel {
         if ((Instant.now().toEpochMilli() - lastPopupCloseTime.toEpochMilli()) < 200) {
             return;
         }
+        // A dehydrated date picker needs its components before it can show a popup.
+        hydrate();
         // If this function was called programmatically, we may need to change the focus to this
         // popup.
         if (!dateTextField.hasFocus()) {
@@ -305,14 +627,22 @@ public class DatePicker extends JPanel {
         }
         // Get the last valid date, to pass to the calendar if needed.
         LocalDate selectedDateForCalendar = lastValidDate;
-        // Create a new calendar panel.
-        calendarPanel = new CalendarPanel(this);
-        if (selectedDateForCalendar != null) {
-            calendarPanel.setDisplayedSelectedDate(selectedDateForCalendar);
-            calendarPanel.drawCalendar(YearMonth.from(selectedDateForCalendar));
+        // Create a new calendar panel, or a scrolling calendar if the settings ask for one.
+        JComponent popupCalendar;
+        if (settings.useScrollingCalendar) {
+            scrollingCalendarPanel = zCreateScrollingCalendarPanel(selectedDateForCalendar);
+            popupCalendar = scrollingCalendarPanel;
+        } else {
+            calendarPanel = new CalendarPanel(this);
+            if (selectedDateForCalendar != null) {
+                calendarPanel.setDisplayedSelectedDate(selectedDateForCalendar);
+                calendarPanel.drawCalendar(YearMonth.from(selectedDateForCalendar));
+            }
+            popupCalendar = calendarPanel;
         }
         // Create a new custom popup.
-        popup = new CustomPopup(SwingUtilities.getWindowAncestor(this), calendarPanel, this);
+        Window topWindow = SwingUtilities.getWindowAncestor(this);
+        popup = new CustomPopup(topWindow, popupCalendar, this);
         int popupX = toggleCalendarButton.getLocationOnScreen().x
                 + toggleCalendarButton.getBounds().width - popup.displayWindow.getBounds().width - 2;
         int popupY = toggleCalendarButton.getLocationOnScreen().y
@@ -320,7 +650,9 @@ public class DatePicker extends JPanel {
         popup.setLocation(popupX, popupY);
         // Show the popup and focus the calendar.
         popup.show();
-        calendarPanel.requestFocus();
+        popupCalendar.requestFocus();
+        // Close the popup if the top window is moved, resized, or hidden.
+        TopWindowMovementListener.setOpenPopupDatePicker(this, topWindow);
     }
 
     /**
@@ -335,6 +667,20 @@ public class DatePicker extends JPanel {
         return getISODateStringOrNullString();
     }
 
+    /**
+     * paintComponent, This paints the placeholder of a dehydrated date picker. A hydrated date
+     * picker is painted normally.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (dehydrated) {
+            TextState paintedState = (textState == null) ? TextState.EMPTY : textState;
+            DehydratedDatePickerPainter.paint(g, this, dehydratedText,
+                    zGetTextColor(paintedState), zGetDehydratedTextFont());
+        }
+    }
+
     private void zAddTextChangeListener() {
         dateTextField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
@@ -354,6 +700,45 @@ public class DatePicker extends JPanel {
         });
     }
 
+    /**
+     * zCreateComponents, This creates the components of the date picker, and adds the listeners.
+     * This is called by the constructor, or when a dehydrated date picker is hydrated.
+     */
+    private void zCreateComponents() {
+        initComponents();
+        // Add a change listener to the text field.
+        zAddTextChangeListener();
+        // Shrink the toggle calendar button to a reasonable size.
+        toggleCalendarButton.setMargin(new java.awt.Insets(1, 2, 1, 2));
+    }
+
+    /**
+     * zCreateScrollingCalendarPanel, This creates the scrolling calendar for the popup. The
+     * supplied date (if any) is marked as selected and scrolled into view. Clicking a date sets the
+     * date of this date picker and closes the popup, and the Escape key closes the popup.
+     */
+    private ScrollingCalendarPanel zCreateScrollingCalendarPanel(LocalDate selectedDate) {
+        ScrollingCalendarPanel scrollingCalendar = new ScrollingCalendarPanel(settings);
+        if (selectedDate != null) {
+            scrollingCalendar.setSelectedDate(selectedDate);
+            scrollingCalendar.scrollToDate(selectedDate);
+        }
+        scrollingCalendar.setDateSelectedAction(date -> {
+            setDate(date);
+            closePopup();
+        });
+        String cancelName = "cancel";
+        scrollingCalendar.getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT).put(
+                KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), cancelName);
+        scrollingCalendar.getActionMap().put(cancelName, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                closePopup();
+            }
+        });
+        return scrollingCalendar;
+    }
+
     /**
      * zEventDateTextFieldFocusLostSoValidateText, This function is called anytime that the date
      * picker text field loses focus, and causes a validation of the date picker text. This has
@@ -362,11 +747,43 @@ public class DatePicker extends JPanel {
      * reformat any parsable valid date into the standard AD or BC display format.
      */
     private void zEventDateTextFieldFocusLostSoValidateText(FocusEvent e) {
+        // If the text field already holds the standard format of the last valid date, then it was
+        // validated when it was entered, and there is nothing to do.
+        if (zFormatDate(lastValidDate).equals(dateTextField.getText())) {
+            return;
+        }
         // Overwrite the text field with the last valid date, or clear the text field if the last
         // valid date is null.
         setDate(lastValidDate);
     }
 
+    /**
+     * zEventDehydratedPlaceholderFocusGained, This is called when a dehydrated date picker gains
+     * the focus. This hydrates the date picker, and moves the focus to the text field.
+     */
+    private void zEventDehydratedPlaceholderFocusGained() {
+        hydrate();
+        dateTextField.requestFocusInWindow();
+    }
+
+    /**
+     * zEventDehydratedPlaceholderMousePressed, This is called when a dehydrated date picker is
+     * clicked. This hydrates the date picker. If the placeholder of the toggle button was clicked,
+     * this also opens the calendar popup. Otherwise, the text field is focused.
+     */
+    private void zEventDehydratedPlaceholderMousePressed(MouseEvent e) {
+        boolean toggleButtonClicked
+                = e.getX() >= DehydratedDatePickerPainter.getToggleButtonX(
+                        this, dehydratedText, zGetDehydratedTextFont());
+        hydrate();
+        validate();
+        if (toggleButtonClicked) {
+            SwingUtilities.invokeLater(this::showPopup);
+        } else {
+            dateTextField.requestFocusInWindow();
+        }
+    }
+
     /**
      * zEventToggleCalendarButtonMousePressed, This is called when the user clicks on the "toggle
      * calendar" button of the date picker.
@@ -378,23 +795,181 @@ public class DatePicker extends JPanel {
         showPopup();
     }
 
+    /**
+     * zFireDateChanged, This notifies the date change listeners of a change from the old date to
+     * the new date.
+     */
+    private void zFireDateChanged(LocalDate oldDate, LocalDate newDate) {
+        DateChangeListener[] listeners = listenerList.getListeners(DateChangeListener.class);
+        if (listeners.length == 0) {
+            return;
+        }
+        DateChangeEvent event = new DateChangeEvent(this, oldDate, newDate);
+        for (DateChangeListener listener : listeners) {
+            listener.dateChanged(event);
+        }
+    }
+
+    /**
+     * zFormatDate, This returns the supplied date in the standard display format for AD or BC
+     * dates, or an empty string if the date is null.
+     */
+    private String zFormatDate(LocalDate date) {
+        if (date == null) {
+            return "";
+        }
+        return (date.getEra() == IsoEra.CE)
+                ? date.format(settings.displayFormatterAD)
+                : date.format(settings.displayFormatterBC);
+    }
+
+    /**
+     * zGetTextColor, This returns the text color from the settings for the supplied text state.
+     */
+    private Color zGetTextColor(TextState state) {
+        switch (state) {
+            case INVALID:
+                return settings.colorInvalidDate;
+            case VETOED:
+                return settings.colorVetoedDate;
+            default:
+                return settings.colorValidDate;
+        }
+    }
+
+    /**
+     * zGetDehydratedTextFont, This returns the font that the text of a dehydrated date picker is
+     * painted with. This is the same font that the text field will have when the date picker is
+     * hydrated, so it is also used to measure the size of a dehydrated date picker.
+     */
+    private Font zGetDehydratedTextFont() {
+        return zGetTextFont((textState == null) ? TextState.EMPTY : textState);
+    }
+
+    /**
+     * zGetTextFont, This returns the text font from the settings for the supplied text state.
+     */
+    private Font zGetTextFont(TextState state) {
+        switch (state) {
+            case INVALID:
+                return settings.fontInvalidDate;
+            case VETOED:
+                return settings.fontVetoedDate;
+            default:
+                return settings.fontValidDate;
+        }
+    }
+
+    /**
+     * zSetLastValidDate, This is the only function that should change the last valid date. If the
+     * date has changed, the date change listeners are notified (or a coalesced notification is
+     * scheduled).
+     */
+    private void zSetLastValidDate(LocalDate newDate) {
+        LocalDate oldDate = lastValidDate;
+        if (Objects.equals(oldDate, newDate)) {
+            return;
+        }
+        lastValidDate = newDate;
+        if (!dateChangeEventsCoalesced) {
+            zFireDateChanged(oldDate, newDate);
+            return;
+        }
+        if (coalescedNotificationPending) {
+            return;
+        }
+        coalescedNotificationPending = true;
+        coalescedOldDate = oldDate;
+        SwingUtilities.invokeLater(() -> {
+            coalescedNotificationPending = false;
+            LocalDate burstOldDate = coalescedOldDate;
+            coalescedOldDate = null;
+            if (!Objects.equals(burstOldDate, lastValidDate)) {
+                zFireDateChanged(burstOldDate, lastValidDate);
+            }
+        });
+    }
+
+    /**
+     * zSetPendingDataPolicy, This registers the pending data revalidator with the supplied pending
+     * veto policy, and unregisters it from any previous policy. If the supplied policy is null,
+     * the revalidator is only unregistered.
+     */
+    private void zSetPendingDataPolicy(PendingVetoPolicy policy) {
+        if (policy == pendingDataPolicy) {
+            return;
+        }
+        if (pendingDataPolicy != null) {
+            pendingDataPolicy.removeDataArrivalListener(pendingDataRevalidator);
+        }
+        if (policy != null) {
+            policy.addDataArrivalListener(pendingDataRevalidator);
+        }
+        pendingDataPolicy = policy;
+    }
+
+    /**
+     * zSetTextState, This sets the validity state of the current text. The font and color of the
+     * text are only changed if the state has changed. This avoids needless property changes, and
+     * the layout invalidation that is caused by changing the font of the text field.
+     */
+    private void zSetTextState(TextState state) {
+        if (state == textState) {
+            return;
+        }
+        textState = state;
+        if (dehydrated) {
+            repaint();
+            return;
+        }
+        dateTextField.setForeground(zGetTextColor(state));
+        dateTextField.setFont(zGetTextFont(state));
+    }
+
+    /**
+     * zSetTextFieldText, This sets the text of the text field. If the date picker is dehydrated,
+     * the text is stored and validated with the same function that validates the text field, and
+     * the placeholder is repainted.
+     */
+    private void zSetTextFieldText(String text) {
+        if (!dehydrated) {
+            dateTextField.setText(text);
+            return;
+        }
+        dehydratedText = (text == null) ? "" : text;
+        zValidateTextAndStoreWhenValid(dehydratedText);
+        repaint();
+    }
+
     /**
      * zTextFieldChangedSoIndicateIfValidAndStoreWhenValid, This is called whenever the text in the
-     * date picker text field has changed, whether programmatically or by the user.
-     *
-     * This will change the font and color of the text in the text field to indicate to the user if
-     * the currently text is a valid date, invalid text, or a vetoed date.
-     *
-     * If the current text contains a valid date, it will be stored in the variable lastValidDate.
-     * Otherwise, the lastValidDate will not be changed.
+     * date picker text field has changed, whether programmatically or by the user. This validates
+     * the text with zValidateTextAndStoreWhenValid().
      */
     private void zTextFieldChangedSoIndicateIfValidAndStoreWhenValid() {
         // Skip this function if it should not be run.
         if (skipIndicateIfValidFunctionWhileTrue) {
             return;
         }
+        zValidateTextAndStoreWhenValid(dateTextField.getText());
+    }
+
+    /**
+     * zValidateTextAndStoreWhenValid, This validates the supplied text, which is the text of the
+     * text field (or the text of a dehydrated date picker).
+     *
+     * This will change the font and color of the text to indicate to the user if the current text
+     * is a valid date, invalid text, or a vetoed date. Dates outside of the date bounds are
+     * indicated in the same way as vetoed dates. The font and color are only changed when the
+     * validity state of the text changes.
+     *
+     * If the text contains a valid date, it will be stored in the variable lastValidDate.
+     * Otherwise, the lastValidDate will not be changed.
+     */
+    private void zValidateTextAndStoreWhenValid(String dateText) {
+        // Any previous pending date is no longer relevant.
+        zSetPendingDataPolicy(null);
         // Gather some variables that we will need.
-        String dateText = dateTextField.getText();
         boolean textIsEmpty = dateText.trim().isEmpty();
         VetoPolicy vetoPolicy = settings.vetoPolicy;
         // If needed, try to get a parsed date.
@@ -407,22 +982,20 @@ public class DatePicker extends JPanel {
         // Handle the various possibilities.
         // If the text field is empty, set the normal font, and set lastValidDate to null.
         if (textIsEmpty) {
-            dateTextField.setForeground(settings.colorValidDate);
-            dateTextField.setFont(settings.fontValidDate);
-            lastValidDate = null;
+            zSetTextState(TextState.EMPTY);
+            zSetLastValidDate(null);
             // If the text is not valid, set a font indicator, and do not change the lastValidDate.
         } else if (parsedDate == null) {
-            dateTextField.setForeground(settings.colorInvalidDate);
-            dateTextField.setFont(settings.fontInvalidDate);
-            // If the date is vetoed, set a font indicator, and do not change the lastValidDate.
-        } else if (vetoPolicy != null && vetoPolicy.isDateVetoed(parsedDate)) {
-            dateTextField.setForeground(settings.colorVetoedDate);
-            dateTextField.setFont(settings.fontVetoedDate);
+            zSetTextState(TextState.INVALID);
+            // If the date is outside of the date bounds or is vetoed, set a font indicator, and do
+            // not change the lastValidDate. The bounds are checked before the veto policy.
+        } else if (!settings.isDateWithinBounds(parsedDate)
+                || isDateVetoedWhileTyping(vetoPolicy, parsedDate)) {
+            zSetTextState(TextState.VETOED);
         } else {
             // The date is valid, so set the normal font, and store the last valid date.
-            dateTextField.setForeground(settings.colorValidDate);
-            dateTextField.setFont(settings.fontValidDate);
-            lastValidDate = parsedDate;
+            zSetTextState(TextState.VALID);
+            zSetLastValidDate(parsedDate);
         }
     }
 
@@ -474,4 +1047,12 @@ public class DatePicker extends JPanel {
         // JFormDesigner - End of component initialization  //GEN-END:initComponents
     }
 
-} 
+    /**
+     * TextState, This indicates the validity state of the text of a date picker. Each state has a
+     * text color and a text font in the date picker settings. (The empty state uses the settings
+     * for valid dates.)
+     */
+    private enum TextState {
+        EMPTY, VALID, INVALID, VETOED
+    }
+}
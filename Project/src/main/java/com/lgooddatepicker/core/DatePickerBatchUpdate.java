@@ -0,0 +1,92 @@
+package com.lgooddatepicker.core;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.swing.SwingUtilities;
+
+/**
+ * DatePickerBatchUpdate, This collects new dates for any number of date pickers, and then applies
+ * all of them in a single task on the Swing event dispatch thread. This is intended for loading a
+ * record on a background (worker) thread, where many date pickers need new values at once.
+ *
+ * The setDate() and apply() functions can be called from any thread. If the same date picker is
+ * given more than one date before the batch is applied, only the last date is used.
+ *
+ * Each date is applied with DatePicker.setDate(), which sets the text field text and the last valid
+ * date together, without parsing the text again. Because all the dates are applied in one task,
+ * the date pickers (and any date change listeners) never see a partially applied batch.
+ *
+ * Example usage:
+ * <pre>
+ * DatePickerBatchUpdate batch = new DatePickerBatchUpdate();
+ * batch.setDate(startDatePicker, record.getStartDate());
+ * batch.setDate(endDatePicker, record.getEndDate());
+ * batch.apply();
+ * </pre>
+ */
+public class DatePickerBatchUpdate {
+
+    /**
+     * pendingDates, This holds the dates that have not been applied yet, in the order that the
+     * date pickers were first added. Access to this map is synchronized on this batch instance.
+     */
+    private LinkedHashMap<DatePicker, LocalDate> pendingDates = new LinkedHashMap<>();
+
+    /**
+     * Constructor, This creates an empty batch.
+     */
+    public DatePickerBatchUpdate() {
+    }
+
+    /**
+     * apply, This applies all the dates that have been added since the last call to apply(), and
+     * empties the batch. If this is called on the event dispatch thread, the dates are applied
+     * immediately. Otherwise, the dates are applied in a single task that is added to the event
+     * dispatch thread queue. The batch can be reused after this is called.
+     */
+    public void apply() {
+        final Map<DatePicker, LocalDate> datesToApply;
+        synchronized (this) {
+            if (pendingDates.isEmpty()) {
+                return;
+            }
+            datesToApply = pendingDates;
+            pendingDates = new LinkedHashMap<>();
+        }
+        if (SwingUtilities.isEventDispatchThread()) {
+            applyOnEventDispatchThread(datesToApply);
+        } else {
+            SwingUtilities.invokeLater(() -> applyOnEventDispatchThread(datesToApply));
+        }
+    }
+
+    /**
+     * applyOnEventDispatchThread, This sets each of the supplied dates in its date picker.
+     */
+    private static void applyOnEventDispatchThread(Map<DatePicker, LocalDate> datesToApply) {
+        for (Map.Entry<DatePicker, LocalDate> entry : datesToApply.entrySet()) {
+            entry.getKey().setDate(entry.getValue());
+        }
+    }
+
+    /**
+     * getPendingCount, This returns the number of date pickers that have a date in this batch
+     * which has not been applied yet.
+     */
+    public synchronized int getPendingCount() {
+        return pendingDates.size();
+    }
+
+    /**
+     * setDate, This adds the supplied date for the supplied date picker to the batch. A null date
+     * will clear the date picker. If the date picker already has a date in the batch, that date is
+     * replaced. The date is not applied until apply() is called.
+     */
+    public synchronized void setDate(DatePicker datePicker, LocalDate date) {
+        if (datePicker == null) {
+            throw new IllegalArgumentException("The date picker must not be null.");
+        }
+        pendingDates.put(datePicker, date);
+    }
+}
@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.font.TextAttribute;
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.FormatStyle;
@@ -48,6 +49,13 @@ public class DatePickerSettings {
      */
     public Color backgroundColorHighlighted;
 
+    /**
+     * backgroundColorPending, This is the calendar background color for dates whose data has not
+     * arrived yet, when the veto policy is a PendingVetoPolicy. The default color is a very light
+     * gray.
+     */
+    public Color backgroundColorPending;
+
     /**
      * backgroundColorVetoed, This is the calendar background color for dates which are vetoed by a
      * veto policy. The default color is light gray.
@@ -127,6 +135,24 @@ public class DatePickerSettings {
      */
     public HighlightPolicy highlightPolicy;
 
+    /**
+     * maximumDate, If this is not null, it is the last date that can be selected in the date
+     * picker. Later dates are disabled in the calendar panel (without asking the veto policy or
+     * the highlight policy), the calendar cannot be moved to a later month, and later dates are not
+     * accepted into the date picker text field. By default, there is no maximum date. (The default
+     * value is null.)
+     */
+    public LocalDate maximumDate;
+
+    /**
+     * minimumDate, If this is not null, it is the first date that can be selected in the date
+     * picker. Earlier dates are disabled in the calendar panel (without asking the veto policy or
+     * the highlight policy), the calendar cannot be moved to an earlier month, and earlier dates
+     * are not accepted into the date picker text field. By default, there is no minimum date. (The
+     * default value is null.)
+     */
+    public LocalDate minimumDate;
+
     /**
      * parsingFormatters, This holds a list of formatters that are used to try to parse dates that
      * are typed by the user. The parsingFormatters are attempted to be used in the order that they
@@ -162,6 +188,13 @@ public class DatePickerSettings {
      */
     public String todayTranslation;
 
+    /**
+     * useScrollingCalendar, This indicates whether the popup calendar of the date picker should be
+     * a continuously scrolling calendar of weeks (a ScrollingCalendarPanel), instead of the standard
+     * calendar panel that pages from month to month. The default value is false.
+     */
+    public boolean useScrollingCalendar;
+
     /**
      * vetoPolicy, If a veto policy is supplied, it will be used to determine which dates cannot be
      * selected in the calendar panel. (Vetoed dates are also not accepted into the date picker text
@@ -170,6 +203,20 @@ public class DatePickerSettings {
      */
     public VetoPolicy vetoPolicy;
 
+    /**
+     * visibleMonthColumns, This is the number of months that are shown side by side in the calendar
+     * panel. The calendar panel shows a grid of (visibleMonthRows * visibleMonthColumns)
+     * consecutive months, from left to right and then from top to bottom. Values less than one are
+     * treated as one. The default value is 1.
+     */
+    public int visibleMonthColumns;
+
+    /**
+     * visibleMonthRows, This is the number of rows of months that are shown in the calendar panel.
+     * See visibleMonthColumns for details. The default value is 1.
+     */
+    public int visibleMonthRows;
+
     /**
      * Constructor with Default Locale, This constructs a date picker settings instance using the
      * system default locale and language. The constructor populates all the settings with default
@@ -199,7 +246,10 @@ public class DatePickerSettings {
         // Initialize the other fields.
         highlightPolicy = null;
         parsingFormatters = new ArrayList<>();
+        useScrollingCalendar = false;
         vetoPolicy = null;
+        visibleMonthColumns = 1;
+        visibleMonthRows = 1;
         firstDayOfWeek = WeekFields.of(Locale.getDefault()).getFirstDayOfWeek();
 
         // Create a set of default parsing formatters for the specified locale.
@@ -226,9 +276,25 @@ public class DatePickerSettings {
         attributes.put(TextAttribute.STRIKETHROUGH, TextAttribute.STRIKETHROUGH_ON);
         fontVetoedDate = new Font(attributes);
 
-        // Generate default colors for highlighted and vetoed dates.
+        // Generate default colors for highlighted, pending, and vetoed dates.
         backgroundColorHighlighted = Color.green;
+        backgroundColorPending = new Color(235, 235, 235);
         backgroundColorVetoed = Color.lightGray;
 
     }
+
+    /**
+     * isDateWithinBounds, This returns true if the supplied date is not before the minimum date
+     * and not after the maximum date. A bound that is null is not checked. A null date is always
+     * within the bounds.
+     */
+    public boolean isDateWithinBounds(LocalDate date) {
+        if (date == null) {
+            return true;
+        }
+        if (minimumDate != null && date.isBefore(minimumDate)) {
+            return false;
+        }
+        return !(maximumDate != null && date.isAfter(maximumDate));
+    }
 }
@@ -0,0 +1,207 @@
+package com.lgooddatepicker.core;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.CellRendererPane;
+import javax.swing.JButton;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+
+/**
+ * DehydratedDatePickerPainter, This paints date pickers that are in the dehydrated (lazy) state.
+ * A dehydrated date picker does not have any child components. Instead, it is painted with a
+ * single shared text field and a single shared button, which are used as "rubber stamps" in the
+ * same way that a JTable paints its cells. This makes a dehydrated date picker look like a normal
+ * date picker, while it costs almost nothing to create.
+ *
+ * The size of a dehydrated date picker, and the position of its toggle button, are measured with
+ * a shared normal (hydrated) prototype date picker. The prototype is given the same font, text,
+ * and text font as the dehydrated date picker, because the size of a hydrated date picker depends
+ * on all of them. The measurements are kept in a small cache, keyed by those values, so the many
+ * dehydrated date pickers of a form with the same settings share a single measurement. The
+ * prototype is created again (and the cache is cleared) if the look and feel is changed.
+ *
+ * This class should only be used on the event dispatch thread.
+ */
+final class DehydratedDatePickerPainter {
+
+    /**
+     * maximumCachedMeasurements, This is the maximum number of measurements that are kept.
+     */
+    private static final int maximumCachedMeasurements = 64;
+
+    /**
+     * buttonStamp, This is the shared button that is used to paint the toggle calendar button.
+     */
+    private static JButton buttonStamp = null;
+
+    /**
+     * lookAndFeel, This is the look and feel that was active when the prototype was created.
+     */
+    private static Object lookAndFeel = null;
+
+    /**
+     * measurements, This holds the most recently used measurements, in access order. Each key is
+     * a list of the date picker font, the text, and the text font.
+     */
+    private static final LinkedHashMap<List<Object>, Measurement> measurements
+            = new LinkedHashMap<List<Object>, Measurement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, Measurement> eldest) {
+                    return size() > maximumCachedMeasurements;
+                }
+            };
+
+    /**
+     * prototype, This is the hydrated date picker that is used to take the measurements.
+     */
+    private static DatePicker prototype = null;
+
+    /**
+     * rendererPane, This is the renderer pane that is used to paint the rubber stamp components.
+     */
+    private static CellRendererPane rendererPane = null;
+
+    /**
+     * textFieldStamp, This is the shared text field that is used to paint the date text.
+     */
+    private static JTextField textFieldStamp = null;
+
+    /**
+     * Constructor, This class only has static members, and should not be instantiated.
+     */
+    private DehydratedDatePickerPainter() {
+    }
+
+    /**
+     * getMeasurement, This returns the measurement of a hydrated date picker with the font of the
+     * supplied date picker, and with the supplied text and text font. The prototype and the rubber
+     * stamps are created first, if that has not been done yet for the current look and feel.
+     */
+    private static Measurement getMeasurement(DatePicker picker, String text, Font textFont) {
+        Object currentLookAndFeel = UIManager.getLookAndFeel();
+        if (prototype == null || currentLookAndFeel != lookAndFeel) {
+            lookAndFeel = currentLookAndFeel;
+            measurements.clear();
+            prototype = new DatePicker(new DatePickerSettings(), false);
+            textFieldStamp = new JTextField();
+            buttonStamp = new JButton("...");
+            buttonStamp.setMargin(new java.awt.Insets(1, 2, 1, 2));
+            buttonStamp.setFocusPainted(false);
+            rendererPane = new CellRendererPane();
+        }
+        List<Object> key = Arrays.<Object>asList(picker.getFont(), text, textFont);
+        Measurement measurement = measurements.get(key);
+        if (measurement == null) {
+            measurement = new Measurement(picker.getFont(), text, textFont);
+            measurements.put(key, measurement);
+        }
+        return measurement;
+    }
+
+    /**
+     * getMinimumSize, This returns the minimum size of the supplied date picker, if it was
+     * hydrated with the supplied text and text font.
+     */
+    static Dimension getMinimumSize(DatePicker picker, String text, Font textFont) {
+        return new Dimension(getMeasurement(picker, text, textFont).minimumSize);
+    }
+
+    /**
+     * getPreferredSize, This returns the preferred size of the supplied date picker, if it was
+     * hydrated with the supplied text and text font.
+     */
+    static Dimension getPreferredSize(DatePicker picker, String text, Font textFont) {
+        return new Dimension(getMeasurement(picker, text, textFont).preferredSize);
+    }
+
+    /**
+     * getToggleButtonX, This returns the x position of the toggle button, in the supplied
+     * dehydrated date picker with the supplied text and text font.
+     */
+    static int getToggleButtonX(DatePicker picker, String text, Font textFont) {
+        return picker.getWidth() - getMeasurement(picker, text, textFont).toggleButtonWidth;
+    }
+
+    /**
+     * paint, This paints a dehydrated date picker of the supplied size, with the supplied text,
+     * text color and font.
+     */
+    static void paint(Graphics graphics, DatePicker picker, String text, Color foreground,
+            Font font) {
+        Measurement measurement = getMeasurement(picker, text, font);
+        int width = picker.getWidth();
+        int height = picker.getHeight();
+        int toggleButtonWidth = measurement.toggleButtonWidth;
+        int textFieldWidth = Math.max(0, width - toggleButtonWidth - measurement.toggleButtonGap);
+        textFieldStamp.setText(text);
+        textFieldStamp.setForeground(foreground);
+        textFieldStamp.setFont(font);
+        textFieldStamp.setEnabled(picker.isEnabled());
+        buttonStamp.setEnabled(picker.isEnabled());
+        SwingUtilities.paintComponent(graphics, textFieldStamp, rendererPane,
+                0, 0, textFieldWidth, height);
+        SwingUtilities.paintComponent(graphics, buttonStamp, rendererPane,
+                width - toggleButtonWidth, 0, toggleButtonWidth, height);
+    }
+
+    /**
+     * Measurement, This holds the sizes of the prototype date picker, for one combination of date
+     * picker font, text, and text font.
+     */
+    private static final class Measurement {
+
+        /**
+         * minimumSize, This is the minimum size of the prototype date picker.
+         */
+        final Dimension minimumSize;
+
+        /**
+         * preferredSize, This is the preferred size of the prototype date picker.
+         */
+        final Dimension preferredSize;
+
+        /**
+         * toggleButtonGap, This is the horizontal gap between the text field and the toggle
+         * button of the prototype date picker.
+         */
+        final int toggleButtonGap;
+
+        /**
+         * toggleButtonWidth, This is the width of the toggle button of the prototype date picker.
+         */
+        final int toggleButtonWidth;
+
+        /**
+         * Constructor, This gives the prototype date picker the supplied font, text, and text
+         * font, and measures it. The text font is set after the text, because setting the text
+         * makes the prototype apply the text font of its own settings.
+         */
+        Measurement(Font pickerFont, String text, Font textFont) {
+            JTextField prototypeTextField = prototype.getComponentDateTextField();
+            prototype.setFont(pickerFont);
+            prototypeTextField.setText(text);
+            prototypeTextField.setFont(textFont);
+            // The prototype is never shown, so the changes above do not invalidate its layout.
+            // The layout caches the sizes of the components, until it is invalidated.
+            prototype.invalidate();
+            preferredSize = prototype.getPreferredSize();
+            minimumSize = prototype.getMinimumSize();
+            prototype.setSize(preferredSize);
+            prototype.doLayout();
+            Rectangle textFieldBounds = prototypeTextField.getBounds();
+            Rectangle buttonBounds = prototype.getComponentToggleCalendarButton().getBounds();
+            toggleButtonWidth = buttonBounds.width;
+            toggleButtonGap = Math.max(0,
+                    buttonBounds.x - (textFieldBounds.x + textFieldBounds.width));
+        }
+    }
+}
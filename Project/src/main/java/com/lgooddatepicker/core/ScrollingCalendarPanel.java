@@ -0,0 +1,727 @@
+package com.lgooddatepicker.core;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.KeyStroke;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.ToolTipManager;
+import javax.swing.border.LineBorder;
+import com.lgooddatepicker.policies.BatchHighlightPolicy;
+import com.lgooddatepicker.policies.BatchVetoPolicy;
+import com.lgooddatepicker.policies.HighlightPolicy;
+import com.lgooddatepicker.policies.PendingVetoPolicy;
+import com.lgooddatepicker.policies.VetoPolicy;
+import com.lgooddatepicker.utilities.CalendarSymbols;
+import com.lgooddatepicker.utilities.PolicyMonitor;
+import com.lgooddatepicker.utilities.PolicyMonitor.CallSite;
+
+/**
+ * ScrollingCalendarPanel, This is a calendar that scrolls continuously through weeks, instead of
+ * paging from month to month. Each row of the calendar is one week. The month and year are shown
+ * beside the first week of each month, and alternate months have slightly different backgrounds.
+ * The calendar can be scrolled smoothly across the whole supported range of years (from the year
+ * -9999 to the year 9999), or across the date bounds of the settings, if any bounds are set.
+ *
+ * This calendar uses the same settings, colors, and policies as the CalendarPanel. Vetoed dates,
+ * pending dates, highlighted dates, dates outside of the date bounds, and the selected date are
+ * all indicated in the same way.
+ *
+ * Virtualization: The week rows are not components. Only the rows that are inside the visible area
+ * of the scroll pane are painted, so the cost of painting does not depend on the number of weeks.
+ * The policy data is loaded one month at a time for the months that are visible, and is kept in a
+ * small cache. The vetoed dates of all the visible months that are not yet cached are requested
+ * with a single call to a batch veto policy. (See BatchVetoPolicy.getVetoedDaysOfMonths().) The
+ * highlight strings of those months are requested in the same way from a batch highlight policy.
+ * (See BatchHighlightPolicy.getHighlightStringsOfMonths().) If the veto policy is a
+ * PendingVetoPolicy, the calendar is repainted when new data arrives.
+ *
+ * A scrolling calendar can be used as the popup calendar of a date picker (see
+ * DatePickerSettings.useScrollingCalendar), or it can be used as a standalone component.
+ *
+ * This class should only be used on the event dispatch thread.
+ */
+public class ScrollingCalendarPanel extends JPanel {
+
+    /**
+     * maximumCachedMonths, This is the maximum number of months of policy data that are kept in the
+     * cache.
+     */
+    final static private int maximumCachedMonths = 48;
+
+    /**
+     * visibleRowCount, This is the number of week rows that are visible at the preferred size.
+     */
+    final static private int visibleRowCount = 8;
+
+    /**
+     * alternateMonthBackground, This is the background color of the dates in odd months.
+     */
+    private final Color alternateMonthBackground = new Color(246, 248, 252);
+
+    /**
+     * dateSelectedAction, This is called with the date that the user has clicked, or null if no
+     * action has been set.
+     */
+    private Consumer<LocalDate> dateSelectedAction = null;
+
+    /**
+     * firstDate, This is the first date that is shown in the calendar. Earlier dates in the first
+     * week row are left empty.
+     */
+    private LocalDate firstDate;
+
+    /**
+     * firstRowEpochDay, This is the epoch day of the first date in the first week row.
+     */
+    private long firstRowEpochDay;
+
+    /**
+     * lastDate, This is the last date that is shown in the calendar. Later dates in the last week
+     * row are left empty.
+     */
+    private LocalDate lastDate;
+
+    /**
+     * monthDataCache, This holds the policy data of the most recently used months, in access order.
+     */
+    private final LinkedHashMap<YearMonth, MonthData> monthDataCache
+            = new LinkedHashMap<YearMonth, MonthData>(maximumCachedMonths, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<YearMonth, MonthData> eldest) {
+                    return size() > maximumCachedMonths;
+                }
+            };
+
+    /**
+     * pendingDataListener, This listener discards the cached policy data and repaints the
+     * calendar, when new data arrives for a pending veto policy.
+     */
+    private final Runnable pendingDataListener = () -> {
+        this.monthDataCache.clear();
+        this.repaint();
+    };
+
+    /**
+     * pendingDataListenerPolicy, This holds the pending veto policy that the pending data listener
+     * is currently registered with, or null if the listener is not registered.
+     */
+    private PendingVetoPolicy pendingDataListenerPolicy = null;
+
+    /**
+     * rowCount, This is the total number of week rows in the calendar.
+     */
+    private int rowCount;
+
+    /**
+     * scrollPane, This is the scroll pane that holds the week rows.
+     */
+    private final JScrollPane scrollPane;
+
+    /**
+     * selectedDate, This is the date that is marked as selected, or null.
+     */
+    private LocalDate selectedDate = null;
+
+    /**
+     * settings, This holds the settings that are used by this calendar.
+     */
+    private final DatePickerSettings settings;
+
+    /**
+     * weekRows, This is the component that paints the week rows.
+     */
+    private final WeekRows weekRows;
+
+    /**
+     * Constructor, This creates a scrolling calendar that uses the supplied settings. The calendar
+     * is scrolled to the current week.
+     */
+    public ScrollingCalendarPanel(DatePickerSettings settings) {
+        super(new BorderLayout());
+        this.settings = settings;
+        weekRows = new WeekRows();
+        scrollPane = new JScrollPane(weekRows,
+                JScrollPane.VERTICAL_SCROLLBAR_ALWAYS, JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        scrollPane.setColumnHeaderView(new WeekdayHeader());
+        scrollPane.setBorder(new LineBorder(new Color(99, 130, 191)));
+        add(scrollPane, BorderLayout.CENTER);
+        updateRange();
+        scrollToDate(LocalDate.now());
+    }
+
+    /**
+     * addNotify, This registers the pending data listener when the calendar is added to a visible
+     * component hierarchy.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        VetoPolicy vetoPolicy = settings.vetoPolicy;
+        setPendingDataListenerPolicy((vetoPolicy instanceof PendingVetoPolicy)
+                ? ((PendingVetoPolicy) vetoPolicy) : null);
+    }
+
+    /**
+     * getCachedMonthData, This returns the policy data of every month from the first month to the
+     * last month (inclusive). Months that are not cached are loaded. The vetoed days of all the
+     * missing months are requested from a batch veto policy with a single call.
+     */
+    private MonthData[] getCachedMonthData(YearMonth firstYearMonth, YearMonth lastYearMonth) {
+        int monthCount = (int) firstYearMonth.until(lastYearMonth, ChronoUnit.MONTHS) + 1;
+        MonthData[] result = new MonthData[monthCount];
+        int firstMissing = -1;
+        int lastMissing = -1;
+        for (int i = 0; i < monthCount; ++i) {
+            result[i] = monthDataCache.get(firstYearMonth.plusMonths(i));
+            if (result[i] == null) {
+                firstMissing = (firstMissing < 0) ? i : firstMissing;
+                lastMissing = i;
+            }
+        }
+        if (firstMissing < 0) {
+            return result;
+        }
+        CallSite previousCallSite = PolicyMonitor.enterCallSite(CallSite.DRAW);
+        try {
+            VetoPolicy vetoPolicy = settings.vetoPolicy;
+            YearMonth firstMissingYearMonth = firstYearMonth.plusMonths(firstMissing);
+            int missingCount = lastMissing - firstMissing + 1;
+            int[] vetoMasks = (vetoPolicy instanceof BatchVetoPolicy)
+                    ? ((BatchVetoPolicy) vetoPolicy).getVetoedDaysOfMonths(
+                            firstMissingYearMonth, missingCount)
+                    : null;
+            HighlightPolicy highlightPolicy = settings.highlightPolicy;
+            String[][] highlightStrings = (highlightPolicy instanceof BatchHighlightPolicy)
+                    ? ((BatchHighlightPolicy) highlightPolicy).getHighlightStringsOfMonths(
+                            firstMissingYearMonth, missingCount)
+                    : null;
+            for (int i = firstMissing; i <= lastMissing; ++i) {
+                if (result[i] != null) {
+                    continue;
+                }
+                YearMonth yearMonth = firstYearMonth.plusMonths(i);
+                int vetoMask = (vetoMasks == null)
+                        ? getVetoedDaysOneByOne(vetoPolicy, yearMonth) : vetoMasks[i - firstMissing];
+                result[i] = new MonthData(yearMonth, vetoMask,
+                        (highlightStrings == null) ? null : highlightStrings[i - firstMissing]);
+                monthDataCache.put(yearMonth, result[i]);
+            }
+        } finally {
+            PolicyMonitor.exitCallSite(previousCallSite);
+        }
+        return result;
+    }
+
+    /**
+     * getDateAtPoint, This returns the date at the supplied point of the week rows component, or
+     * null if there is no date at that point.
+     */
+    private LocalDate getDateAtPoint(Point point) {
+        int column = (point.x - weekRows.gutterWidth) / weekRows.cellWidth;
+        int row = point.y / weekRows.rowHeight;
+        if (point.x < weekRows.gutterWidth || column > 6 || row < 0 || row >= rowCount) {
+            return null;
+        }
+        LocalDate date = LocalDate.ofEpochDay(firstRowEpochDay + (row * 7L) + column);
+        return isDateInRange(date) ? date : null;
+    }
+
+    /**
+     * getScrollPane, This returns the scroll pane that holds the week rows. This is intended for
+     * advanced customization.
+     */
+    public JScrollPane getScrollPane() {
+        return scrollPane;
+    }
+
+    /**
+     * getSelectedDate, This returns the date that is marked as selected, or null.
+     */
+    public LocalDate getSelectedDate() {
+        return selectedDate;
+    }
+
+    /**
+     * getSettings, This returns the settings that are used by this calendar.
+     */
+    public DatePickerSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * getVetoedDaysOneByOne, This returns a bit mask of the vetoed days in the supplied month, by
+     * asking the supplied (non batch) veto policy about each date that is inside the date bounds.
+     */
+    private int getVetoedDaysOneByOne(VetoPolicy vetoPolicy, YearMonth yearMonth) {
+        if (vetoPolicy == null) {
+            return 0;
+        }
+        int mask = 0;
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); ++day) {
+            LocalDate date = yearMonth.atDay(day);
+            if (settings.isDateWithinBounds(date) && vetoPolicy.isDateVetoed(date)) {
+                mask |= (1 << (day - 1));
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * isDateInRange, This returns true if the supplied date is between the first date and the last
+     * date of the calendar (inclusive).
+     */
+    private boolean isDateInRange(LocalDate date) {
+        return !(date.isBefore(firstDate) || date.isAfter(lastDate));
+    }
+
+    /**
+     * isDateSelectable, This returns true if the supplied date is inside the date bounds and is
+     * not vetoed.
+     */
+    private boolean isDateSelectable(LocalDate date) {
+        if (!settings.isDateWithinBounds(date)) {
+            return false;
+        }
+        VetoPolicy vetoPolicy = settings.vetoPolicy;
+        CallSite previousCallSite = PolicyMonitor.enterCallSite(CallSite.SELECTION);
+        try {
+            return !(vetoPolicy != null && vetoPolicy.isDateVetoed(date));
+        } finally {
+            PolicyMonitor.exitCallSite(previousCallSite);
+        }
+    }
+
+    /**
+     * refresh, This discards the cached policy data, recalculates the range of weeks from the date
+     * bounds of the settings, and repaints the calendar. This should be called if the policies or
+     * the date bounds of the settings are changed while the calendar is displayed.
+     */
+    public void refresh() {
+        LocalDate topDate = getDateAtPoint(new Point(
+                weekRows.gutterWidth, weekRows.getVisibleRect().y));
+        monthDataCache.clear();
+        updateRange();
+        VetoPolicy vetoPolicy = settings.vetoPolicy;
+        if (isDisplayable()) {
+            setPendingDataListenerPolicy((vetoPolicy instanceof PendingVetoPolicy)
+                    ? ((PendingVetoPolicy) vetoPolicy) : null);
+        }
+        scrollToDate((topDate == null) ? LocalDate.now() : topDate);
+        repaint();
+    }
+
+    /**
+     * removeNotify, This unregisters the pending data listener when the calendar is removed from a
+     * visible component hierarchy, so that the policy does not keep a reference to the calendar.
+     */
+    @Override
+    public void removeNotify() {
+        setPendingDataListenerPolicy(null);
+        super.removeNotify();
+    }
+
+    /**
+     * scrollToDate, This scrolls the calendar so that the week of the supplied date is the second
+     * visible row. Dates outside of the range of the calendar are moved to the nearest end of the
+     * range.
+     */
+    public void scrollToDate(LocalDate date) {
+        long row = Math.floorDiv(date.toEpochDay() - firstRowEpochDay, 7L) - 1;
+        row = Math.max(0, Math.min(rowCount - 1, row));
+        int y = (int) (row * weekRows.rowHeight);
+        int maximumY = Math.max(0, weekRows.getPreferredSize().height
+                - scrollPane.getViewport().getExtentSize().height);
+        scrollPane.getViewport().setViewPosition(new Point(0, Math.min(y, maximumY)));
+    }
+
+    /**
+     * setDateSelectedAction, This sets the action that is called with the date that the user has
+     * clicked. Vetoed dates, and dates outside of the date bounds, cannot be clicked.
+     */
+    public void setDateSelectedAction(Consumer<LocalDate> dateSelectedAction) {
+        this.dateSelectedAction = dateSelectedAction;
+    }
+
+    /**
+     * setPendingDataListenerPolicy, This registers the pending data listener with the supplied
+     * pending veto policy, and unregisters it from any previous policy. If the supplied policy is
+     * null, the listener is only unregistered.
+     */
+    private void setPendingDataListenerPolicy(PendingVetoPolicy policy) {
+        if (policy == pendingDataListenerPolicy) {
+            return;
+        }
+        if (pendingDataListenerPolicy != null) {
+            pendingDataListenerPolicy.removeDataArrivalListener(pendingDataListener);
+        }
+        if (policy != null) {
+            policy.addDataArrivalListener(pendingDataListener);
+        }
+        pendingDataListenerPolicy = policy;
+    }
+
+    /**
+     * setSelectedDate, This sets the date that is marked as selected. This does not scroll the
+     * calendar. (See scrollToDate().)
+     */
+    public void setSelectedDate(LocalDate selectedDate) {
+        this.selectedDate = selectedDate;
+        weekRows.repaint();
+    }
+
+    /**
+     * updateRange, This calculates the first week row and the number of week rows, from the date
+     * bounds of the settings, or from the supported range of years if there are no bounds.
+     */
+    private void updateRange() {
+        firstDate = (settings.minimumDate != null) ? settings.minimumDate
+                : LocalDate.of(YearChooser.firstSupportedYear, 1, 1);
+        lastDate = (settings.maximumDate != null) ? settings.maximumDate
+                : LocalDate.of(YearChooser.lastSupportedYear, 12, 31);
+        DayOfWeek firstDayOfWeek = settings.firstDayOfWeek;
+        firstRowEpochDay = firstDate.with(TemporalAdjusters.previousOrSame(firstDayOfWeek))
+                .toEpochDay();
+        rowCount = (int) Math.max(1, Math.floorDiv(lastDate.toEpochDay() - firstRowEpochDay, 7L) + 1);
+        weekRows.revalidate();
+    }
+
+    /**
+     * zEventWeekRowsMouseClicked, This is called when the user clicks on the week rows. If a
+     * selectable date was clicked, the date is marked as selected and the date selected action is
+     * called.
+     */
+    private void zEventWeekRowsMouseClicked(MouseEvent e) {
+        LocalDate date = getDateAtPoint(e.getPoint());
+        if (date == null || !isDateSelectable(date)) {
+            return;
+        }
+        setSelectedDate(date);
+        if (dateSelectedAction != null) {
+            dateSelectedAction.accept(date);
+        }
+    }
+
+    /**
+     * MonthData, This holds the cached policy data for one month.
+     */
+    private final class MonthData {
+
+        /**
+         * highlightStrings, This holds the highlight string of each day of the month (by zero based
+         * day index), or null for days that are not highlighted. This array is null if there is no
+         * highlight policy.
+         */
+        final String[] highlightStrings;
+
+        /**
+         * vetoMask, This is a bit mask of the vetoed days of the month. (See BatchVetoPolicy.)
+         */
+        final int vetoMask;
+
+        /**
+         * Constructor, This creates the data for the supplied month. If batchHighlightStrings is
+         * not null, it holds the highlight strings of the month that were returned by a batch
+         * highlight policy. Otherwise, the highlight policy (if any) is asked about each date.
+         * Dates outside of the date bounds are never highlighted.
+         */
+        MonthData(YearMonth yearMonth, int vetoMask, String[] batchHighlightStrings) {
+            this.vetoMask = vetoMask;
+            HighlightPolicy highlightPolicy = settings.highlightPolicy;
+            if (highlightPolicy == null) {
+                highlightStrings = null;
+                return;
+            }
+            highlightStrings = new String[yearMonth.lengthOfMonth()];
+            for (int day = 1; day <= highlightStrings.length; ++day) {
+                LocalDate date = yearMonth.atDay(day);
+                if (!settings.isDateWithinBounds(date)) {
+                    continue;
+                }
+                highlightStrings[day - 1] = (batchHighlightStrings != null)
+                        ? batchHighlightStrings[day - 1]
+                        : highlightPolicy.getHighlightStringOrNull(date);
+            }
+        }
+    }
+
+    /**
+     * WeekdayHeader, This paints the weekday names above the columns of the week rows.
+     */
+    private final class WeekdayHeader extends JComponent {
+
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(weekRows.getPreferredSize().width, weekRows.rowHeight + 2);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            g.setColor(getBackground() == null ? Color.white : getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+            g.setColor(new Color(184, 207, 229));
+            g.fillRect(weekRows.gutterWidth, 0, weekRows.cellWidth * 7, getHeight());
+            String[] weekdays = CalendarSymbols.getInstance(settings.pickerLocale)
+                    .getShortWeekdaysAsDisplayed(settings.firstDayOfWeek);
+            g.setFont(weekRows.getFont());
+            g.setColor(Color.black);
+            FontMetrics metrics = g.getFontMetrics();
+            int baseline = ((getHeight() - metrics.getHeight()) / 2) + metrics.getAscent();
+            for (int column = 0; column < 7; ++column) {
+                int cellX = weekRows.gutterWidth + (column * weekRows.cellWidth);
+                int textX = cellX + ((weekRows.cellWidth - metrics.stringWidth(weekdays[column])) / 2);
+                g.drawString(weekdays[column], textX, baseline);
+            }
+        }
+    }
+
+    /**
+     * WeekRows, This component paints the week rows. Only the rows that intersect the clip area
+     * are painted.
+     */
+    private final class WeekRows extends JComponent implements Scrollable {
+
+        /**
+         * cellWidth, This is the width of each date cell.
+         */
+        int cellWidth;
+
+        /**
+         * gutterWidth, This is the width of the area at the left, that shows the month and year
+         * beside the first week of each month.
+         */
+        int gutterWidth;
+
+        /**
+         * rowHeight, This is the height of each week row.
+         */
+        int rowHeight;
+
+        WeekRows() {
+            setFont(new JPanel().getFont());
+            setOpaque(true);
+            updateMetrics();
+            addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    zEventWeekRowsMouseClicked(e);
+                }
+            });
+            ToolTipManager.sharedInstance().registerComponent(this);
+            // Scroll by whole weeks with the page keys.
+            getInputMap(WHEN_IN_FOCUSED_WINDOW).put(
+                    KeyStroke.getKeyStroke(KeyEvent.VK_PAGE_DOWN, 0), "nextPage");
+            getInputMap(WHEN_IN_FOCUSED_WINDOW).put(
+                    KeyStroke.getKeyStroke(KeyEvent.VK_PAGE_UP, 0), "previousPage");
+            getActionMap().put("nextPage", new ScrollAction(1));
+            getActionMap().put("previousPage", new ScrollAction(-1));
+        }
+
+        @Override
+        public Dimension getPreferredScrollableViewportSize() {
+            return new Dimension(getPreferredSize().width, visibleRowCount * rowHeight);
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(gutterWidth + (7 * cellWidth), rowCount * rowHeight);
+        }
+
+        @Override
+        public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation,
+                int direction) {
+            return Math.max(rowHeight, visibleRect.height - rowHeight);
+        }
+
+        @Override
+        public boolean getScrollableTracksViewportHeight() {
+            return false;
+        }
+
+        @Override
+        public boolean getScrollableTracksViewportWidth() {
+            return true;
+        }
+
+        @Override
+        public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation,
+                int direction) {
+            // A third of a row, so that mouse wheel scrolling is smooth.
+            return Math.max(1, rowHeight / 3);
+        }
+
+        @Override
+        public String getToolTipText(MouseEvent event) {
+            LocalDate date = getDateAtPoint(event.getPoint());
+            if (date == null) {
+                return null;
+            }
+            YearMonth yearMonth = YearMonth.from(date);
+            MonthData data = getCachedMonthData(yearMonth, yearMonth)[0];
+            if (data.highlightStrings == null
+                    || ((data.vetoMask >>> (date.getDayOfMonth() - 1)) & 1) != 0) {
+                return null;
+            }
+            String highlight = data.highlightStrings[date.getDayOfMonth() - 1];
+            return (highlight == null || highlight.isEmpty()) ? null : highlight;
+        }
+
+        /**
+         * paintComponent, This paints the week rows that intersect the clip area. The graphics
+         * context is translated to the top of each row before the row is painted, so that drawing
+         * coordinates stay small even when the calendar is scrolled far from the first row.
+         */
+        @Override
+        protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            g.setColor(Color.white);
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+            int firstRow = Math.max(0, clip.y / rowHeight);
+            int lastRow = Math.min(rowCount - 1, (clip.y + clip.height - 1) / rowHeight);
+            if (lastRow < firstRow) {
+                return;
+            }
+            // Load the policy data for all the visible months at once.
+            LocalDate firstPaintedDate = LocalDate.ofEpochDay(firstRowEpochDay + (firstRow * 7L));
+            LocalDate lastPaintedDate = LocalDate.ofEpochDay(
+                    firstRowEpochDay + (lastRow * 7L) + 6);
+            YearMonth firstYearMonth = YearMonth.from(
+                    firstPaintedDate.isBefore(firstDate) ? firstDate : firstPaintedDate);
+            YearMonth lastYearMonth = YearMonth.from(
+                    lastPaintedDate.isAfter(lastDate) ? lastDate : lastPaintedDate);
+            MonthData[] monthData = getCachedMonthData(firstYearMonth, lastYearMonth);
+            CalendarSymbols symbols = CalendarSymbols.getInstance(settings.pickerLocale);
+            VetoPolicy vetoPolicy = settings.vetoPolicy;
+            PendingVetoPolicy pendingVetoPolicy = (vetoPolicy instanceof PendingVetoPolicy)
+                    ? ((PendingVetoPolicy) vetoPolicy) : null;
+            g.setFont(getFont());
+            FontMetrics metrics = g.getFontMetrics();
+            int baseline = ((rowHeight - metrics.getHeight()) / 2) + metrics.getAscent();
+            for (int row = firstRow; row <= lastRow; ++row) {
+                Graphics rowGraphics = g.create(0, row * rowHeight, getWidth(), rowHeight);
+                try {
+                    for (int column = 0; column < 7; ++column) {
+                        LocalDate date = LocalDate.ofEpochDay(
+                                firstRowEpochDay + (row * 7L) + column);
+                        if (!isDateInRange(date)) {
+                            continue;
+                        }
+                        int monthOffset = (int) firstYearMonth.until(
+                                YearMonth.from(date), ChronoUnit.MONTHS);
+                        paintCell(rowGraphics, metrics, baseline, column, date,
+                                monthData[monthOffset], pendingVetoPolicy);
+                        // Show the month and year beside the first week of the month.
+                        if (date.getDayOfMonth() == 1) {
+                            rowGraphics.setColor(new Color(99, 130, 191));
+                            String monthText = symbols.getMonthName(date.getMonth())
+                                    + " " + date.getYear();
+                            rowGraphics.drawString(monthText, 4, baseline);
+                        }
+                    }
+                } finally {
+                    rowGraphics.dispose();
+                }
+            }
+        }
+
+        /**
+         * paintCell, This paints a single date cell, in a graphics context whose origin is the top
+         * left corner of the week row. The date must be inside the range of the calendar, which is
+         * always inside the date bounds of the settings.
+         */
+        private void paintCell(Graphics g, FontMetrics metrics, int baseline, int column,
+                LocalDate date, MonthData data, PendingVetoPolicy pendingVetoPolicy) {
+            int cellX = gutterWidth + (column * cellWidth);
+            int dayIndex = date.getDayOfMonth() - 1;
+            boolean vetoed = (((data.vetoMask >>> dayIndex) & 1) != 0);
+            String highlight = (data.highlightStrings != null)
+                    ? data.highlightStrings[dayIndex] : null;
+            Color background = ((date.getMonthValue() % 2) == 0)
+                    ? Color.white : alternateMonthBackground;
+            if (vetoed) {
+                boolean pending = (pendingVetoPolicy != null)
+                        && (pendingVetoPolicy.isDatePending(date));
+                background = pending
+                        ? settings.backgroundColorPending : settings.backgroundColorVetoed;
+            } else if (highlight != null) {
+                background = settings.backgroundColorHighlighted;
+            }
+            boolean selected = date.equals(selectedDate) && !vetoed;
+            if (selected) {
+                background = new Color(163, 184, 204);
+            }
+            g.setColor(background);
+            g.fillRect(cellX, 0, cellWidth, rowHeight);
+            if (selected) {
+                g.setColor(new Color(99, 130, 191));
+                g.drawRect(cellX, 0, cellWidth - 1, rowHeight - 1);
+            }
+            String dayText = Integer.toString(date.getDayOfMonth());
+            g.setColor(vetoed ? Color.gray : Color.black);
+            g.drawString(dayText, cellX + ((cellWidth - metrics.stringWidth(dayText)) / 2),
+                    baseline);
+        }
+
+        /**
+         * updateMetrics, This calculates the size of the cells and of the gutter from the font.
+         */
+        void updateMetrics() {
+            FontMetrics metrics = getFontMetrics(getFont());
+            rowHeight = Math.max(18, metrics.getHeight() + 6);
+            cellWidth = Math.max(27, metrics.stringWidth("00") + 14);
+            int widestMonth = 0;
+            for (String month : CalendarSymbols.getInstance(settings.pickerLocale).getMonthNames()) {
+                widestMonth = Math.max(widestMonth, metrics.stringWidth(month));
+            }
+            gutterWidth = widestMonth + metrics.stringWidth(" -0000") + 10;
+        }
+    }
+
+    /**
+     * ScrollAction, This scrolls the week rows by one block in the supplied direction.
+     */
+    private final class ScrollAction extends AbstractAction {
+
+        /**
+         * direction, This is 1 to scroll down, or -1 to scroll up.
+         */
+        private final int direction;
+
+        ScrollAction(int direction) {
+            this.direction = direction;
+        }
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Rectangle visible = weekRows.getVisibleRect();
+            int block = weekRows.getScrollableBlockIncrement(
+                    visible, SwingConstants.VERTICAL, direction);
+            visible.y += direction * block;
+            weekRows.scrollRectToVisible(visible);
+        }
+    }
+}
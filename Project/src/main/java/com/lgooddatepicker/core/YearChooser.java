@@ -0,0 +1,318 @@
+package com.lgooddatepicker.core;
+
+import java.awt.Component;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.IntConsumer;
+import javax.swing.AbstractListModel;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JList;
+import javax.swing.JPopupMenu;
+import javax.swing.JScrollPane;
+import javax.swing.ListSelectionModel;
+import javax.swing.ScrollPaneConstants;
+import javax.swing.SwingConstants;
+import javax.swing.event.MenuKeyEvent;
+import javax.swing.event.MenuKeyListener;
+
+/**
+ * YearChooser, This is the popup menu that is displayed when the user clicks on the year label of
+ * a calendar panel. It holds a scrollable list of every supported year (or of every year inside the
+ * date bounds of the date picker), so that the user can jump to any year with a single action.
+ *
+ * The list is backed by a lazy list model, which calculates each year from its index instead of
+ * storing a list of years. The list uses a fixed cell size, so only the visible rows are ever
+ * rendered. The user can also type a year while the chooser is open, to jump directly to that year.
+ *
+ * Life cycle: A calendar panel creates a single year chooser the first time that the year label is
+ * clicked, and reuses that instance for every later click.
+ *
+ * Implementation note: The chooser is not focusable. If the popup menu was placed in its own
+ * (heavyweight) window and that window took the focus, the calendar popup would lose focus and
+ * close. Typed keys are instead received through the menu key listener, which is supplied with
+ * key events from the menu selection manager while the popup menu is open.
+ */
+final class YearChooser extends JPopupMenu {
+
+    /**
+     * firstSupportedYear, This is the first year that is available in the year chooser.
+     */
+    static final int firstSupportedYear = -9999;
+
+    /**
+     * lastSupportedYear, This is the last year that is available in the year chooser.
+     */
+    static final int lastSupportedYear = 9999;
+
+    /**
+     * typeToJumpTimeoutMilliseconds, If the user pauses for longer than this while typing a year,
+     * the typed text is discarded and a new year is started.
+     */
+    private static final long typeToJumpTimeoutMilliseconds = 1000;
+
+    /**
+     * visibleRowCount, This is the number of years that are visible in the chooser at one time.
+     */
+    private static final int visibleRowCount = 15;
+
+    /**
+     * lastKeyTypedTime, This holds the time at which the user last typed a key into the chooser.
+     */
+    private long lastKeyTypedTime = 0;
+
+    /**
+     * typedText, This holds the text that the user has typed into the chooser, when the user is
+     * typing a year.
+     */
+    private String typedText = "";
+
+    /**
+     * yearList, This is the list component that displays the years.
+     */
+    private final JList<Integer> yearList;
+
+    /**
+     * yearListModel, This is the lazy list model that supplies the years to the year list.
+     */
+    private YearListModel yearListModel;
+
+    /**
+     * yearSelectedAction, This is called with the chosen year, whenever the user chooses a year.
+     */
+    private final IntConsumer yearSelectedAction;
+
+    /**
+     * Constructor, This creates the year chooser. The supplied action is called with the chosen
+     * year whenever the user chooses a year.
+     */
+    YearChooser(IntConsumer yearSelectedAction) {
+        this.yearSelectedAction = yearSelectedAction;
+        yearListModel = new YearListModel(firstSupportedYear, lastSupportedYear);
+        yearList = new JList<>(yearListModel);
+        yearList.setFocusable(false);
+        yearList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        yearList.setVisibleRowCount(visibleRowCount);
+        // Setting a prototype value gives every cell a fixed size. This prevents the list from
+        // rendering every year to calculate the size of the list.
+        yearList.setPrototypeCellValue(firstSupportedYear);
+        DefaultListCellRenderer renderer = new DefaultListCellRenderer();
+        renderer.setHorizontalAlignment(SwingConstants.CENTER);
+        yearList.setCellRenderer(renderer);
+        // The selection follows the mouse, and a mouse click chooses the year.
+        MouseAdapter mouseAdapter = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                int index = yearList.locationToIndex(e.getPoint());
+                if (index >= 0) {
+                    yearList.setSelectedIndex(index);
+                }
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                int index = yearList.locationToIndex(e.getPoint());
+                if (index >= 0) {
+                    chooseYear(yearListModel.getYearAt(index));
+                }
+            }
+        };
+        yearList.addMouseListener(mouseAdapter);
+        yearList.addMouseMotionListener(mouseAdapter);
+        JScrollPane scrollPane = new JScrollPane(yearList,
+                ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS,
+                ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        scrollPane.setFocusable(false);
+        scrollPane.getVerticalScrollBar().setFocusable(false);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(yearList.getFixedCellHeight());
+        scrollPane.setBorder(null);
+        add(scrollPane);
+        setFocusable(false);
+        addMenuKeyListener(new MenuKeyListener() {
+            @Override
+            public void menuKeyTyped(MenuKeyEvent e) {
+                yearChooserKeyTyped(e);
+            }
+
+            @Override
+            public void menuKeyPressed(MenuKeyEvent e) {
+                yearChooserKeyPressed(e);
+            }
+
+            @Override
+            public void menuKeyReleased(MenuKeyEvent e) {
+            }
+        });
+    }
+
+    /**
+     * chooseYear, This closes the chooser and reports the chosen year.
+     */
+    private void chooseYear(int year) {
+        setVisible(false);
+        yearSelectedAction.accept(year);
+    }
+
+    /**
+     * scrollToIndex, This selects the supplied list index, and scrolls the list so that the
+     * selected year is shown in the middle of the visible rows.
+     */
+    private void scrollToIndex(int index) {
+        index = Math.max(0, Math.min(index, yearListModel.getSize() - 1));
+        yearList.setSelectedIndex(index);
+        int cellHeight = yearList.getFixedCellHeight();
+        int firstVisibleIndex = Math.max(0, index - (visibleRowCount / 2));
+        Rectangle visibleRectangle = new Rectangle(
+                0, firstVisibleIndex * cellHeight, 1, visibleRowCount * cellHeight);
+        yearList.scrollRectToVisible(new Rectangle(0, index * cellHeight, 1, cellHeight));
+        yearList.scrollRectToVisible(visibleRectangle);
+    }
+
+    /**
+     * setYearRange, This sets the range of years that are offered by the chooser. The range is
+     * limited to the supported years. If the first year is after the last year, the range is not
+     * changed.
+     */
+    void setYearRange(int firstYear, int lastYear) {
+        firstYear = Math.max(firstYear, firstSupportedYear);
+        lastYear = Math.min(lastYear, lastSupportedYear);
+        if (firstYear > lastYear || (yearListModel.getYearAt(0) == firstYear
+                && yearListModel.getSize() == (lastYear - firstYear) + 1)) {
+            return;
+        }
+        yearListModel = new YearListModel(firstYear, lastYear);
+        yearList.setModel(yearListModel);
+        yearList.setVisibleRowCount(Math.min(visibleRowCount, yearListModel.getSize()));
+    }
+
+    /**
+     * show, This shows the chooser at the supplied location, relative to the invoker, with the
+     * supplied year selected and centered in the list.
+     */
+    void show(Component invoker, Point location, int selectedYear) {
+        typedText = "";
+        if (!yearListModel.containsYear(selectedYear)) {
+            selectedYear = yearListModel.getYearAt(0);
+        }
+        show(invoker, location.x, location.y);
+        scrollToIndex(yearListModel.getIndexOf(selectedYear));
+    }
+
+    /**
+     * yearChooserKeyPressed, This handles navigation keys while the chooser is open. The enter key
+     * chooses the selected year. The escape key is handled by the popup menu itself.
+     */
+    private void yearChooserKeyPressed(MenuKeyEvent e) {
+        int selectedIndex = yearList.getSelectedIndex();
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_ENTER:
+                if (selectedIndex >= 0) {
+                    chooseYear(yearListModel.getYearAt(selectedIndex));
+                }
+                break;
+            case KeyEvent.VK_UP:
+                scrollToIndex(selectedIndex - 1);
+                break;
+            case KeyEvent.VK_DOWN:
+                scrollToIndex(selectedIndex + 1);
+                break;
+            case KeyEvent.VK_PAGE_UP:
+                scrollToIndex(selectedIndex - visibleRowCount);
+                break;
+            case KeyEvent.VK_PAGE_DOWN:
+                scrollToIndex(selectedIndex + visibleRowCount);
+                break;
+            default:
+                return;
+        }
+        e.consume();
+    }
+
+    /**
+     * yearChooserKeyTyped, This implements "type to jump". Each typed digit (or a leading minus
+     * sign) is added to the typed text, and the chooser jumps to the typed year if that year is
+     * available. The typed text is discarded if the user pauses for longer than the timeout.
+     */
+    private void yearChooserKeyTyped(MenuKeyEvent e) {
+        char typedCharacter = e.getKeyChar();
+        long now = System.currentTimeMillis();
+        if (now - lastKeyTypedTime > typeToJumpTimeoutMilliseconds) {
+            typedText = "";
+        }
+        lastKeyTypedTime = now;
+        boolean isLeadingMinus = (typedCharacter == '-') && typedText.isEmpty();
+        if (!Character.isDigit(typedCharacter) && !isLeadingMinus) {
+            return;
+        }
+        e.consume();
+        typedText += typedCharacter;
+        if (isLeadingMinus || typedText.length() > 5) {
+            return;
+        }
+        int typedYear = Integer.parseInt(typedText);
+        if (yearListModel.containsYear(typedYear)) {
+            scrollToIndex(yearListModel.getIndexOf(typedYear));
+        }
+    }
+
+    /**
+     * YearListModel, This is a list model that represents a continuous range of years. The years
+     * are calculated from the list index whenever they are requested, so no list of years is ever
+     * stored.
+     */
+    private static final class YearListModel extends AbstractListModel<Integer> {
+
+        /**
+         * firstYear, This is the year at list index zero.
+         */
+        private final int firstYear;
+
+        /**
+         * lastYear, This is the year at the last list index.
+         */
+        private final int lastYear;
+
+        /**
+         * Constructor, This creates a model that contains every year from the first year to the
+         * last year, inclusive.
+         */
+        YearListModel(int firstYear, int lastYear) {
+            this.firstYear = firstYear;
+            this.lastYear = lastYear;
+        }
+
+        /**
+         * containsYear, This returns true if the supplied year is in the range of this model.
+         */
+        boolean containsYear(int year) {
+            return (year >= firstYear) && (year <= lastYear);
+        }
+
+        @Override
+        public Integer getElementAt(int index) {
+            return getYearAt(index);
+        }
+
+        /**
+         * getIndexOf, This returns the list index of the supplied year. The result is not
+         * checked against the range of the model.
+         */
+        int getIndexOf(int year) {
+            return year - firstYear;
+        }
+
+        @Override
+        public int getSize() {
+            return (lastYear - firstYear) + 1;
+        }
+
+        /**
+         * getYearAt, This returns the year at the supplied list index.
+         */
+        int getYearAt(int index) {
+            return firstYear + index;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.lgooddatepicker.policies;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * AvailabilitySource, This interface is implemented to supply availability data to a
+ * WindowedAvailabilityPolicy. A source is typically a wrapper around a booking service or a
+ * database, which returns the availability of a range of dates with a single request.
+ *
+ * The source is always called from a background thread, never from the Swing event dispatch
+ * thread. The source may be called from more than one thread, if the policy was given an executor
+ * that uses more than one thread.
+ */
+public interface AvailabilitySource {
+
+    /**
+     * loadUnavailableDates, Implement this function to load the availability of every date from
+     * the first date to the last date (inclusive). The result should have the bit at index n set,
+     * if the date (firstDate + n days) is not available. Unavailable dates will be vetoed.
+     *
+     * If the data cannot be loaded, this may throw any exception. The dates of a window that failed
+     * to load are vetoed, until the window is loaded again.
+     */
+    public BitSet loadUnavailableDates(LocalDate firstDate, LocalDate lastDate) throws Exception;
+
+}
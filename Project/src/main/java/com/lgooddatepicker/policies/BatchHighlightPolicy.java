@@ -0,0 +1,51 @@
+package com.lgooddatepicker.policies;
+
+import java.time.YearMonth;
+
+/**
+ * BatchHighlightPolicy, This is an optional extension of the HighlightPolicy interface. A
+ * highlight policy that can efficiently determine the highlight strings of all the dates in a
+ * month at once, may implement this interface. When the calendar panel draws a month, it will then
+ * ask the policy for the whole month with a single function call, instead of calling
+ * getHighlightStringOrNull() once for each date.
+ *
+ * A multi-month calendar panel asks for all the months that it needs to draw with a single call
+ * to getHighlightStringsOfMonths(). The default implementation of that function calls
+ * getHighlightStringsOfMonth() once for each month. A policy that can answer for a range of months
+ * more efficiently may override it.
+ *
+ * The results of getHighlightStringsOfMonth() and getHighlightStringsOfMonths() must always agree
+ * with the results of getHighlightStringOrNull().
+ */
+public interface BatchHighlightPolicy extends HighlightPolicy {
+
+    /**
+     * getHighlightStringsOfMonth, Implement this function to supply the highlight strings of the
+     * dates in the supplied month. The result must have one element for each day of the month.
+     * The element at index (dayOfMonth - 1) should hold the same value that
+     * getHighlightStringOrNull() would return for that date. (A tooltip text, an empty string, or
+     * null for a date that should not be highlighted.)
+     *
+     * Months that are passed to this function will never be null.
+     */
+    public String[] getHighlightStringsOfMonth(YearMonth yearMonth);
+
+    /**
+     * getHighlightStringsOfMonths, This returns the highlight strings of the supplied number of
+     * consecutive months, starting with the supplied first month. Element zero of the result holds
+     * the highlight strings of the first month, element one holds the highlight strings of the
+     * following month, and so on. See getHighlightStringsOfMonth() for the meaning of each array.
+     *
+     * The default implementation calls getHighlightStringsOfMonth() once for each month. The first
+     * month will never be null, and the month count will always be at least one.
+     */
+    public default String[][] getHighlightStringsOfMonths(YearMonth firstYearMonth,
+            int monthCount) {
+        String[][] result = new String[monthCount][];
+        for (int i = 0; i < monthCount; ++i) {
+            result[i] = getHighlightStringsOfMonth(firstYearMonth.plusMonths(i));
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.lgooddatepicker.policies;
+
+import java.time.YearMonth;
+
+/**
+ * BatchVetoPolicy, This is an optional extension of the VetoPolicy interface. A veto policy that
+ * can efficiently determine all the vetoed dates in a month at once, may implement this interface.
+ * When the calendar panel draws a month, it will then ask the policy for the whole month with a
+ * single function call, instead of calling isDateVetoed() once for each date.
+ *
+ * A multi-month calendar panel asks for all the months that it needs to draw with a single call
+ * to getVetoedDaysOfMonths(). The default implementation of that function calls
+ * getVetoedDaysOfMonth() once for each month. A policy that can answer for a range of months more
+ * efficiently (for example, by loading the data for the whole range at once) may override it.
+ *
+ * The results of getVetoedDaysOfMonth() and getVetoedDaysOfMonths() must always agree with the
+ * results of isDateVetoed().
+ */
+public interface BatchVetoPolicy extends VetoPolicy {
+
+    /**
+     * getVetoedDaysOfMonth, Implement this function to indicate which dates in the supplied month
+     * are vetoed. The result is a bit mask. The bit at position (dayOfMonth - 1) should be set if
+     * that day of the month is vetoed. For example, a return value of 1 would indicate that only
+     * the first day of the month is vetoed. Bits for days after the end of the month are ignored.
+     *
+     * Months that are passed to this function will never be null.
+     */
+    public int getVetoedDaysOfMonth(YearMonth yearMonth);
+
+    /**
+     * getVetoedDaysOfMonths, This returns the vetoed days of the supplied number of consecutive
+     * months, starting with the supplied first month. Element zero of the result holds the bit mask
+     * for the first month, element one holds the bit mask for the following month, and so on. See
+     * getVetoedDaysOfMonth() for the meaning of each bit mask.
+     *
+     * The default implementation calls getVetoedDaysOfMonth() once for each month. The first month
+     * will never be null, and the month count will always be at least one.
+     */
+    public default int[] getVetoedDaysOfMonths(YearMonth firstYearMonth, int monthCount) {
+        int[] result = new int[monthCount];
+        for (int i = 0; i < monthCount; ++i) {
+            result[i] = getVetoedDaysOfMonth(firstYearMonth.plusMonths(i));
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,436 @@
+package com.lgooddatepicker.policies;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+/**
+ * CompositePolicy, This is a built in policy that combines several veto policies and several
+ * highlight policies into a single policy. A date is vetoed if any of the veto policies vetoes it.
+ * A date is highlighted if any of the highlight policies highlights it.
+ *
+ * The child policies are evaluated one at a time, and the evaluation stops as soon as the result is
+ * known. (For example, as soon as one veto policy vetoes a date.) By default, the composite policy
+ * measures the average cost of each child policy, and how often each child policy decides the
+ * result. Every so often, the children are reordered so that the policies that are cheap and
+ * decisive are evaluated first. This means that an expensive policy (such as a capacity lookup) is
+ * only called for the dates that the cheaper policies (such as a weekend check) did not already
+ * decide.
+ *
+ * Pinned order: When the order is pinned, the children are always evaluated in the order that they
+ * were added. Pinning the order matters for highlight policies, because when more than one
+ * highlight policy highlights a date, the highlight text of the first one that is evaluated is
+ * used. Pin the order if the highlight text of the earlier policies should always take priority.
+ *
+ * Example usage:
+ * <pre>
+ * CompositePolicy policy = new CompositePolicy()
+ *         .addVetoPolicy(capacityPolicy)
+ *         .addVetoPolicy(weekendPolicy);
+ * datePickerSettings.vetoPolicy = policy;
+ * </pre>
+ *
+ * Thread safety: The children should be added before the policy is given to a date picker. The
+ * statistics are not synchronized, and are intended to be collected on the event dispatch thread.
+ */
+public class CompositePolicy implements BatchVetoPolicy, BatchHighlightPolicy {
+
+    /**
+     * reorderInterval, The children are reordered (if the order is not pinned) each time that this
+     * many dates have been checked by one group of children.
+     */
+    final static private int reorderInterval = 1024;
+
+    /**
+     * timingSampleInterval, Only one in this many calls to a child is timed. This keeps the cost of
+     * the measurement itself low.
+     */
+    final static private int timingSampleInterval = 8;
+
+    /**
+     * highlightChildren, This holds the highlight policies, in their current evaluation order.
+     */
+    private Child[] highlightChildren = new Child[0];
+
+    /**
+     * highlightChecksSinceReorder, This counts the dates that have been checked by the highlight
+     * policies since they were last reordered.
+     */
+    private int highlightChecksSinceReorder = 0;
+
+    /**
+     * orderPinned, This indicates if the children should always be evaluated in the order that they
+     * were added.
+     */
+    private boolean orderPinned = false;
+
+    /**
+     * vetoChildren, This holds the veto policies, in their current evaluation order.
+     */
+    private Child[] vetoChildren = new Child[0];
+
+    /**
+     * vetoChecksSinceReorder, This counts the dates that have been checked by the veto policies
+     * since they were last reordered.
+     */
+    private int vetoChecksSinceReorder = 0;
+
+    /**
+     * Constructor, This creates a composite policy without any child policies.
+     */
+    public CompositePolicy() {
+    }
+
+    /**
+     * addHighlightPolicy, This adds a highlight policy to this composite policy. This returns the
+     * composite policy, so that calls can be chained.
+     */
+    public CompositePolicy addHighlightPolicy(HighlightPolicy highlightPolicy) {
+        highlightChildren = addChild(highlightChildren, highlightPolicy);
+        return this;
+    }
+
+    /**
+     * addVetoPolicy, This adds a veto policy to this composite policy. This returns the composite
+     * policy, so that calls can be chained.
+     */
+    public CompositePolicy addVetoPolicy(VetoPolicy vetoPolicy) {
+        vetoChildren = addChild(vetoChildren, vetoPolicy);
+        return this;
+    }
+
+    /**
+     * addChild, This returns a copy of the supplied children array, with a new child for the
+     * supplied policy added at the end.
+     */
+    private static Child[] addChild(Child[] children, Object policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("The policy must not be null.");
+        }
+        Child[] result = Arrays.copyOf(children, children.length + 1);
+        result[children.length] = new Child(policy, children.length);
+        return result;
+    }
+
+    /**
+     * getHighlightStringOrNull, This returns the highlight text from the first highlight policy
+     * that highlights the supplied date, or null if no highlight policy highlights the date.
+     */
+    @Override
+    public String getHighlightStringOrNull(LocalDate date) {
+        Child[] children = highlightChildren;
+        String result = null;
+        for (Child child : children) {
+            boolean timed = child.startCall();
+            long startTime = timed ? System.nanoTime() : 0;
+            result = ((HighlightPolicy) child.policy).getHighlightStringOrNull(date);
+            child.endCall(timed, startTime, result != null);
+            if (result != null) {
+                break;
+            }
+        }
+        if (++highlightChecksSinceReorder >= reorderInterval) {
+            highlightChecksSinceReorder = 0;
+            highlightChildren = reorder(children);
+        }
+        return result;
+    }
+
+    /**
+     * getHighlightStringsOfMonth, This returns the highlight text of each date in the supplied
+     * month. See the BatchHighlightPolicy interface for details. Child policies that implement
+     * BatchHighlightPolicy are asked for the whole month at once. Other child policies are only
+     * asked about the days that have not already been highlighted by an earlier child. The
+     * evaluation stops as soon as every day of the month is highlighted.
+     *
+     * The statistics are recorded in the same way as for getVetoedDaysOfMonth().
+     */
+    @Override
+    public String[] getHighlightStringsOfMonth(YearMonth yearMonth) {
+        Child[] children = highlightChildren;
+        int lengthOfMonth = yearMonth.lengthOfMonth();
+        String[] result = new String[lengthOfMonth];
+        int undecidedDays = lengthOfMonth;
+        for (Child child : children) {
+            if (undecidedDays == 0) {
+                break;
+            }
+            if (child.policy instanceof BatchHighlightPolicy) {
+                long startTime = System.nanoTime();
+                String[] childResult = ((BatchHighlightPolicy) child.policy)
+                        .getHighlightStringsOfMonth(yearMonth);
+                long nanoseconds = System.nanoTime() - startTime;
+                int decidedDays = 0;
+                for (int day = 0; day < lengthOfMonth; ++day) {
+                    if (result[day] == null && childResult[day] != null) {
+                        result[day] = childResult[day];
+                        ++decidedDays;
+                    }
+                }
+                child.endBatchCall(nanoseconds, lengthOfMonth, decidedDays);
+                undecidedDays -= decidedDays;
+                continue;
+            }
+            HighlightPolicy highlightPolicy = (HighlightPolicy) child.policy;
+            for (int day = 1; day <= lengthOfMonth; ++day) {
+                if (result[day - 1] != null) {
+                    continue;
+                }
+                boolean timed = child.startCall();
+                long startTime = timed ? System.nanoTime() : 0;
+                String highlight = highlightPolicy.getHighlightStringOrNull(yearMonth.atDay(day));
+                child.endCall(timed, startTime, highlight != null);
+                if (highlight != null) {
+                    result[day - 1] = highlight;
+                    --undecidedDays;
+                }
+            }
+        }
+        highlightChecksSinceReorder += lengthOfMonth;
+        if (highlightChecksSinceReorder >= reorderInterval) {
+            highlightChecksSinceReorder = 0;
+            highlightChildren = reorder(children);
+        }
+        return result;
+    }
+
+    /**
+     * getEvaluationOrderDescription, This returns a description of the current evaluation order of
+     * the child policies, with the measured statistics of each child. This is intended to help with
+     * debugging and tuning.
+     */
+    public String getEvaluationOrderDescription() {
+        StringBuilder description = new StringBuilder();
+        description.append("Veto policies:\n");
+        for (Child child : vetoChildren) {
+            description.append("  ").append(child).append('\n');
+        }
+        description.append("Highlight policies:\n");
+        for (Child child : highlightChildren) {
+            description.append("  ").append(child).append('\n');
+        }
+        return description.toString();
+    }
+
+    /**
+     * getVetoedDaysOfMonth, This returns a bit mask of the vetoed days in the supplied month. See
+     * the BatchVetoPolicy interface for details. Child policies that implement BatchVetoPolicy are
+     * asked for the whole month at once. Other child policies are only asked about the days that
+     * have not already been vetoed by an earlier child. The evaluation stops as soon as every day
+     * of the month is vetoed.
+     *
+     * The statistics are recorded in the same way as for isDateVetoed(), so the calendar drawing
+     * (which uses this function) also drives the reordering. A batch call is always timed, and
+     * counts as one call for each day of the month. The days that it decides are the days that it
+     * vetoed, which had not already been vetoed by an earlier child.
+     */
+    @Override
+    public int getVetoedDaysOfMonth(YearMonth yearMonth) {
+        Child[] children = vetoChildren;
+        int lengthOfMonth = yearMonth.lengthOfMonth();
+        int allDaysMask = (lengthOfMonth >= 32) ? -1 : ((1 << lengthOfMonth) - 1);
+        int result = 0;
+        for (Child child : children) {
+            if (result == allDaysMask) {
+                break;
+            }
+            if (child.policy instanceof BatchVetoPolicy) {
+                long startTime = System.nanoTime();
+                int childMask = ((BatchVetoPolicy) child.policy).getVetoedDaysOfMonth(yearMonth)
+                        & allDaysMask;
+                child.endBatchCall(System.nanoTime() - startTime, lengthOfMonth,
+                        Integer.bitCount(childMask & ~result));
+                result |= childMask;
+                continue;
+            }
+            VetoPolicy vetoPolicy = (VetoPolicy) child.policy;
+            for (int day = 1; day <= lengthOfMonth; ++day) {
+                int dayBit = 1 << (day - 1);
+                if ((result & dayBit) != 0) {
+                    continue;
+                }
+                boolean timed = child.startCall();
+                long startTime = timed ? System.nanoTime() : 0;
+                boolean vetoed = vetoPolicy.isDateVetoed(yearMonth.atDay(day));
+                child.endCall(timed, startTime, vetoed);
+                if (vetoed) {
+                    result |= dayBit;
+                }
+            }
+        }
+        vetoChecksSinceReorder += lengthOfMonth;
+        if (vetoChecksSinceReorder >= reorderInterval) {
+            vetoChecksSinceReorder = 0;
+            vetoChildren = reorder(children);
+        }
+        return result;
+    }
+
+    /**
+     * isDateVetoed, This returns true if any of the veto policies vetoes the supplied date.
+     */
+    @Override
+    public boolean isDateVetoed(LocalDate date) {
+        Child[] children = vetoChildren;
+        boolean result = false;
+        for (Child child : children) {
+            boolean timed = child.startCall();
+            long startTime = timed ? System.nanoTime() : 0;
+            result = ((VetoPolicy) child.policy).isDateVetoed(date);
+            child.endCall(timed, startTime, result);
+            if (result) {
+                break;
+            }
+        }
+        if (++vetoChecksSinceReorder >= reorderInterval) {
+            vetoChecksSinceReorder = 0;
+            vetoChildren = reorder(children);
+        }
+        return result;
+    }
+
+    /**
+     * isEvaluationOrderPinned, This returns true if the children are always evaluated in the order
+     * that they were added.
+     */
+    public boolean isEvaluationOrderPinned() {
+        return orderPinned;
+    }
+
+    /**
+     * reorder, This returns the supplied children in the order that minimizes the expected cost of
+     * evaluation. If the order is pinned, this returns the children in the order that they were
+     * added.
+     *
+     * The evaluation stops at the first child that decides the result. If each child has an average
+     * cost c and a probability p of deciding the result, the expected total cost is minimized by
+     * sorting the children by the ratio c / p, from lowest to highest. Children that have never
+     * decided the result are placed last, ordered by their cost.
+     */
+    private Child[] reorder(Child[] children) {
+        Child[] result = children.clone();
+        if (orderPinned) {
+            Arrays.sort(result, (a, b) -> Integer.compare(a.addedIndex, b.addedIndex));
+            return result;
+        }
+        Arrays.sort(result, (a, b) -> {
+            int compare = Double.compare(a.getCostPerDecision(), b.getCostPerDecision());
+            if (compare == 0) {
+                compare = Double.compare(a.getAverageCost(), b.getAverageCost());
+            }
+            return (compare != 0) ? compare : Integer.compare(a.addedIndex, b.addedIndex);
+        });
+        return result;
+    }
+
+    /**
+     * setEvaluationOrderPinned, This sets whether the children should always be evaluated in the
+     * order that they were added. The default value is false. See the class documentation for
+     * details.
+     */
+    public void setEvaluationOrderPinned(boolean orderPinned) {
+        this.orderPinned = orderPinned;
+        vetoChildren = reorder(vetoChildren);
+        highlightChildren = reorder(highlightChildren);
+    }
+
+    /**
+     * Child, This holds a child policy, and the statistics that were measured for that policy.
+     */
+    private static final class Child {
+
+        /**
+         * addedIndex, This is the position of this child in the order that the children were added.
+         */
+        final int addedIndex;
+
+        /**
+         * callCount, This is the number of times that this child has been called.
+         */
+        long callCount = 0;
+
+        /**
+         * decisionCount, This is the number of calls that decided the result. (The number of calls
+         * that vetoed or highlighted a date.)
+         */
+        long decisionCount = 0;
+
+        /**
+         * policy, This is the child policy.
+         */
+        final Object policy;
+
+        /**
+         * timedCallCount, This is the number of calls that were timed.
+         */
+        long timedCallCount = 0;
+
+        /**
+         * timedNanoseconds, This is the total duration of the timed calls.
+         */
+        long timedNanoseconds = 0;
+
+        Child(Object policy, int addedIndex) {
+            this.policy = policy;
+            this.addedIndex = addedIndex;
+        }
+
+        /**
+         * endCall, This records the result of a call to this child.
+         */
+        void endCall(boolean timed, long startTime, boolean decided) {
+            if (timed) {
+                timedNanoseconds += System.nanoTime() - startTime;
+                ++timedCallCount;
+            }
+            if (decided) {
+                ++decisionCount;
+            }
+        }
+
+        /**
+         * endBatchCall, This records a timed batch call to this child, that checked the supplied
+         * number of days, and decided the result for the supplied number of days.
+         */
+        void endBatchCall(long nanoseconds, int checkedDays, int decidedDays) {
+            callCount += checkedDays;
+            timedCallCount += checkedDays;
+            timedNanoseconds += nanoseconds;
+            decisionCount += decidedDays;
+        }
+
+        /**
+         * getAverageCost, This returns the average measured duration of a call, in nanoseconds.
+         */
+        double getAverageCost() {
+            return (timedCallCount == 0) ? 0 : ((double) timedNanoseconds / timedCallCount);
+        }
+
+        /**
+         * getCostPerDecision, This returns the average cost of a call divided by the probability
+         * that a call decides the result. This is infinite if the child has never decided the
+         * result.
+         */
+        double getCostPerDecision() {
+            if (decisionCount == 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return getAverageCost() / ((double) decisionCount / callCount);
+        }
+
+        /**
+         * startCall, This counts a call to this child, and returns true if the call should be
+         * timed.
+         */
+        boolean startCall() {
+            return ((callCount++) % timingSampleInterval) == 0;
+        }
+
+        @Override
+        public String toString() {
+            return policy.getClass().getName() + ": calls=" + callCount
+                    + ", decisions=" + decisionCount
+                    + ", averageNanoseconds=" + Math.round(getAverageCost());
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package com.lgooddatepicker.policies;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DateBitmapVetoPolicy, This is a built in veto policy that stores a (possibly very large) set of
+ * vetoed dates in a compressed bitmap. This is intended for programmers who need to block a large
+ * number of individual dates, such as holidays, blackout periods, or fully booked days, across
+ * many years.
+ *
+ * The vetoed dates are stored in one small container for each year that contains some vetoed
+ * dates. Each container uses whichever of the following representations is the smallest: A sorted
+ * array of the vetoed days of the year (for years with few vetoed dates), a bitmap with one bit
+ * for each day of the year, or a sorted list of runs of consecutive vetoed days. The containers are
+ * held in a sorted map that is keyed by the year, so years without any vetoed dates take no memory,
+ * even when the vetoed dates are far apart in time. Consecutive years in which every day is vetoed
+ * are stored as a single range of years, so even addRange(LocalDate.MIN, LocalDate.MAX) takes a
+ * constant amount of memory and time. The lookup of a single date does not depend on the number of
+ * vetoed dates.
+ *
+ * Example usage:
+ * <pre>
+ * DateBitmapVetoPolicy vetoPolicy = new DateBitmapVetoPolicy();
+ * vetoPolicy.addDate(LocalDate.of(2016, Month.DECEMBER, 25));
+ * vetoPolicy.addRange(LocalDate.of(2016, Month.AUGUST, 1), LocalDate.of(2016, Month.AUGUST, 14));
+ * datePickerSettings.vetoPolicy = vetoPolicy;
+ * </pre>
+ *
+ * Thread safety: This class is not synchronized. If the vetoed dates will be changed after the
+ * policy has been given to a date picker, then the changes should be made on the Swing event
+ * dispatch thread.
+ */
+public class DateBitmapVetoPolicy implements BatchVetoPolicy {
+
+    /**
+     * containersByYear, This holds the container for each year that contains some (but not all)
+     * vetoed dates, keyed by the year. Years that do not contain any vetoed dates are not in this
+     * map, and neither are years in which every date is vetoed. (See fullYearRanges.)
+     */
+    private final TreeMap<Integer, YearContainer> containersByYear = new TreeMap<>();
+
+    /**
+     * fullYearRanges, This holds the ranges of consecutive years in which every date is vetoed.
+     * Each entry maps the first year of a range to the last year of the range (inclusive). The
+     * ranges never overlap or touch each other, and never contain a year that is in
+     * containersByYear.
+     */
+    private final TreeMap<Integer, Integer> fullYearRanges = new TreeMap<>();
+
+    /**
+     * Constructor, This creates a veto policy that does not veto any dates.
+     */
+    public DateBitmapVetoPolicy() {
+    }
+
+    /**
+     * addDate, This adds the supplied date to the set of vetoed dates.
+     */
+    public void addDate(LocalDate date) {
+        addRange(date, date);
+    }
+
+    /**
+     * addFullYears, This marks every year from the first year to the last year (inclusive) as a
+     * fully vetoed year, merging the range with any ranges that it overlaps or touches. Any
+     * containers of those years are removed.
+     */
+    private void addFullYears(int firstYear, int lastYear) {
+        containersByYear.subMap(firstYear, true, lastYear, true).clear();
+        Map.Entry<Integer, Integer> before = fullYearRanges.floorEntry(firstYear);
+        if (before != null && before.getValue() >= firstYear - 1) {
+            firstYear = before.getKey();
+            lastYear = Math.max(lastYear, before.getValue());
+        }
+        Map.Entry<Integer, Integer> after = fullYearRanges.floorEntry(lastYear + 1);
+        if (after != null && after.getValue() > lastYear) {
+            lastYear = after.getValue();
+        }
+        fullYearRanges.subMap(firstYear, true, lastYear + 1, true).clear();
+        fullYearRanges.put(firstYear, lastYear);
+    }
+
+    /**
+     * addRange, This adds every date from the first date to the last date (inclusive) to the set of
+     * vetoed dates. If the last date is before the first date, this does nothing.
+     */
+    public void addRange(LocalDate firstDate, LocalDate lastDate) {
+        changeRange(firstDate, lastDate, true);
+    }
+
+    /**
+     * changeRange, This adds or removes every date from the first date to the last date
+     * (inclusive). The years that are completely covered by the range are changed as a single
+     * range of years, so the cost does not depend on the number of years. A year that is only
+     * partly covered is decoded into a bitmap, changed, and then encoded again using the smallest
+     * container representation.
+     */
+    private void changeRange(LocalDate firstDate, LocalDate lastDate, boolean vetoed) {
+        if (firstDate == null || lastDate == null || lastDate.isBefore(firstDate)) {
+            return;
+        }
+        int firstYear = firstDate.getYear();
+        int lastYear = lastDate.getYear();
+        boolean firstYearCovered = firstDate.getDayOfYear() == 1;
+        boolean lastYearCovered = lastDate.getDayOfYear() == lastDate.lengthOfYear();
+        if (firstYear == lastYear && !(firstYearCovered && lastYearCovered)) {
+            changeYear(firstYear, firstDate.getDayOfYear() - 1, lastDate.getDayOfYear() - 1,
+                    vetoed);
+            return;
+        }
+        if (!firstYearCovered) {
+            changeYear(firstYear, firstDate.getDayOfYear() - 1, firstDate.lengthOfYear() - 1,
+                    vetoed);
+        }
+        if (!lastYearCovered) {
+            changeYear(lastYear, 0, lastDate.getDayOfYear() - 1, vetoed);
+        }
+        int firstCoveredYear = firstYearCovered ? firstYear : firstYear + 1;
+        int lastCoveredYear = lastYearCovered ? lastYear : lastYear - 1;
+        if (firstCoveredYear > lastCoveredYear) {
+            return;
+        }
+        if (vetoed) {
+            addFullYears(firstCoveredYear, lastCoveredYear);
+        } else {
+            removeFullYears(firstCoveredYear, lastCoveredYear);
+            containersByYear.subMap(firstCoveredYear, true, lastCoveredYear, true).clear();
+        }
+    }
+
+    /**
+     * changeYear, This adds or removes every day from the first day index to the last day index
+     * (inclusive) of the supplied year. The year is decoded into a bitmap, changed, and then stored
+     * again as a partial year, as a fully vetoed year, or not at all.
+     */
+    private void changeYear(int year, int firstDayIndex, int lastDayIndex, boolean vetoed) {
+        YearContainer container = getContainerOrNull(year);
+        if (container == null && !vetoed) {
+            return;
+        }
+        int lengthOfYear = Year.isLeap(year) ? 366 : 365;
+        long[] bits = (container == null) ? new long[6] : container.toBitmap(lengthOfYear);
+        setBits(bits, firstDayIndex, lastDayIndex, vetoed);
+        YearContainer newContainer = YearContainer.fromBitmap(bits, lengthOfYear);
+        if (newContainer != null && newContainer.kind == YearContainer.kindFull) {
+            addFullYears(year, year);
+            return;
+        }
+        removeFullYears(year, year);
+        if (newContainer == null) {
+            containersByYear.remove(year);
+        } else {
+            containersByYear.put(year, newContainer);
+        }
+    }
+
+    /**
+     * clear, This removes all the vetoed dates.
+     */
+    public void clear() {
+        containersByYear.clear();
+        fullYearRanges.clear();
+    }
+
+    /**
+     * getContainerOrNull, This returns the container for the supplied year (which is one of the
+     * shared full containers for a fully vetoed year), or null if the year does not contain any
+     * vetoed dates.
+     */
+    private YearContainer getContainerOrNull(int year) {
+        YearContainer container = containersByYear.get(year);
+        if (container != null || fullYearRanges.isEmpty()) {
+            return container;
+        }
+        Map.Entry<Integer, Integer> range = fullYearRanges.floorEntry(year);
+        if (range == null || range.getValue() < year) {
+            return null;
+        }
+        return Year.isLeap(year) ? YearContainer.fullYear366 : YearContainer.fullYear365;
+    }
+
+    /**
+     * getVetoedDateCount, This returns the total number of vetoed dates.
+     */
+    public long getVetoedDateCount() {
+        long count = 0;
+        for (YearContainer container : containersByYear.values()) {
+            count += container.cardinality;
+        }
+        for (Map.Entry<Integer, Integer> range : fullYearRanges.entrySet()) {
+            count += LocalDate.of(range.getValue(), 12, 31).toEpochDay()
+                    - LocalDate.of(range.getKey(), 1, 1).toEpochDay() + 1;
+        }
+        return count;
+    }
+
+    /**
+     * getVetoedDaysOfMonth, This returns a bit mask of the vetoed days in the supplied month. The
+     * bit at position (dayOfMonth - 1) is set if that day is vetoed. See the BatchVetoPolicy
+     * interface for details.
+     */
+    @Override
+    public int getVetoedDaysOfMonth(YearMonth yearMonth) {
+        YearContainer container = getContainerOrNull(yearMonth.getYear());
+        if (container == null) {
+            return 0;
+        }
+        int firstDayIndex = yearMonth.atDay(1).getDayOfYear() - 1;
+        return container.getBits(firstDayIndex, yearMonth.lengthOfMonth());
+    }
+
+    /**
+     * isDateVetoed, This returns true if the supplied date is in the set of vetoed dates.
+     */
+    @Override
+    public boolean isDateVetoed(LocalDate date) {
+        YearContainer container = getContainerOrNull(date.getYear());
+        return (container != null) && container.contains(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * removeDate, This removes the supplied date from the set of vetoed dates.
+     */
+    public void removeDate(LocalDate date) {
+        removeRange(date, date);
+    }
+
+    /**
+     * removeFullYears, This removes every year from the first year to the last year (inclusive)
+     * from the ranges of fully vetoed years, splitting any range that extends past either end.
+     */
+    private void removeFullYears(int firstYear, int lastYear) {
+        if (fullYearRanges.isEmpty()) {
+            return;
+        }
+        Map.Entry<Integer, Integer> before = fullYearRanges.floorEntry(firstYear);
+        if (before != null && before.getValue() >= firstYear) {
+            fullYearRanges.put(before.getKey(), firstYear - 1);
+            if (before.getKey() == firstYear) {
+                fullYearRanges.remove(firstYear);
+            }
+            if (before.getValue() > lastYear) {
+                fullYearRanges.put(lastYear + 1, before.getValue());
+                return;
+            }
+        }
+        Map.Entry<Integer, Integer> after = fullYearRanges.floorEntry(lastYear);
+        if (after != null && after.getKey() >= firstYear && after.getValue() > lastYear) {
+            fullYearRanges.put(lastYear + 1, after.getValue());
+        }
+        fullYearRanges.subMap(firstYear, true, lastYear, true).clear();
+    }
+
+    /**
+     * removeRange, This removes every date from the first date to the last date (inclusive) from
+     * the set of vetoed dates. If the last date is before the first date, this does nothing.
+     */
+    public void removeRange(LocalDate firstDate, LocalDate lastDate) {
+        changeRange(firstDate, lastDate, false);
+    }
+
+    /**
+     * setBits, This sets or clears every bit from the first bit to the last bit (inclusive) in the
+     * supplied bitmap.
+     */
+    private static void setBits(long[] bits, int firstBit, int lastBit, boolean value) {
+        int firstWord = firstBit >>> 6;
+        int lastWord = lastBit >>> 6;
+        for (int word = firstWord; word <= lastWord; ++word) {
+            long mask = -1L;
+            if (word == firstWord) {
+                mask &= (-1L << (firstBit & 63));
+            }
+            if (word == lastWord) {
+                mask &= (-1L >>> (63 - (lastBit & 63)));
+            }
+            bits[word] = value ? (bits[word] | mask) : (bits[word] & ~mask);
+        }
+    }
+
+    /**
+     * YearContainer, This is an immutable container for the vetoed days of a single year. The days
+     * of the year are numbered from 0 to 365. See the DateBitmapVetoPolicy class documentation for
+     * a description of the available representations.
+     */
+    private static final class YearContainer {
+
+        /**
+         * kindArray, This indicates a container that stores a sorted array of vetoed day indexes.
+         */
+        static final byte kindArray = 0;
+
+        /**
+         * kindBitmap, This indicates a container that stores one bit for every day of the year.
+         */
+        static final byte kindBitmap = 1;
+
+        /**
+         * kindRuns, This indicates a container that stores a sorted list of runs of consecutive
+         * vetoed days. Each run is stored as a first day index followed by a last day index.
+         */
+        static final byte kindRuns = 2;
+
+        /**
+         * kindFull, This indicates a container for a year in which every day is vetoed.
+         */
+        static final byte kindFull = 3;
+
+        /**
+         * fullYear365, This is the shared container for regular years in which every day is vetoed.
+         */
+        static final YearContainer fullYear365 = new YearContainer(kindFull, null, null, 365);
+
+        /**
+         * fullYear366, This is the shared container for leap years in which every day is vetoed.
+         */
+        static final YearContainer fullYear366 = new YearContainer(kindFull, null, null, 366);
+
+        /**
+         * bitmapSizeInBytes, This is the size of the data in a bitmap container. (Six longs.)
+         */
+        static final int bitmapSizeInBytes = 48;
+
+        /**
+         * bits, This holds the bitmap for bitmap containers. This is null for other containers.
+         */
+        final long[] bits;
+
+        /**
+         * cardinality, This is the number of vetoed days in this container.
+         */
+        final int cardinality;
+
+        /**
+         * kind, This indicates the representation that is used by this container.
+         */
+        final byte kind;
+
+        /**
+         * values, This holds the sorted day indexes for array containers, or the runs for run
+         * containers. This is null for other containers.
+         */
+        final short[] values;
+
+        private YearContainer(byte kind, long[] bits, short[] values, int cardinality) {
+            this.kind = kind;
+            this.bits = bits;
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * contains, This returns true if the supplied day of the year is vetoed.
+         */
+        boolean contains(int dayIndex) {
+            switch (kind) {
+                case kindBitmap:
+                    return (bits[dayIndex >>> 6] & (1L << (dayIndex & 63))) != 0;
+                case kindArray:
+                    return Arrays.binarySearch(values, (short) dayIndex) >= 0;
+                case kindRuns:
+                    int runIndex = findRunIndex(dayIndex);
+                    return (runIndex >= 0) && (dayIndex <= values[(runIndex * 2) + 1]);
+                default:
+                    return dayIndex < cardinality;
+            }
+        }
+
+        /**
+         * findRunIndex, This returns the index of the last run that starts on or before the
+         * supplied day, or -1 if there is no such run.
+         */
+        private int findRunIndex(int dayIndex) {
+            int low = 0;
+            int high = (values.length / 2) - 1;
+            int result = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle * 2] <= dayIndex) {
+                    result = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * fromBitmap, This creates a container from the supplied bitmap, using the representation
+         * that needs the least memory. This returns null if the bitmap is empty.
+         */
+        static YearContainer fromBitmap(long[] bits, int lengthOfYear) {
+            int cardinality = 0;
+            int runCount = 0;
+            long previousWordHighBit = 0;
+            for (long word : bits) {
+                cardinality += Long.bitCount(word);
+                // A run starts at every set bit whose preceding bit is clear.
+                runCount += Long.bitCount(word & ~((word << 1) | previousWordHighBit));
+                previousWordHighBit = word >>> 63;
+            }
+            if (cardinality == 0) {
+                return null;
+            }
+            if (cardinality == lengthOfYear) {
+                return (lengthOfYear == 366) ? fullYear366 : fullYear365;
+            }
+            int arraySizeInBytes = cardinality * 2;
+            int runsSizeInBytes = runCount * 4;
+            if (runsSizeInBytes < arraySizeInBytes && runsSizeInBytes < bitmapSizeInBytes) {
+                short[] runs = new short[runCount * 2];
+                int runIndex = 0;
+                int dayIndex = nextSetBit(bits, 0);
+                while (dayIndex >= 0) {
+                    int lastDayIndex = nextClearBit(bits, dayIndex) - 1;
+                    runs[runIndex++] = (short) dayIndex;
+                    runs[runIndex++] = (short) lastDayIndex;
+                    dayIndex = nextSetBit(bits, lastDayIndex + 1);
+                }
+                return new YearContainer(kindRuns, null, runs, cardinality);
+            }
+            if (arraySizeInBytes < bitmapSizeInBytes) {
+                short[] days = new short[cardinality];
+                int arrayIndex = 0;
+                for (int dayIndex = nextSetBit(bits, 0); dayIndex >= 0;
+                        dayIndex = nextSetBit(bits, dayIndex + 1)) {
+                    days[arrayIndex++] = (short) dayIndex;
+                }
+                return new YearContainer(kindArray, null, days, cardinality);
+            }
+            return new YearContainer(kindBitmap, bits.clone(), null, cardinality);
+        }
+
+        /**
+         * getBits, This returns the vetoed state of up to 32 consecutive days, starting with the
+         * first day index, as a bit mask.
+         */
+        int getBits(int firstDayIndex, int dayCount) {
+            int lastDayIndex = firstDayIndex + dayCount - 1;
+            int result = 0;
+            switch (kind) {
+                case kindBitmap:
+                    for (int dayIndex = firstDayIndex; dayIndex <= lastDayIndex; ++dayIndex) {
+                        if ((bits[dayIndex >>> 6] & (1L << (dayIndex & 63))) != 0) {
+                            result |= 1 << (dayIndex - firstDayIndex);
+                        }
+                    }
+                    return result;
+                case kindArray:
+                    int arrayIndex = Arrays.binarySearch(values, (short) firstDayIndex);
+                    arrayIndex = (arrayIndex < 0) ? (-arrayIndex - 1) : arrayIndex;
+                    while (arrayIndex < values.length && values[arrayIndex] <= lastDayIndex) {
+                        result |= 1 << (values[arrayIndex] - firstDayIndex);
+                        ++arrayIndex;
+                    }
+                    return result;
+                case kindRuns:
+                    int runIndex = Math.max(0, findRunIndex(firstDayIndex));
+                    for (; (runIndex * 2) < values.length; ++runIndex) {
+                        int runFirst = Math.max(values[runIndex * 2], firstDayIndex);
+                        int runLast = Math.min(values[(runIndex * 2) + 1], lastDayIndex);
+                        if (runFirst > lastDayIndex) {
+                            break;
+                        }
+                        for (int dayIndex = runFirst; dayIndex <= runLast; ++dayIndex) {
+                            result |= 1 << (dayIndex - firstDayIndex);
+                        }
+                    }
+                    return result;
+                default:
+                    return (dayCount >= 32) ? -1 : ((1 << dayCount) - 1);
+            }
+        }
+
+        private static int nextClearBit(long[] bits, int fromIndex) {
+            while (fromIndex < (bits.length * 64)
+                    && (bits[fromIndex >>> 6] & (1L << (fromIndex & 63))) != 0) {
+                ++fromIndex;
+            }
+            return fromIndex;
+        }
+
+        private static int nextSetBit(long[] bits, int fromIndex) {
+            int wordIndex = fromIndex >>> 6;
+            if (wordIndex >= bits.length) {
+                return -1;
+            }
+            long word = bits[wordIndex] & (-1L << (fromIndex & 63));
+            while (true) {
+                if (word != 0) {
+                    return (wordIndex * 64) + Long.numberOfTrailingZeros(word);
+                }
+                if (++wordIndex == bits.length) {
+                    return -1;
+                }
+                word = bits[wordIndex];
+            }
+        }
+
+        /**
+         * toBitmap, This returns a new bitmap that holds the vetoed days of this container.
+         */
+        long[] toBitmap(int lengthOfYear) {
+            long[] result = new long[6];
+            switch (kind) {
+                case kindBitmap:
+                    System.arraycopy(bits, 0, result, 0, 6);
+                    break;
+                case kindArray:
+                    for (short dayIndex : values) {
+                        result[dayIndex >>> 6] |= (1L << (dayIndex & 63));
+                    }
+                    break;
+                case kindRuns:
+                    for (int i = 0; i < values.length; i += 2) {
+                        setBits(result, values[i], values[i + 1], true);
+                    }
+                    break;
+                default:
+                    setBits(result, 0, lengthOfYear - 1, true);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.lgooddatepicker.policies;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DateRangeVetoPolicy, This is a built in veto policy that vetoes one or more ranges of dates. This
+ * is intended for vetoes that are naturally expressed as ranges, such as maintenance windows or
+ * seasonal closures, without expanding each range into individual dates.
+ *
+ * The ranges are merged (overlapping and adjacent ranges are combined) and stored in sorted arrays
+ * of epoch days. Checking a single date uses a binary search. Finding the vetoed days of a month
+ * takes a binary search plus one step for each range that overlaps the month.
+ *
+ * Example usage:
+ * <pre>
+ * DateRangeVetoPolicy vetoPolicy = new DateRangeVetoPolicy();
+ * vetoPolicy.setVetoedRanges(Arrays.asList(
+ *         new DateRangeVetoPolicy.Range(LocalDate.of(2016, 7, 1), LocalDate.of(2016, 7, 15)),
+ *         new DateRangeVetoPolicy.Range(LocalDate.of(2016, 12, 24), LocalDate.of(2017, 1, 2))));
+ * datePickerSettings.vetoPolicy = vetoPolicy;
+ * </pre>
+ *
+ * Thread safety: The ranges are held in an immutable snapshot. The function setVetoedRanges()
+ * builds a complete new snapshot and then replaces the old one with a single assignment. This means
+ * that a background thread may replace the ranges at any time, without any locking, and the event
+ * dispatch thread will always see either the complete old set of ranges or the complete new set.
+ */
+public class DateRangeVetoPolicy implements BatchVetoPolicy {
+
+    /**
+     * snapshot, This holds the current set of merged ranges. This reference is replaced (never
+     * modified) when the ranges are changed.
+     */
+    private volatile Snapshot snapshot = Snapshot.empty;
+
+    /**
+     * Constructor, This creates a veto policy that does not veto any dates.
+     */
+    public DateRangeVetoPolicy() {
+    }
+
+    /**
+     * Constructor, This creates a veto policy that vetoes the supplied ranges.
+     */
+    public DateRangeVetoPolicy(Collection<Range> vetoedRanges) {
+        setVetoedRanges(vetoedRanges);
+    }
+
+    /**
+     * getVetoedDaysOfMonth, This returns a bit mask of the vetoed days in the supplied month. The
+     * bit at position (dayOfMonth - 1) is set if that day is vetoed. See the BatchVetoPolicy
+     * interface for details.
+     */
+    @Override
+    public int getVetoedDaysOfMonth(YearMonth yearMonth) {
+        Snapshot current = snapshot;
+        long firstDayOfMonth = yearMonth.atDay(1).toEpochDay();
+        long lastDayOfMonth = firstDayOfMonth + yearMonth.lengthOfMonth() - 1;
+        int result = 0;
+        int rangeIndex = Math.max(0, current.findRangeIndex(firstDayOfMonth));
+        for (; rangeIndex < current.firstDays.length; ++rangeIndex) {
+            long overlapFirst = Math.max(current.firstDays[rangeIndex], firstDayOfMonth);
+            long overlapLast = Math.min(current.lastDays[rangeIndex], lastDayOfMonth);
+            if (overlapFirst > lastDayOfMonth) {
+                break;
+            }
+            if (overlapFirst > overlapLast) {
+                continue;
+            }
+            int firstBit = (int) (overlapFirst - firstDayOfMonth);
+            int bitCount = (int) (overlapLast - overlapFirst) + 1;
+            int mask = (bitCount >= 32) ? -1 : ((1 << bitCount) - 1);
+            result |= (mask << firstBit);
+        }
+        return result;
+    }
+
+    /**
+     * getVetoedRanges, This returns the current (merged) list of vetoed ranges, in ascending order.
+     * The returned list cannot be modified.
+     */
+    public List<Range> getVetoedRanges() {
+        Snapshot current = snapshot;
+        ArrayList<Range> ranges = new ArrayList<>(current.firstDays.length);
+        for (int i = 0; i < current.firstDays.length; ++i) {
+            ranges.add(new Range(LocalDate.ofEpochDay(current.firstDays[i]),
+                    LocalDate.ofEpochDay(current.lastDays[i])));
+        }
+        return Collections.unmodifiableList(ranges);
+    }
+
+    /**
+     * isDateVetoed, This returns true if the supplied date is inside any of the vetoed ranges.
+     */
+    @Override
+    public boolean isDateVetoed(LocalDate date) {
+        Snapshot current = snapshot;
+        long epochDay = date.toEpochDay();
+        int rangeIndex = current.findRangeIndex(epochDay);
+        return (rangeIndex >= 0) && (epochDay <= current.lastDays[rangeIndex]);
+    }
+
+    /**
+     * setVetoedRanges, This replaces all the vetoed ranges with the supplied ranges. The supplied
+     * ranges may be in any order, and may overlap. This function may be called from any thread.
+     * See the class documentation for details.
+     */
+    public void setVetoedRanges(Collection<Range> vetoedRanges) {
+        snapshot = Snapshot.fromRanges(vetoedRanges);
+    }
+
+    /**
+     * Range, This is an immutable range of dates. Both the first date and the last date are
+     * included in the range.
+     */
+    public static final class Range {
+
+        /**
+         * firstDate, This is the first date in the range.
+         */
+        public final LocalDate firstDate;
+
+        /**
+         * lastDate, This is the last date in the range.
+         */
+        public final LocalDate lastDate;
+
+        /**
+         * Constructor, This creates a range from the first date to the last date (inclusive). The
+         * dates must not be null, and the last date must not be before the first date.
+         */
+        public Range(LocalDate firstDate, LocalDate lastDate) {
+            if (firstDate == null || lastDate == null) {
+                throw new IllegalArgumentException("The range dates must not be null.");
+            }
+            if (lastDate.isBefore(firstDate)) {
+                throw new IllegalArgumentException(
+                        "The last date of a range must not be before the first date.");
+            }
+            this.firstDate = firstDate;
+            this.lastDate = lastDate;
+        }
+
+        @Override
+        public String toString() {
+            return firstDate + " to " + lastDate;
+        }
+    }
+
+    /**
+     * Snapshot, This is an immutable set of merged ranges. The ranges do not overlap, are not
+     * adjacent, and are sorted in ascending order.
+     */
+    private static final class Snapshot {
+
+        /**
+         * empty, This is the snapshot that contains no ranges.
+         */
+        static final Snapshot empty = new Snapshot(new long[0], new long[0]);
+
+        /**
+         * firstDays, This holds the epoch day of the first date of each range.
+         */
+        final long[] firstDays;
+
+        /**
+         * lastDays, This holds the epoch day of the last date of each range.
+         */
+        final long[] lastDays;
+
+        private Snapshot(long[] firstDays, long[] lastDays) {
+            this.firstDays = firstDays;
+            this.lastDays = lastDays;
+        }
+
+        /**
+         * findRangeIndex, This returns the index of the last range that starts on or before the
+         * supplied epoch day, or -1 if there is no such range.
+         */
+        int findRangeIndex(long epochDay) {
+            int index = Arrays.binarySearch(firstDays, epochDay);
+            return (index >= 0) ? index : (-index - 2);
+        }
+
+        /**
+         * fromRanges, This sorts and merges the supplied ranges into a new snapshot.
+         */
+        static Snapshot fromRanges(Collection<Range> ranges) {
+            if (ranges == null || ranges.isEmpty()) {
+                return empty;
+            }
+            // Convert the ranges to epoch days, and sort an index array by the first day of each
+            // range.
+            int count = ranges.size();
+            long[] unsortedFirstDays = new long[count];
+            long[] unsortedLastDays = new long[count];
+            Integer[] order = new Integer[count];
+            int i = 0;
+            for (Range range : ranges) {
+                unsortedFirstDays[i] = range.firstDate.toEpochDay();
+                unsortedLastDays[i] = range.lastDate.toEpochDay();
+                order[i] = i;
+                ++i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(unsortedFirstDays[a], unsortedFirstDays[b]));
+            // Merge any overlapping or adjacent ranges.
+            long[] firstDays = new long[count];
+            long[] lastDays = new long[count];
+            int mergedCount = 0;
+            for (Integer index : order) {
+                long first = unsortedFirstDays[index];
+                long last = unsortedLastDays[index];
+                if (mergedCount > 0 && first <= lastDays[mergedCount - 1] + 1) {
+                    lastDays[mergedCount - 1] = Math.max(lastDays[mergedCount - 1], last);
+                } else {
+                    firstDays[mergedCount] = first;
+                    lastDays[mergedCount] = last;
+                    ++mergedCount;
+                }
+            }
+            return new Snapshot(Arrays.copyOf(firstDays, mergedCount),
+                    Arrays.copyOf(lastDays, mergedCount));
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.lgooddatepicker.policies;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * HighlightLabelStore, This is a built in highlight policy that stores a highlight text (label) for
+ * any number of individual dates, using very little memory.
+ *
+ * Each distinct label is stored only once, in a label dictionary. For each date, the store only
+ * keeps a small number (a label code) in a primitive array that is indexed by the epoch day of the
+ * date. This means that thousands of dates with repeated labels (such as "Public holiday" or "Fully
+ * booked") cost two bytes per date, instead of an object reference (and often a duplicate string)
+ * per date. Looking up the label of a date is an array lookup.
+ *
+ * The array covers the range from the earliest labeled date to the latest labeled date, and grows
+ * as needed when dates outside of that range are labeled. A store can hold up to 65535 distinct
+ * labels. Labels are never removed from the dictionary, except by clear().
+ *
+ * Example usage:
+ * <pre>
+ * HighlightLabelStore labels = new HighlightLabelStore();
+ * labels.setLabel(LocalDate.of(2016, 12, 25), "Public holiday");
+ * labels.setLabel(LocalDate.of(2016, 12, 26), "Public holiday");
+ * datePickerSettings.highlightPolicy = labels;
+ * </pre>
+ *
+ * Thread safety: The store should be filled before it is given to a date picker, or it should only
+ * be modified on the event dispatch thread.
+ */
+public class HighlightLabelStore implements BatchHighlightPolicy {
+
+    /**
+     * maximumLabelCount, This is the maximum number of distinct labels in a store.
+     */
+    final static private int maximumLabelCount = 0xFFFF;
+
+    /**
+     * minimumGrowth, When the code array grows, it grows by at least this many days.
+     */
+    final static private int minimumGrowth = 64;
+
+    /**
+     * codes, This holds the label code of each date, starting with the date at firstEpochDay. The
+     * values are unsigned. A code of zero means that the date has no label. A code of n means that
+     * the date has the label at index n - 1 in the label dictionary.
+     */
+    private short[] codes = new short[0];
+
+    /**
+     * dateCount, This is the number of dates that currently have a label.
+     */
+    private int dateCount = 0;
+
+    /**
+     * firstEpochDay, This is the epoch day of the first element in the codes array.
+     */
+    private long firstEpochDay = 0;
+
+    /**
+     * labelCodes, This holds the label code of each label in the dictionary.
+     */
+    private final HashMap<String, Integer> labelCodes = new HashMap<>();
+
+    /**
+     * labels, This is the label dictionary. The label with code n is stored at index n - 1.
+     */
+    private final ArrayList<String> labels = new ArrayList<>();
+
+    /**
+     * Constructor, This creates a store that does not contain any labels.
+     */
+    public HighlightLabelStore() {
+    }
+
+    /**
+     * clear, This removes the label of every date, and empties the label dictionary.
+     */
+    public void clear() {
+        codes = new short[0];
+        firstEpochDay = 0;
+        dateCount = 0;
+        labels.clear();
+        labelCodes.clear();
+    }
+
+    /**
+     * ensureCapacity, This grows the codes array (if needed) so that it includes the supplied range
+     * of epoch days.
+     */
+    private void ensureCapacity(long firstNeededEpochDay, long lastNeededEpochDay) {
+        if (codes.length == 0) {
+            long size = (lastNeededEpochDay - firstNeededEpochDay) + 1;
+            codes = new short[toArraySize(size)];
+            firstEpochDay = firstNeededEpochDay;
+            return;
+        }
+        long lastEpochDay = firstEpochDay + codes.length - 1;
+        if (firstNeededEpochDay >= firstEpochDay && lastNeededEpochDay <= lastEpochDay) {
+            return;
+        }
+        // Grow in the needed direction, by at least half of the current size.
+        long growth = Math.max(minimumGrowth, codes.length / 2);
+        long newFirstEpochDay = firstEpochDay;
+        if (firstNeededEpochDay < firstEpochDay) {
+            newFirstEpochDay = Math.min(firstNeededEpochDay, firstEpochDay - growth);
+        }
+        long newLastEpochDay = lastEpochDay;
+        if (lastNeededEpochDay > lastEpochDay) {
+            newLastEpochDay = Math.max(lastNeededEpochDay, lastEpochDay + growth);
+        }
+        short[] newCodes = new short[toArraySize((newLastEpochDay - newFirstEpochDay) + 1)];
+        System.arraycopy(codes, 0, newCodes, (int) (firstEpochDay - newFirstEpochDay), codes.length);
+        codes = newCodes;
+        firstEpochDay = newFirstEpochDay;
+    }
+
+    /**
+     * getCode, This returns the label code of the supplied epoch day, or zero if the day has no
+     * label.
+     */
+    private int getCode(long epochDay) {
+        long index = epochDay - firstEpochDay;
+        if (index < 0 || index >= codes.length) {
+            return 0;
+        }
+        return codes[(int) index] & 0xFFFF;
+    }
+
+    /**
+     * getDateCount, This returns the number of dates that currently have a label.
+     */
+    public int getDateCount() {
+        return dateCount;
+    }
+
+    /**
+     * getDistinctLabelCount, This returns the number of labels in the label dictionary.
+     */
+    public int getDistinctLabelCount() {
+        return labels.size();
+    }
+
+    /**
+     * getHighlightStringOrNull, This returns the label of the supplied date, or null if the date
+     * does not have a label.
+     */
+    @Override
+    public String getHighlightStringOrNull(LocalDate date) {
+        int code = getCode(date.toEpochDay());
+        return (code == 0) ? null : labels.get(code - 1);
+    }
+
+    /**
+     * getHighlightStringsOfMonth, This returns the label of each date in the supplied month, or
+     * null for the dates that do not have a label. See the BatchHighlightPolicy interface for
+     * details.
+     */
+    @Override
+    public String[] getHighlightStringsOfMonth(YearMonth yearMonth) {
+        String[] result = new String[yearMonth.lengthOfMonth()];
+        long firstDayOfMonth = yearMonth.atDay(1).toEpochDay();
+        for (int day = 0; day < result.length; ++day) {
+            int code = getCode(firstDayOfMonth + day);
+            result[day] = (code == 0) ? null : labels.get(code - 1);
+        }
+        return result;
+    }
+
+    /**
+     * getOrAddLabelCode, This returns the code of the supplied label, adding the label to the
+     * dictionary if needed.
+     */
+    private int getOrAddLabelCode(String label) {
+        Integer code = labelCodes.get(label);
+        if (code == null) {
+            if (labels.size() >= maximumLabelCount) {
+                throw new IllegalStateException("A store cannot have more than "
+                        + maximumLabelCount + " distinct labels.");
+            }
+            labels.add(label);
+            code = labels.size();
+            labelCodes.put(label, code);
+        }
+        return code;
+    }
+
+    /**
+     * hasLabel, This returns true if the supplied date has a label.
+     */
+    public boolean hasLabel(LocalDate date) {
+        return getCode(date.toEpochDay()) != 0;
+    }
+
+    /**
+     * removeLabel, This removes the label of the supplied date, if it has one.
+     */
+    public void removeLabel(LocalDate date) {
+        setLabel(date, date, null);
+    }
+
+    /**
+     * setLabel, This sets the label of the supplied date. If the label is null, the label of the
+     * date is removed. An empty label highlights the date without a tooltip.
+     */
+    public void setLabel(LocalDate date, String label) {
+        setLabel(date, date, label);
+    }
+
+    /**
+     * setLabel, This sets the label of every date from the first date to the last date (inclusive).
+     * If the label is null, the labels of those dates are removed.
+     */
+    public void setLabel(LocalDate firstDate, LocalDate lastDate, String label) {
+        if (firstDate == null || lastDate == null) {
+            throw new IllegalArgumentException("The dates must not be null.");
+        }
+        if (lastDate.isBefore(firstDate)) {
+            throw new IllegalArgumentException("The last date must not be before the first date.");
+        }
+        long firstDay = firstDate.toEpochDay();
+        long lastDay = lastDate.toEpochDay();
+        short code = 0;
+        if (label != null) {
+            code = (short) getOrAddLabelCode(label);
+            ensureCapacity(firstDay, lastDay);
+        } else {
+            // Removing labels never needs to grow the array.
+            firstDay = Math.max(firstDay, firstEpochDay);
+            lastDay = Math.min(lastDay, firstEpochDay + codes.length - 1);
+        }
+        for (long epochDay = firstDay; epochDay <= lastDay; ++epochDay) {
+            int index = (int) (epochDay - firstEpochDay);
+            boolean hadLabel = (codes[index] != 0);
+            codes[index] = code;
+            if (hadLabel && code == 0) {
+                --dateCount;
+            } else if (!hadLabel && code != 0) {
+                ++dateCount;
+            }
+        }
+    }
+
+    /**
+     * toArraySize, This checks that the supplied number of days can be stored in a single array,
+     * and returns it as an int.
+     */
+    private static int toArraySize(long size) {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("The range of labeled dates is too large.");
+        }
+        return (int) size;
+    }
+
+    /**
+     * trimToSize, This reduces the code array to the range from the earliest labeled date to the
+     * latest labeled date. This can be called after a store has been filled, to release the unused
+     * space that was reserved while it grew.
+     */
+    public void trimToSize() {
+        int first = 0;
+        while (first < codes.length && codes[first] == 0) {
+            ++first;
+        }
+        if (first == codes.length) {
+            codes = new short[0];
+            firstEpochDay = 0;
+            return;
+        }
+        int last = codes.length - 1;
+        while (codes[last] == 0) {
+            --last;
+        }
+        codes = Arrays.copyOfRange(codes, first, last + 1);
+        firstEpochDay += first;
+    }
+}
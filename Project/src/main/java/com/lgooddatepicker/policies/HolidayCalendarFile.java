@@ -0,0 +1,303 @@
+package com.lgooddatepicker.policies;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * HolidayCalendarFile, This is a built in veto policy and highlight policy, which reads its dates
+ * directly from a compact binary holiday calendar file. The file is memory mapped when it is
+ * opened, and every lookup reads the mapped file directly. Opening a file does not read or copy
+ * the date data, so the startup cost and the heap usage are nearly independent of the file size.
+ *
+ * Holiday calendar files are created from CSV files with the HolidayCalendarFileWriter class.
+ *
+ * File format: All numbers are stored in big endian byte order.
+ * <pre>
+ * Header (32 bytes):
+ *   int   magic number (0x4C474843, "LGHC")
+ *   int   format version (1)
+ *   int   first year
+ *   int   year count
+ *   int   label count (zero if there is no label table)
+ *   int   label index offset (zero if there is no label table)
+ *   int   label table offset (zero if there is no label table)
+ *   int   reserved (zero)
+ * Year records (96 bytes for each year, starting with the first year):
+ *   long[6] vetoed days bitmap (bit n is day of year n + 1)
+ *   long[6] highlighted days bitmap
+ * Label index (optional, 732 bytes for each year):
+ *   short[366] label number of each day of the year (zero means no label)
+ * Label table (optional):
+ *   For each label: unsigned short byte length, followed by the UTF-8 bytes of the label.
+ * </pre>
+ *
+ * Example usage:
+ * <pre>
+ * HolidayCalendarFile holidays = HolidayCalendarFile.open(Paths.get("holidays.lghc"));
+ * datePickerSettings.vetoPolicy = holidays;
+ * datePickerSettings.highlightPolicy = holidays;
+ * </pre>
+ *
+ * Thread safety: Instances of this class are immutable, and may be used from any thread.
+ */
+public class HolidayCalendarFile implements BatchVetoPolicy, BatchHighlightPolicy {
+
+    /**
+     * magicNumber, This is the value of the first four bytes of every holiday calendar file.
+     */
+    static final int magicNumber = 0x4C474843;
+
+    /**
+     * formatVersion, This is the version of the file format that is read and written by this
+     * class.
+     */
+    static final int formatVersion = 1;
+
+    /**
+     * headerSize, This is the size of the file header, in bytes.
+     */
+    static final int headerSize = 32;
+
+    /**
+     * yearRecordSize, This is the size of the record for a single year, in bytes.
+     */
+    static final int yearRecordSize = 96;
+
+    /**
+     * labelIndexYearSize, This is the size of the label index for a single year, in bytes.
+     */
+    static final int labelIndexYearSize = 366 * 2;
+
+    /**
+     * buffer, This is the memory mapped contents of the file.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * decodedLabels, This holds the labels that have been decoded from the label table. Each label
+     * is decoded the first time that it is needed.
+     */
+    private final String[] decodedLabels;
+
+    /**
+     * firstYear, This is the first year that is stored in the file.
+     */
+    private final int firstYear;
+
+    /**
+     * labelIndexOffset, This is the file offset of the label index, or zero if the file does not
+     * have labels.
+     */
+    private final int labelIndexOffset;
+
+    /**
+     * labelOffsets, This holds the file offset of each label in the label table.
+     */
+    private final int[] labelOffsets;
+
+    /**
+     * yearCount, This is the number of years that are stored in the file.
+     */
+    private final int yearCount;
+
+    /**
+     * Constructor, This reads and checks the header of the supplied file contents. Instances should
+     * be created with the open() function.
+     */
+    private HolidayCalendarFile(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < headerSize || buffer.getInt(0) != magicNumber) {
+            throw new IOException("The file is not a holiday calendar file.");
+        }
+        if (buffer.getInt(4) != formatVersion) {
+            throw new IOException("Unsupported holiday calendar file version: "
+                    + buffer.getInt(4) + ".");
+        }
+        firstYear = buffer.getInt(8);
+        yearCount = buffer.getInt(12);
+        int labelCount = buffer.getInt(16);
+        labelIndexOffset = buffer.getInt(20);
+        int labelTableOffset = buffer.getInt(24);
+        int capacity = buffer.capacity();
+        // Each offset must point inside the file, and after the header. An offset of zero means
+        // that there is no label index, or no label table.
+        boolean labelIndexOffsetValid = (labelIndexOffset == 0)
+                || (labelIndexOffset >= headerSize && labelIndexOffset <= capacity);
+        boolean labelTableOffsetValid = (labelCount == 0)
+                || (labelTableOffset >= headerSize && labelTableOffset <= capacity);
+        if (yearCount < 0 || labelCount < 0 || !labelIndexOffsetValid || !labelTableOffsetValid) {
+            throw new IOException("The holiday calendar file is truncated or damaged.");
+        }
+        long requiredSize = headerSize + ((long) yearCount * yearRecordSize);
+        if (labelIndexOffset != 0) {
+            requiredSize = Math.max(requiredSize,
+                    labelIndexOffset + ((long) yearCount * labelIndexYearSize));
+        }
+        // Each label needs at least two bytes, for its length.
+        if (labelCount > 0) {
+            requiredSize = Math.max(requiredSize, labelTableOffset + (2L * labelCount));
+        }
+        if (requiredSize > capacity) {
+            throw new IOException("The holiday calendar file is truncated or damaged.");
+        }
+        // Find the offset of each label. The label text is not decoded until it is needed.
+        labelOffsets = new int[labelCount];
+        decodedLabels = new String[labelCount];
+        long offset = labelTableOffset;
+        for (int i = 0; i < labelCount; ++i) {
+            if (offset + 2 > capacity) {
+                throw new IOException("The holiday calendar file is truncated or damaged.");
+            }
+            labelOffsets[i] = (int) offset;
+            offset += 2 + (buffer.getShort((int) offset) & 0xFFFF);
+        }
+        if (offset > capacity) {
+            throw new IOException("The holiday calendar file is truncated or damaged.");
+        }
+    }
+
+    /**
+     * open, This memory maps the supplied holiday calendar file, and returns a policy that reads
+     * its dates from that file. This throws an IOException if the file cannot be read, or if it is
+     * not a valid holiday calendar file.
+     */
+    public static HolidayCalendarFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mappedBuffer = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new HolidayCalendarFile(mappedBuffer);
+        }
+    }
+
+    /**
+     * getFirstYear, This returns the first year that is stored in the file.
+     */
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    /**
+     * getHighlightStringOrNull, This returns the label of the supplied date if the date is
+     * highlighted in the file. If the date is highlighted but has no label, this returns an empty
+     * string. If the date is not highlighted, this returns null.
+     */
+    @Override
+    public String getHighlightStringOrNull(LocalDate date) {
+        int yearIndex = date.getYear() - firstYear;
+        if (yearIndex < 0 || yearIndex >= yearCount) {
+            return null;
+        }
+        return getHighlightStringOrNull(yearIndex, date.getDayOfYear() - 1);
+    }
+
+    /**
+     * getHighlightStringOrNull, This returns the highlight string of the supplied day of the year
+     * (zero based), in the year with the supplied index. The year index must be inside the file.
+     */
+    private String getHighlightStringOrNull(int yearIndex, int dayIndex) {
+        int bitmapOffset = headerSize + (yearIndex * yearRecordSize) + 48;
+        if (!isBitSet(bitmapOffset, dayIndex)) {
+            return null;
+        }
+        if (labelIndexOffset == 0) {
+            return "";
+        }
+        int labelNumber = buffer.getShort(
+                labelIndexOffset + (yearIndex * labelIndexYearSize) + (dayIndex * 2)) & 0xFFFF;
+        if (labelNumber == 0 || labelNumber > labelOffsets.length) {
+            return "";
+        }
+        return getLabel(labelNumber - 1);
+    }
+
+    /**
+     * getHighlightStringsOfMonth, This returns the highlight string of each date in the supplied
+     * month. See the BatchHighlightPolicy interface for details.
+     */
+    @Override
+    public String[] getHighlightStringsOfMonth(YearMonth yearMonth) {
+        String[] result = new String[yearMonth.lengthOfMonth()];
+        int yearIndex = yearMonth.getYear() - firstYear;
+        if (yearIndex < 0 || yearIndex >= yearCount) {
+            return result;
+        }
+        int firstDayIndex = yearMonth.atDay(1).getDayOfYear() - 1;
+        for (int day = 0; day < result.length; ++day) {
+            result[day] = getHighlightStringOrNull(yearIndex, firstDayIndex + day);
+        }
+        return result;
+    }
+
+    /**
+     * getLabel, This returns the label with the supplied index, decoding it from the label table if
+     * this is the first time that it has been requested.
+     */
+    private String getLabel(int labelIndex) {
+        String label = decodedLabels[labelIndex];
+        if (label == null) {
+            int offset = labelOffsets[labelIndex];
+            byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+            for (int i = 0; i < bytes.length; ++i) {
+                bytes[i] = buffer.get(offset + 2 + i);
+            }
+            label = new String(bytes, StandardCharsets.UTF_8);
+            decodedLabels[labelIndex] = label;
+        }
+        return label;
+    }
+
+    /**
+     * getVetoedDaysOfMonth, This returns a bit mask of the vetoed days in the supplied month. See
+     * the BatchVetoPolicy interface for details.
+     */
+    @Override
+    public int getVetoedDaysOfMonth(YearMonth yearMonth) {
+        int yearIndex = yearMonth.getYear() - firstYear;
+        if (yearIndex < 0 || yearIndex >= yearCount) {
+            return 0;
+        }
+        int bitmapOffset = headerSize + (yearIndex * yearRecordSize);
+        int firstDayIndex = yearMonth.atDay(1).getDayOfYear() - 1;
+        int mask = 0;
+        for (int day = 0; day < yearMonth.lengthOfMonth(); ++day) {
+            if (isBitSet(bitmapOffset, firstDayIndex + day)) {
+                mask |= (1 << day);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * getYearCount, This returns the number of years that are stored in the file.
+     */
+    public int getYearCount() {
+        return yearCount;
+    }
+
+    /**
+     * isBitSet, This returns true if the supplied bit is set in the bitmap at the supplied offset.
+     */
+    private boolean isBitSet(int bitmapOffset, int bitIndex) {
+        long word = buffer.getLong(bitmapOffset + ((bitIndex >>> 6) * 8));
+        return (word & (1L << (bitIndex & 63))) != 0;
+    }
+
+    /**
+     * isDateVetoed, This returns true if the supplied date is vetoed in the file.
+     */
+    @Override
+    public boolean isDateVetoed(LocalDate date) {
+        int yearIndex = date.getYear() - firstYear;
+        if (yearIndex < 0 || yearIndex >= yearCount) {
+            return false;
+        }
+        return isBitSet(headerSize + (yearIndex * yearRecordSize), date.getDayOfYear() - 1);
+    }
+}
@@ -0,0 +1,270 @@
+package com.lgooddatepicker.policies;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * HolidayCalendarFileWriter, This is a tool that creates a binary holiday calendar file from a CSV
+ * file. The resulting file can be used as a veto policy or a highlight policy, with the
+ * HolidayCalendarFile class. See the HolidayCalendarFile class for a description of the binary
+ * file format.
+ *
+ * CSV format: Each line holds one date, in the format "date,kind,label". The date must be in the
+ * ISO-8601 format (uuuu-MM-dd). The kind must be "veto", "highlight", or "both". The label is
+ * optional, and is used as the highlight text (tooltip) for the date. The label may be surrounded
+ * by double quotes, and may contain commas. Empty lines, and lines that start with "#", are
+ * ignored.
+ * <pre>
+ * # Holidays for 2016
+ * 2016-01-01,both,New Year's Day
+ * 2016-12-25,both,"Christmas Day"
+ * 2016-08-15,veto
+ * </pre>
+ *
+ * Command line usage:
+ * <pre>
+ * java com.lgooddatepicker.policies.HolidayCalendarFileWriter input.csv output.lghc
+ * </pre>
+ */
+public class HolidayCalendarFileWriter {
+
+    /**
+     * highlightBitmaps, This holds the highlighted days bitmap for each year.
+     */
+    private final TreeMap<Integer, long[]> highlightBitmaps = new TreeMap<>();
+
+    /**
+     * labelNumbers, This holds the label number for each labeled day of each year. (Label numbers
+     * start at one.)
+     */
+    private final HashMap<Integer, short[]> labelNumbers = new HashMap<>();
+
+    /**
+     * labelNumbersByText, This holds the label number of each distinct label text. Repeated labels
+     * are only stored once in the file.
+     */
+    private final HashMap<String, Integer> labelNumbersByText = new HashMap<>();
+
+    /**
+     * labels, This holds each distinct label text, in the order of the label numbers.
+     */
+    private final ArrayList<String> labels = new ArrayList<>();
+
+    /**
+     * vetoBitmaps, This holds the vetoed days bitmap for each year.
+     */
+    private final TreeMap<Integer, long[]> vetoBitmaps = new TreeMap<>();
+
+    /**
+     * Constructor, This creates a writer that does not contain any dates.
+     */
+    public HolidayCalendarFileWriter() {
+    }
+
+    /**
+     * main, This converts the CSV file named by the first argument into a holiday calendar file
+     * named by the second argument.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: HolidayCalendarFileWriter input.csv output.lghc");
+            return;
+        }
+        writeFromCsv(Paths.get(args[0]), Paths.get(args[1]));
+    }
+
+    /**
+     * addDate, This adds a date to the calendar. The date will be vetoed and/or highlighted as
+     * indicated. If the label is not null or empty, it will be used as the highlight text of the
+     * date.
+     */
+    public void addDate(LocalDate date, boolean vetoed, boolean highlighted, String label) {
+        int year = date.getYear();
+        int dayIndex = date.getDayOfYear() - 1;
+        if (vetoed) {
+            setBit(getOrCreate(vetoBitmaps, year), dayIndex);
+        }
+        if (highlighted) {
+            setBit(getOrCreate(highlightBitmaps, year), dayIndex);
+        }
+        if (label != null && !label.isEmpty()) {
+            Integer labelNumber = labelNumbersByText.get(label);
+            if (labelNumber == null) {
+                if (labels.size() >= 0xFFFF) {
+                    throw new IllegalStateException("Too many distinct labels.");
+                }
+                labels.add(label);
+                labelNumber = labels.size();
+                labelNumbersByText.put(label, labelNumber);
+            }
+            short[] yearLabels = labelNumbers.get(year);
+            if (yearLabels == null) {
+                yearLabels = new short[366];
+                labelNumbers.put(year, yearLabels);
+            }
+            yearLabels[dayIndex] = (short) labelNumber.intValue();
+        }
+    }
+
+    /**
+     * getOrCreate, This returns the bitmap for the supplied year, creating it if needed.
+     */
+    private static long[] getOrCreate(TreeMap<Integer, long[]> bitmaps, int year) {
+        long[] bitmap = bitmaps.get(year);
+        if (bitmap == null) {
+            bitmap = new long[6];
+            bitmaps.put(year, bitmap);
+        }
+        return bitmap;
+    }
+
+    /**
+     * readCsv, This adds every date in the supplied CSV file to the calendar. See the class
+     * documentation for a description of the CSV format. This throws an IOException if the file
+     * cannot be read, or if a line cannot be parsed.
+     */
+    public void readCsv(Path csvFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                ++lineNumber;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", 3);
+                if (fields.length < 2) {
+                    throw new IOException("Line " + lineNumber + ": Expected \"date,kind,label\".");
+                }
+                LocalDate date;
+                try {
+                    date = LocalDate.parse(fields[0].trim());
+                } catch (DateTimeParseException ex) {
+                    throw new IOException("Line " + lineNumber + ": Invalid date \""
+                            + fields[0].trim() + "\".");
+                }
+                String kind = fields[1].trim().toLowerCase(Locale.ROOT);
+                boolean vetoed = "veto".equals(kind) || "both".equals(kind);
+                boolean highlighted = "highlight".equals(kind) || "both".equals(kind);
+                if (!vetoed && !highlighted) {
+                    throw new IOException("Line " + lineNumber + ": Invalid kind \""
+                            + fields[1].trim() + "\".");
+                }
+                String label = (fields.length > 2) ? fields[2].trim() : "";
+                if (label.length() >= 2 && label.startsWith("\"") && label.endsWith("\"")) {
+                    label = label.substring(1, label.length() - 1).replace("\"\"", "\"");
+                }
+                addDate(date, vetoed, highlighted, label);
+            }
+        }
+    }
+
+    /**
+     * setBit, This sets the supplied bit in the supplied bitmap.
+     */
+    private static void setBit(long[] bitmap, int bitIndex) {
+        bitmap[bitIndex >>> 6] |= (1L << (bitIndex & 63));
+    }
+
+    /**
+     * write, This writes the calendar to the supplied file, replacing the file if it exists.
+     */
+    public void write(Path outputFile) throws IOException {
+        // Find the range of years.
+        int firstYear = 0;
+        int yearCount = 0;
+        if (!vetoBitmaps.isEmpty() || !highlightBitmaps.isEmpty()) {
+            firstYear = Math.min(
+                    vetoBitmaps.isEmpty() ? Integer.MAX_VALUE : vetoBitmaps.firstKey(),
+                    highlightBitmaps.isEmpty() ? Integer.MAX_VALUE : highlightBitmaps.firstKey());
+            int lastYear = Math.max(
+                    vetoBitmaps.isEmpty() ? Integer.MIN_VALUE : vetoBitmaps.lastKey(),
+                    highlightBitmaps.isEmpty() ? Integer.MIN_VALUE : highlightBitmaps.lastKey());
+            yearCount = (lastYear - firstYear) + 1;
+        }
+        // Encode the labels, and calculate the offsets of each section.
+        ArrayList<byte[]> encodedLabels = new ArrayList<>();
+        long labelTableSize = 0;
+        for (String label : labels) {
+            byte[] encodedLabel = label.getBytes(StandardCharsets.UTF_8);
+            if (encodedLabel.length > 0xFFFF) {
+                throw new IOException("A label is too long: \"" + label + "\".");
+            }
+            encodedLabels.add(encodedLabel);
+            labelTableSize += 2 + encodedLabel.length;
+        }
+        boolean hasLabels = !labels.isEmpty();
+        long yearRecordsEnd = HolidayCalendarFile.headerSize
+                + ((long) yearCount * HolidayCalendarFile.yearRecordSize);
+        long labelIndexOffset = hasLabels ? yearRecordsEnd : 0;
+        long labelTableOffset = hasLabels ? (yearRecordsEnd
+                + ((long) yearCount * HolidayCalendarFile.labelIndexYearSize)) : 0;
+        long fileSize = hasLabels ? (labelTableOffset + labelTableSize) : yearRecordsEnd;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("The holiday calendar is too large.");
+        }
+        // Write the header and every section into a buffer.
+        ByteBuffer buffer = ByteBuffer.allocate((int) fileSize);
+        buffer.putInt(HolidayCalendarFile.magicNumber);
+        buffer.putInt(HolidayCalendarFile.formatVersion);
+        buffer.putInt(firstYear);
+        buffer.putInt(yearCount);
+        buffer.putInt(labels.size());
+        buffer.putInt((int) labelIndexOffset);
+        buffer.putInt((int) labelTableOffset);
+        buffer.putInt(0);
+        for (int year = firstYear; year < firstYear + yearCount; ++year) {
+            long[] vetoBitmap = vetoBitmaps.get(year);
+            long[] highlightBitmap = highlightBitmaps.get(year);
+            for (int word = 0; word < 6; ++word) {
+                buffer.putLong((vetoBitmap == null) ? 0 : vetoBitmap[word]);
+            }
+            for (int word = 0; word < 6; ++word) {
+                buffer.putLong((highlightBitmap == null) ? 0 : highlightBitmap[word]);
+            }
+        }
+        if (hasLabels) {
+            for (int year = firstYear; year < firstYear + yearCount; ++year) {
+                short[] yearLabels = labelNumbers.get(year);
+                for (int dayIndex = 0; dayIndex < 366; ++dayIndex) {
+                    buffer.putShort((yearLabels == null) ? 0 : yearLabels[dayIndex]);
+                }
+            }
+            for (byte[] encodedLabel : encodedLabels) {
+                buffer.putShort((short) encodedLabel.length);
+                buffer.put(encodedLabel);
+            }
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(outputFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * writeFromCsv, This reads the supplied CSV file, and writes the dates to a holiday calendar
+     * file. See the class documentation for a description of the CSV format.
+     */
+    public static void writeFromCsv(Path csvFile, Path outputFile) throws IOException {
+        HolidayCalendarFileWriter writer = new HolidayCalendarFileWriter();
+        writer.readCsv(csvFile);
+        writer.write(outputFile);
+    }
+}
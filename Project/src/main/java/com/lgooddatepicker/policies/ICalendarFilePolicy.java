@@ -0,0 +1,750 @@
+package com.lgooddatepicker.policies;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.SwingUtilities;
+
+/**
+ * ICalendarFilePolicy, This is a built in veto policy and highlight policy, which reads its dates
+ * from an iCalendar (.ics) file. Every all-day event in the file vetoes and highlights the dates
+ * that it covers. The summary of the event is used as the highlight text (tooltip) of those dates.
+ *
+ * The file is read one line at a time, and is never held in memory as a whole. The events are
+ * expanded into a HighlightLabelStore when the file is read, so checking a date is an array lookup
+ * that never involves the file itself. Each distinct summary text is stored only once.
+ *
+ * Supported iCalendar features: All-day events (DTSTART with a date value), with an optional
+ * DTEND (exclusive) for multi-day events. Events with a time of day (in DTSTART or DTEND) are
+ * ignored. The SUMMARY property is used as the highlight text. Simple recurrence rules (RRULE) are
+ * expanded, with the FREQ, INTERVAL, COUNT, UNTIL, and WKST rule parts, and with the following BY
+ * parts: BYDAY with a list of weekdays (for weekly rules), BYDAY with a single weekday and an
+ * ordinal such as "2TU" or "-1FR" (for monthly and yearly rules), and BYMONTH with a single month
+ * (for yearly rules). EXDATE dates are excluded. Recurrences without an end are expanded up to and
+ * including the "last expanded year", which defaults to ten years after the current year. If a
+ * rule uses any other rule parts or combinations (such as BYMONTHDAY or BYSETPOS), only the first
+ * occurrence (DTSTART) of the event is added, rather than a set of dates that could be wrong.
+ *
+ * Reloading: By default, the policy checks if the file has been changed on disk (at most once
+ * every two seconds, when a date is checked). The check, and the reading of a changed file, are
+ * done on a background thread, so checking a date never waits for the file. The new dates replace
+ * the old dates in a single step, and then the data arrival listeners are notified on the event
+ * dispatch thread. (This policy implements PendingVetoPolicy for that notification, so a calendar
+ * that uses it as its veto policy is redrawn automatically. No date is ever pending.) A file that
+ * cannot be read or parsed leaves the previous dates in place. The check can also be done directly
+ * (on the calling thread) by calling reloadIfModified().
+ *
+ * Example usage:
+ * <pre>
+ * ICalendarFilePolicy holidays = new ICalendarFilePolicy(Paths.get("holidays.ics"));
+ * datePickerSettings.highlightPolicy = holidays;
+ * </pre>
+ */
+public class ICalendarFilePolicy
+        implements BatchVetoPolicy, BatchHighlightPolicy, PendingVetoPolicy {
+
+    /**
+     * defaultReloadCheckIntervalMilliseconds, This is the default minimum time between checks for
+     * changes to the file.
+     */
+    final static public long defaultReloadCheckIntervalMilliseconds = 2000;
+
+    /**
+     * reloadExecutor, This runs the automatic checks for changes to the files of all the
+     * iCalendar file policies, on a single background (daemon) thread.
+     */
+    final static private ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "ICalendarFilePolicy");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * dataArrivalListeners, This holds the listeners that are notified after the file was read
+     * again.
+     */
+    private final CopyOnWriteArrayList<Runnable> dataArrivalListeners
+            = new CopyOnWriteArrayList<>();
+
+    /**
+     * file, This is the iCalendar file that is read by this policy.
+     */
+    private final Path file;
+
+    /**
+     * lastExpandedYear, Recurrences that do not have an end are expanded up to and including this
+     * year.
+     */
+    private final int lastExpandedYear;
+
+    /**
+     * lastReloadCheckTime, This is the time (in milliseconds) of the last check for changes to the
+     * file.
+     */
+    private volatile long lastReloadCheckTime;
+
+    /**
+     * loadedFileSize, This is the size of the file when it was last read.
+     */
+    private long loadedFileSize = -1;
+
+    /**
+     * loadedFileTime, This is the last modified time of the file when it was last read.
+     */
+    private FileTime loadedFileTime = null;
+
+    /**
+     * reloadCheckQueued, This is true while an automatic check for changes is waiting or running
+     * on the background thread.
+     */
+    private final AtomicBoolean reloadCheckQueued = new AtomicBoolean(false);
+
+    /**
+     * reloadCheckIntervalMilliseconds, This is the minimum time between automatic checks for
+     * changes to the file. A value of zero or less disables the automatic checks.
+     */
+    private volatile long reloadCheckIntervalMilliseconds = defaultReloadCheckIntervalMilliseconds;
+
+    /**
+     * store, This holds the label of each date in the file. A new store is created each time that
+     * the file is read, and this reference is replaced. A store is never modified after it has been
+     * assigned to this field.
+     */
+    private volatile HighlightLabelStore store = new HighlightLabelStore();
+
+    /**
+     * Constructor, This reads the supplied iCalendar file. Recurrences without an end are expanded
+     * up to ten years after the current year. This throws an IOException if the file cannot be
+     * read or parsed.
+     */
+    public ICalendarFilePolicy(Path file) throws IOException {
+        this(file, LocalDate.now().getYear() + 10);
+    }
+
+    /**
+     * Constructor, This reads the supplied iCalendar file. Recurrences without an end are expanded
+     * up to and including the supplied year. This throws an IOException if the file cannot be
+     * read or parsed.
+     */
+    public ICalendarFilePolicy(Path file, int lastExpandedYear) throws IOException {
+        this.file = file;
+        this.lastExpandedYear = lastExpandedYear;
+        reload();
+    }
+
+    /**
+     * addDataArrivalListener, This adds a listener that will be run on the event dispatch thread
+     * each time that the file has been read again.
+     */
+    @Override
+    public void addDataArrivalListener(Runnable listener) {
+        dataArrivalListeners.add(listener);
+    }
+
+    /**
+     * checkForChangesIfDue, If the automatic check is enabled and enough time has passed since the
+     * last check, this queues a check for changes to the file on the background thread. This never
+     * waits for the file. Any errors in the background check are ignored.
+     */
+    private void checkForChangesIfDue() {
+        long interval = reloadCheckIntervalMilliseconds;
+        if (interval <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastReloadCheckTime < interval) {
+            return;
+        }
+        lastReloadCheckTime = now;
+        if (!reloadCheckQueued.compareAndSet(false, true)) {
+            return;
+        }
+        reloadExecutor.execute(() -> {
+            try {
+                reloadIfModified();
+            } catch (IOException | RuntimeException ex) {
+                // Keep the previous dates.
+            } finally {
+                reloadCheckQueued.set(false);
+            }
+        });
+    }
+
+    /**
+     * fireDataArrived, This notifies the data arrival listeners on the event dispatch thread.
+     */
+    private void fireDataArrived() {
+        SwingUtilities.invokeLater(() -> {
+            for (Runnable listener : dataArrivalListeners) {
+                listener.run();
+            }
+        });
+    }
+
+    /**
+     * getDateCount, This returns the number of distinct dates that are covered by the events in the
+     * file.
+     */
+    public int getDateCount() {
+        return store.getDateCount();
+    }
+
+    /**
+     * getHighlightStringOrNull, This returns the summary of the event that covers the supplied
+     * date, or null if no event covers the date. If more than one event covers the date, the
+     * summaries are joined with a comma.
+     */
+    @Override
+    public String getHighlightStringOrNull(LocalDate date) {
+        checkForChangesIfDue();
+        return store.getHighlightStringOrNull(date);
+    }
+
+    /**
+     * getHighlightStringsOfMonth, This returns the summaries of the events that cover each date in
+     * the supplied month. See the BatchHighlightPolicy interface for details.
+     */
+    @Override
+    public String[] getHighlightStringsOfMonth(YearMonth yearMonth) {
+        checkForChangesIfDue();
+        return store.getHighlightStringsOfMonth(yearMonth);
+    }
+
+    /**
+     * getVetoedDaysOfMonth, This returns a bit mask of the days in the supplied month that are
+     * covered by any event. See the BatchVetoPolicy interface for details.
+     */
+    @Override
+    public int getVetoedDaysOfMonth(YearMonth yearMonth) {
+        checkForChangesIfDue();
+        HighlightLabelStore current = store;
+        int mask = 0;
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); ++day) {
+            if (current.hasLabel(yearMonth.atDay(day))) {
+                mask |= (1 << (day - 1));
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * isDatePending, This always returns false. The dates of this policy are never pending,
+     * because the previous dates are kept while the file is read again.
+     */
+    @Override
+    public boolean isDatePending(LocalDate date) {
+        return false;
+    }
+
+    /**
+     * isDateVetoed, This returns true if any event covers the supplied date.
+     */
+    @Override
+    public boolean isDateVetoed(LocalDate date) {
+        checkForChangesIfDue();
+        return store.hasLabel(date);
+    }
+
+    /**
+     * reload, This reads the file, and replaces the current dates with the dates from the file.
+     * This throws an IOException if the file cannot be read or parsed (for example, if the file
+     * has more distinct summaries than a label store can hold).
+     */
+    private synchronized void reload() throws IOException {
+        FileTime fileTime = Files.getLastModifiedTime(file);
+        long fileSize = Files.size(file);
+        HighlightLabelStore newStore = new HighlightLabelStore();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            new Parser(newStore, lastExpandedYear).parse(reader);
+        } catch (RuntimeException ex) {
+            throw new IOException("The iCalendar file could not be parsed: " + file, ex);
+        }
+        newStore.trimToSize();
+        store = newStore;
+        loadedFileTime = fileTime;
+        loadedFileSize = fileSize;
+        lastReloadCheckTime = System.currentTimeMillis();
+    }
+
+    /**
+     * reloadIfModified, This checks if the file has been changed since it was last read. If it has
+     * been changed, the file is read again, and the data arrival listeners are notified. This
+     * returns true if the file was read again. This throws an IOException if the file cannot be
+     * read or parsed, in which case the previous dates are kept. This does the work on the calling
+     * thread.
+     */
+    public synchronized boolean reloadIfModified() throws IOException {
+        FileTime fileTime = Files.getLastModifiedTime(file);
+        long fileSize = Files.size(file);
+        if (fileTime.equals(loadedFileTime) && fileSize == loadedFileSize) {
+            return false;
+        }
+        reload();
+        fireDataArrived();
+        return true;
+    }
+
+    /**
+     * removeDataArrivalListener, This removes a listener that was added with
+     * addDataArrivalListener().
+     */
+    @Override
+    public void removeDataArrivalListener(Runnable listener) {
+        dataArrivalListeners.remove(listener);
+    }
+
+    /**
+     * setReloadCheckInterval, This sets the minimum time between automatic checks for changes to
+     * the file, in milliseconds. A value of zero or less disables the automatic checks.
+     */
+    public void setReloadCheckInterval(long milliseconds) {
+        reloadCheckIntervalMilliseconds = milliseconds;
+    }
+
+    /**
+     * Parser, This reads the events of an iCalendar file, and adds the dates of each all-day
+     * event to a label store. If more than one event covers a date, the summaries are joined with
+     * a comma.
+     */
+    private static final class Parser {
+
+        /**
+         * labelStore, This receives the dates of each event.
+         */
+        private final HighlightLabelStore labelStore;
+
+        /**
+         * lastExpandedYear, Recurrences that do not have an end are expanded up to and including
+         * this year.
+         */
+        private final int lastExpandedYear;
+
+        // These hold the properties of the event that is currently being read.
+        private boolean insideEvent = false;
+        private LocalDate eventStart = null;
+        private LocalDate eventEnd = null;
+        private String eventSummary = "";
+        private String eventRule = null;
+        private boolean eventHasTime = false;
+        private final HashSet<LocalDate> eventExcludedDates = new HashSet<>();
+
+        Parser(HighlightLabelStore labelStore, int lastExpandedYear) {
+            this.labelStore = labelStore;
+            this.lastExpandedYear = lastExpandedYear;
+        }
+
+        /**
+         * parse, This reads every line of the supplied reader. Folded lines (lines that start with
+         * a space or a tab) are joined to the previous line before they are processed.
+         */
+        void parse(BufferedReader reader) throws IOException {
+            StringBuilder logicalLine = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+                    logicalLine.append(line, 1, line.length());
+                    continue;
+                }
+                if (logicalLine.length() > 0) {
+                    processLine(logicalLine.toString());
+                    logicalLine.setLength(0);
+                }
+                logicalLine.append(line);
+            }
+            if (logicalLine.length() > 0) {
+                processLine(logicalLine.toString());
+            }
+        }
+
+        /**
+         * processLine, This handles a single (unfolded) content line.
+         */
+        private void processLine(String line) {
+            // Find the end of the property name, and the start of the value. The value starts after
+            // the first colon that is not inside a quoted parameter value.
+            int valueStart = -1;
+            boolean insideQuotes = false;
+            for (int i = 0; i < line.length(); ++i) {
+                char character = line.charAt(i);
+                if (character == '"') {
+                    insideQuotes = !insideQuotes;
+                } else if (character == ':' && !insideQuotes) {
+                    valueStart = i + 1;
+                    break;
+                }
+            }
+            if (valueStart < 0) {
+                return;
+            }
+            String nameAndParameters = line.substring(0, valueStart - 1);
+            int semicolon = nameAndParameters.indexOf(';');
+            String name = (semicolon < 0)
+                    ? nameAndParameters : nameAndParameters.substring(0, semicolon);
+            // Property names and rules are ASCII, so they are converted without the default locale.
+            name = name.toUpperCase(Locale.ROOT);
+            String value = line.substring(valueStart).trim();
+            if (name.equals("BEGIN") && value.equalsIgnoreCase("VEVENT")) {
+                insideEvent = true;
+                eventStart = null;
+                eventEnd = null;
+                eventSummary = "";
+                eventRule = null;
+                eventHasTime = false;
+                eventExcludedDates.clear();
+                return;
+            }
+            if (!insideEvent) {
+                return;
+            }
+            switch (name) {
+                case "END":
+                    if (value.equalsIgnoreCase("VEVENT")) {
+                        insideEvent = false;
+                        addEvent();
+                    }
+                    break;
+                case "DTSTART":
+                    eventHasTime |= isTimeValue(value);
+                    eventStart = parseDateOrNull(value);
+                    break;
+                case "DTEND":
+                    eventHasTime |= isTimeValue(value);
+                    eventEnd = parseDateOrNull(value);
+                    break;
+                case "SUMMARY":
+                    eventSummary = unescapeText(value);
+                    break;
+                case "RRULE":
+                    eventRule = value.toUpperCase(Locale.ROOT);
+                    break;
+                case "EXDATE":
+                    for (String excludedDate : value.split(",")) {
+                        LocalDate date = parseDateOrNull(excludedDate.trim());
+                        if (date != null) {
+                            eventExcludedDates.add(date);
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * addEvent, This adds the dates of the event that was just read to the label store. Events
+         * that are not all-day events are ignored.
+         */
+        private void addEvent() {
+            if (eventStart == null || eventHasTime) {
+                return;
+            }
+            int durationInDays = 1;
+            if (eventEnd != null && eventEnd.isAfter(eventStart)) {
+                durationInDays = (int) ChronoUnit.DAYS.between(eventStart, eventEnd);
+            }
+            if (eventRule == null) {
+                addOccurrence(eventStart, durationInDays);
+                return;
+            }
+            expandRule(durationInDays);
+        }
+
+        /**
+         * addOccurrence, This adds every date of a single occurrence of an event.
+         */
+        private void addOccurrence(LocalDate start, int durationInDays) {
+            if (eventExcludedDates.contains(start)) {
+                return;
+            }
+            for (int day = 0; day < durationInDays; ++day) {
+                LocalDate date = start.plusDays(day);
+                String existingLabel = labelStore.getHighlightStringOrNull(date);
+                if (existingLabel == null || existingLabel.isEmpty()) {
+                    labelStore.setLabel(date, eventSummary);
+                } else if (!eventSummary.isEmpty() && !existingLabel.equals(eventSummary)) {
+                    labelStore.setLabel(date, existingLabel + ", " + eventSummary);
+                }
+            }
+        }
+
+        /**
+         * expandRule, This adds the dates of every occurrence of a recurring event. See the class
+         * documentation of ICalendarFilePolicy for the supported rule parts.
+         */
+        private void expandRule(int durationInDays) {
+            String frequency = null;
+            int interval = 1;
+            int count = Integer.MAX_VALUE;
+            LocalDate until = LocalDate.of(lastExpandedYear, 12, 31);
+            ArrayList<DayOfWeek> byDays = new ArrayList<>();
+            int byDayOrdinal = 0;
+            int byMonth = 0;
+            DayOfWeek weekStart = DayOfWeek.MONDAY;
+            try {
+                for (String part : eventRule.split(";")) {
+                    int equals = part.indexOf('=');
+                    if (equals < 0) {
+                        continue;
+                    }
+                    String partName = part.substring(0, equals);
+                    String partValue = part.substring(equals + 1);
+                    switch (partName) {
+                        case "FREQ":
+                            frequency = partValue;
+                            break;
+                        case "INTERVAL":
+                            interval = Math.max(1, Integer.parseInt(partValue));
+                            break;
+                        case "COUNT":
+                            count = Integer.parseInt(partValue);
+                            break;
+                        case "UNTIL":
+                            LocalDate untilDate = parseUntilDateOrNull(partValue);
+                            if (untilDate != null && untilDate.isBefore(until)) {
+                                until = untilDate;
+                            }
+                            break;
+                        case "BYMONTH":
+                            byMonth = Integer.parseInt(partValue);
+                            break;
+                        case "BYDAY":
+                            for (String byDay : partValue.split(",")) {
+                                int dayStart = byDay.length() - 2;
+                                if (dayStart > 0) {
+                                    if (byDayOrdinal != 0) {
+                                        throw new IllegalArgumentException(
+                                                "Only one BYDAY ordinal is supported.");
+                                    }
+                                    byDayOrdinal = Integer.parseInt(byDay.substring(0, dayStart)
+                                            .replace("+", ""));
+                                }
+                                byDays.add(parseDayOfWeek(byDay.substring(dayStart)));
+                            }
+                            break;
+                        case "WKST":
+                            // The week start only matters to weekly rules with an interval.
+                            weekStart = parseDayOfWeek(partValue);
+                            break;
+                        default:
+                            throw new IllegalArgumentException(
+                                    "Unsupported rule part: " + partName);
+                    }
+                }
+                checkRuleIsSupported(frequency, interval, weekStart, byDays, byDayOrdinal,
+                        byMonth);
+            } catch (RuntimeException ex) {
+                // The rule cannot be understood, or uses parts that are not supported, so only the
+                // first occurrence is added.
+                addOccurrence(eventStart, durationInDays);
+                return;
+            }
+            int occurrenceCount = 0;
+            for (long period = 0; occurrenceCount < count; period += interval) {
+                LocalDate periodStart;
+                if ("DAILY".equals(frequency)) {
+                    periodStart = eventStart.plusDays(period);
+                } else if ("WEEKLY".equals(frequency)) {
+                    periodStart = eventStart.plusWeeks(period);
+                } else if ("MONTHLY".equals(frequency)) {
+                    periodStart = eventStart.withDayOfMonth(1).plusMonths(period);
+                } else if ("YEARLY".equals(frequency)) {
+                    periodStart = eventStart.withDayOfYear(1).plusYears(period);
+                } else {
+                    addOccurrence(eventStart, durationInDays);
+                    return;
+                }
+                if (periodStart.isAfter(until)) {
+                    return;
+                }
+                for (LocalDate occurrence : getOccurrencesInPeriod(
+                        frequency, periodStart, byDays, byDayOrdinal, byMonth)) {
+                    if (occurrenceCount >= count || occurrence.isAfter(until)) {
+                        return;
+                    }
+                    if (occurrence.isBefore(eventStart)) {
+                        continue;
+                    }
+                    addOccurrence(occurrence, durationInDays);
+                    ++occurrenceCount;
+                }
+            }
+        }
+
+        /**
+         * checkRuleIsSupported, This throws an IllegalArgumentException if the supplied rule parts
+         * form a combination that is not expanded correctly by getOccurrencesInPeriod(). See the
+         * class documentation of ICalendarFilePolicy for the supported combinations.
+         */
+        private static void checkRuleIsSupported(String frequency, int interval,
+                DayOfWeek weekStart, ArrayList<DayOfWeek> byDays, int byDayOrdinal, int byMonth) {
+            boolean weekly = "WEEKLY".equals(frequency);
+            boolean monthlyOrYearly = "MONTHLY".equals(frequency) || "YEARLY".equals(frequency);
+            if (byMonth != 0 && !"YEARLY".equals(frequency)) {
+                throw new IllegalArgumentException("BYMONTH is only supported in yearly rules.");
+            }
+            if (!byDays.isEmpty()) {
+                if (weekly && byDayOrdinal != 0) {
+                    throw new IllegalArgumentException("Weekly BYDAY cannot have an ordinal.");
+                }
+                if (monthlyOrYearly && (byDays.size() != 1 || byDayOrdinal == 0)) {
+                    throw new IllegalArgumentException(
+                            "Monthly and yearly BYDAY must be a single weekday with an ordinal.");
+                }
+                if (!weekly && !monthlyOrYearly) {
+                    throw new IllegalArgumentException("BYDAY is not supported in this rule.");
+                }
+            }
+            if (weekly && interval > 1 && weekStart != DayOfWeek.MONDAY) {
+                throw new IllegalArgumentException("Only a Monday week start is supported.");
+            }
+        }
+
+        /**
+         * getOccurrencesInPeriod, This returns the occurrences of a recurring event within a single
+         * period (day, week, month, or year) of the recurrence, in ascending order.
+         */
+        private ArrayList<LocalDate> getOccurrencesInPeriod(String frequency, LocalDate periodStart,
+                ArrayList<DayOfWeek> byDays, int byDayOrdinal, int byMonth) {
+            ArrayList<LocalDate> occurrences = new ArrayList<>(1);
+            if ("WEEKLY".equals(frequency) && !byDays.isEmpty()) {
+                LocalDate weekStart = periodStart.with(
+                        TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                for (int day = 0; day < 7; ++day) {
+                    LocalDate date = weekStart.plusDays(day);
+                    if (byDays.contains(date.getDayOfWeek())) {
+                        occurrences.add(date);
+                    }
+                }
+                return occurrences;
+            }
+            if (("MONTHLY".equals(frequency) || "YEARLY".equals(frequency))
+                    && byDays.size() == 1 && byDayOrdinal != 0) {
+                LocalDate monthStart = periodStart;
+                if ("YEARLY".equals(frequency)) {
+                    int month = (byMonth > 0) ? byMonth : eventStart.getMonthValue();
+                    monthStart = periodStart.withMonth(month);
+                }
+                LocalDate date = monthStart.with(
+                        TemporalAdjusters.dayOfWeekInMonth(byDayOrdinal, byDays.get(0)));
+                if (date.getMonth() == monthStart.getMonth()) {
+                    occurrences.add(date);
+                }
+                return occurrences;
+            }
+            // Without any supported BY parts, the event repeats on the same day of the period.
+            if ("DAILY".equals(frequency) || "WEEKLY".equals(frequency)) {
+                occurrences.add(periodStart);
+            } else if ("MONTHLY".equals(frequency)) {
+                if (eventStart.getDayOfMonth() <= periodStart.lengthOfMonth()) {
+                    occurrences.add(periodStart.withDayOfMonth(eventStart.getDayOfMonth()));
+                }
+            } else {
+                int month = (byMonth > 0) ? byMonth : eventStart.getMonthValue();
+                YearMonth yearMonth = YearMonth.of(periodStart.getYear(), month);
+                if (eventStart.getDayOfMonth() <= yearMonth.lengthOfMonth()) {
+                    occurrences.add(yearMonth.atDay(eventStart.getDayOfMonth()));
+                }
+            }
+            return occurrences;
+        }
+
+        /**
+         * isTimeValue, This returns true if the supplied iCalendar value is a date with a time of
+         * day (uuuuMMdd'T'HHmmss).
+         */
+        private static boolean isTimeValue(String value) {
+            return value.length() > 8 && value.charAt(8) == 'T';
+        }
+
+        /**
+         * parseDateOrNull, This parses an iCalendar date value (uuuuMMdd). Values that include a
+         * time of day return null. (Events with a time of day are ignored.)
+         */
+        private static LocalDate parseDateOrNull(String value) {
+            if (isTimeValue(value)) {
+                return null;
+            }
+            return parseUntilDateOrNull(value);
+        }
+
+        /**
+         * parseDayOfWeek, This converts a two letter iCalendar weekday (MO, TU, ...) to a
+         * DayOfWeek.
+         */
+        private static DayOfWeek parseDayOfWeek(String value) {
+            switch (value) {
+                case "MO":
+                    return DayOfWeek.MONDAY;
+                case "TU":
+                    return DayOfWeek.TUESDAY;
+                case "WE":
+                    return DayOfWeek.WEDNESDAY;
+                case "TH":
+                    return DayOfWeek.THURSDAY;
+                case "FR":
+                    return DayOfWeek.FRIDAY;
+                case "SA":
+                    return DayOfWeek.SATURDAY;
+                case "SU":
+                    return DayOfWeek.SUNDAY;
+                default:
+                    throw new IllegalArgumentException("Unknown weekday: " + value);
+            }
+        }
+
+        /**
+         * parseUntilDateOrNull, This parses the date part of an iCalendar date value, or of a date
+         * with a time of day. This is used for rule UNTIL values, which may include a time of day
+         * even in the rules of all-day events.
+         */
+        private static LocalDate parseUntilDateOrNull(String value) {
+            if (value.length() < 8) {
+                return null;
+            }
+            try {
+                int year = Integer.parseInt(value.substring(0, 4));
+                int month = Integer.parseInt(value.substring(4, 6));
+                int day = Integer.parseInt(value.substring(6, 8));
+                return LocalDate.of(year, month, day);
+            } catch (RuntimeException ex) {
+                return null;
+            }
+        }
+
+        /**
+         * unescapeText, This removes the iCalendar escape sequences from a text value.
+         */
+        private static String unescapeText(String value) {
+            if (value.indexOf('\\') < 0) {
+                return value;
+            }
+            StringBuilder result = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); ++i) {
+                char character = value.charAt(i);
+                if (character == '\\' && i + 1 < value.length()) {
+                    char next = value.charAt(++i);
+                    result.append((next == 'n' || next == 'N') ? '\n' : next);
+                } else {
+                    result.append(character);
+                }
+            }
+            return result.toString();
+        }
+    }
+}
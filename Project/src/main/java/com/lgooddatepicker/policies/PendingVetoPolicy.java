@@ -0,0 +1,41 @@
+package com.lgooddatepicker.policies;
+
+import java.time.LocalDate;
+
+/**
+ * PendingVetoPolicy, This is an optional extension of the VetoPolicy interface. It can be
+ * implemented by veto policies that load their data in the background, and therefore do not always
+ * know yet whether a date is vetoed.
+ *
+ * While the data for a date has not arrived, the date is "pending". The calendar panel shows
+ * pending dates with the pending background color, and does not allow them to be selected. When
+ * new data arrives, the policy notifies its data arrival listeners, and the calendar panel redraws
+ * itself with the new data.
+ *
+ * A pending date must also be reported as vetoed by isDateVetoed(), so that a date cannot be
+ * chosen before its availability is known.
+ */
+public interface PendingVetoPolicy extends VetoPolicy {
+
+    /**
+     * addDataArrivalListener, This adds a listener that will be run each time that new data has
+     * arrived. Listeners are always run on the Swing event dispatch thread.
+     */
+    public void addDataArrivalListener(Runnable listener);
+
+    /**
+     * isDatePending, Implement this function to indicate which dates do not have their data yet.
+     * Return true to indicate that the data for a date has not arrived. Calling this function may
+     * start loading the data for the supplied date.
+     *
+     * Dates that are passed to this function will never be null.
+     */
+    public boolean isDatePending(LocalDate date);
+
+    /**
+     * removeDataArrivalListener, This removes a listener that was added with
+     * addDataArrivalListener().
+     */
+    public void removeDataArrivalListener(Runnable listener);
+
+}
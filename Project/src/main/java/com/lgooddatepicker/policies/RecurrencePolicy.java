@@ -0,0 +1,300 @@
+package com.lgooddatepicker.policies;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RecurrencePolicy, This is a built in policy that vetoes or highlights dates by using a list of
+ * recurrence rules. (See the RecurrenceRule interface.) A single instance can be used as a veto
+ * policy, as a highlight policy, or as both.
+ *
+ * The rules are not evaluated each time that a date is checked. Instead, the first time that any
+ * date in a year is requested, every day of that year is evaluated against the rules, and the
+ * results are stored in a bitmap for that year. After that, checking a date is a single bit test,
+ * no matter how many rules have been added. The bitmaps of the most recently used years are kept
+ * in a bounded cache.
+ *
+ * Example usage:
+ * <pre>
+ * RecurrencePolicy holidays = new RecurrencePolicy()
+ *         .addRule(RecurrenceRule.weekends())
+ *         .addRule(RecurrenceRule.fixedDate(Month.DECEMBER, 25), "Christmas Day")
+ *         .addRule(RecurrenceRule.easterRelative(1), "Easter Monday");
+ * datePickerSettings.vetoPolicy = holidays;
+ * </pre>
+ *
+ * Highlight text: Each rule can be given a highlight text, which is returned from
+ * getHighlightStringOrNull() for the dates that match the rule. If a date matches more than one
+ * rule, the text of the rule that was added first is used.
+ *
+ * Thread safety: The rules and the highlight texts are kept in arrays that are replaced (not
+ * changed) when a rule is added, so the results of a year are always evaluated against a consistent
+ * snapshot of the rules. A year is evaluated outside of the lock, and its results are only added
+ * to the cache if the cache was not cleared (or a rule added) during the evaluation.
+ */
+public class RecurrencePolicy implements BatchVetoPolicy, BatchHighlightPolicy {
+
+    /**
+     * defaultMaximumCachedYears, This is the default number of years whose results are kept in the
+     * cache.
+     */
+    final static public int defaultMaximumCachedYears = 16;
+
+    /**
+     * maximumRuleCount, This is the maximum number of rules that can be added to a policy.
+     */
+    final static private int maximumRuleCount = 255;
+
+    /**
+     * cache, This holds the results for the most recently used years, in access order. Access to
+     * the cache is synchronized on this policy instance.
+     */
+    final private LinkedHashMap<Integer, YearResults> cache;
+
+    /**
+     * cacheGeneration, This is incremented each time that the cache is cleared. Results that were
+     * evaluated during an older generation are not added to the cache. Access to this field is
+     * synchronized on this policy instance.
+     */
+    private int cacheGeneration = 0;
+
+    /**
+     * highlightTexts, This holds the highlight text for each rule, in the same order as the rules.
+     * This array is never changed. A new array is stored when a rule is added.
+     */
+    private volatile String[] highlightTexts = new String[0];
+
+    /**
+     * lastUsedResults, This holds the results of the year that was used most recently. This allows
+     * consecutive requests for the same year (for example, when drawing a month) to skip the cache
+     * lookup.
+     */
+    private volatile YearResults lastUsedResults = null;
+
+    /**
+     * rules, This holds the rules of this policy, in the order that they were added. This array is
+     * never changed. A new array is stored when a rule is added.
+     */
+    private volatile RecurrenceRule[] rules = new RecurrenceRule[0];
+
+    /**
+     * Constructor, This creates a policy without any rules, which uses the default cache size.
+     */
+    public RecurrencePolicy() {
+        this(defaultMaximumCachedYears);
+    }
+
+    /**
+     * Constructor, This creates a policy without any rules, which keeps the results for up to the
+     * supplied number of years in its cache.
+     */
+    public RecurrencePolicy(int maximumCachedYears) {
+        final int cacheSize = Math.max(1, maximumCachedYears);
+        cache = new LinkedHashMap<Integer, YearResults>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, YearResults> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * addRule, This adds a rule to this policy. Dates that match the rule are highlighted without a
+     * tooltip. This returns the policy, so that calls can be chained.
+     */
+    public RecurrencePolicy addRule(RecurrenceRule rule) {
+        return addRule(rule, "");
+    }
+
+    /**
+     * addRule, This adds a rule to this policy, with the supplied highlight text. The highlight
+     * text is used as the tooltip text for matching dates, when this policy is used as a highlight
+     * policy. This returns the policy, so that calls can be chained.
+     */
+    public synchronized RecurrencePolicy addRule(RecurrenceRule rule, String highlightText) {
+        if (rule == null) {
+            throw new IllegalArgumentException("The rule must not be null.");
+        }
+        if (rules.length >= maximumRuleCount) {
+            throw new IllegalStateException("A policy cannot have more than "
+                    + maximumRuleCount + " rules.");
+        }
+        RecurrenceRule[] newRules = Arrays.copyOf(rules, rules.length + 1);
+        newRules[rules.length] = rule;
+        String[] newHighlightTexts = Arrays.copyOf(highlightTexts, highlightTexts.length + 1);
+        newHighlightTexts[highlightTexts.length] = (highlightText == null) ? "" : highlightText;
+        rules = newRules;
+        highlightTexts = newHighlightTexts;
+        clearCache();
+        return this;
+    }
+
+    /**
+     * clearCache, This discards the cached results of every year.
+     */
+    public synchronized void clearCache() {
+        cache.clear();
+        ++cacheGeneration;
+        lastUsedResults = null;
+    }
+
+    /**
+     * getHighlightStringOrNull, This returns the highlight text of the first rule that matches the
+     * supplied date, or null if no rule matches the date.
+     */
+    @Override
+    public String getHighlightStringOrNull(LocalDate date) {
+        YearResults results = getYearResults(date.getYear());
+        int ruleNumber = results.getRuleNumber(date.getDayOfYear() - 1);
+        return (ruleNumber == 0) ? null : results.highlightTexts[ruleNumber - 1];
+    }
+
+    /**
+     * getHighlightStringsOfMonth, This returns the highlight text of the first rule that matches
+     * each date in the supplied month. See the BatchHighlightPolicy interface for details.
+     */
+    @Override
+    public String[] getHighlightStringsOfMonth(YearMonth yearMonth) {
+        YearResults results = getYearResults(yearMonth.getYear());
+        int firstDayIndex = yearMonth.atDay(1).getDayOfYear() - 1;
+        String[] result = new String[yearMonth.lengthOfMonth()];
+        for (int day = 0; day < result.length; ++day) {
+            int ruleNumber = results.getRuleNumber(firstDayIndex + day);
+            result[day] = (ruleNumber == 0) ? null : results.highlightTexts[ruleNumber - 1];
+        }
+        return result;
+    }
+
+    /**
+     * getVetoedDaysOfMonth, This returns a bit mask of the days in the supplied month that match
+     * any rule. See the BatchVetoPolicy interface for details.
+     */
+    @Override
+    public int getVetoedDaysOfMonth(YearMonth yearMonth) {
+        YearResults results = getYearResults(yearMonth.getYear());
+        int firstDayIndex = yearMonth.atDay(1).getDayOfYear() - 1;
+        int mask = 0;
+        for (int day = 0; day < yearMonth.lengthOfMonth(); ++day) {
+            if (results.contains(firstDayIndex + day)) {
+                mask |= (1 << day);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * getYearResults, This returns the results for the supplied year. If the year is not in the
+     * cache, then every day of the year is evaluated (outside of the lock) and the results are
+     * added to the cache. If the cache was cleared during the evaluation, the results are returned
+     * to the caller but are not cached, because they may have been evaluated with an older set of
+     * rules.
+     */
+    private YearResults getYearResults(int year) {
+        YearResults results = lastUsedResults;
+        if (results != null && results.year == year) {
+            return results;
+        }
+        RecurrenceRule[] rulesSnapshot;
+        String[] highlightTextsSnapshot;
+        int generation;
+        synchronized (this) {
+            results = cache.get(year);
+            if (results != null) {
+                lastUsedResults = results;
+                return results;
+            }
+            rulesSnapshot = rules;
+            highlightTextsSnapshot = highlightTexts;
+            generation = cacheGeneration;
+        }
+        results = new YearResults(year, rulesSnapshot, highlightTextsSnapshot);
+        synchronized (this) {
+            if (generation == cacheGeneration) {
+                cache.put(year, results);
+                lastUsedResults = results;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * isDateVetoed, This returns true if the supplied date matches any rule.
+     */
+    @Override
+    public boolean isDateVetoed(LocalDate date) {
+        return getYearResults(date.getYear()).contains(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * YearResults, This holds the evaluated rules for every day of a single year. The days of the
+     * year are numbered from 0 to 365.
+     */
+    private static final class YearResults {
+
+        /**
+         * bits, This holds one bit for each day of the year. A bit is set if the day matches any
+         * rule.
+         */
+        final long[] bits = new long[6];
+
+        /**
+         * highlightTexts, This holds the highlight texts of the rules that these results were
+         * evaluated with, in the same order as the rules.
+         */
+        final String[] highlightTexts;
+
+        /**
+         * ruleNumbers, This holds (one plus) the index of the first matching rule for each day of
+         * the year, or zero if no rule matches the day. The values are unsigned bytes.
+         */
+        final byte[] ruleNumbers;
+
+        /**
+         * year, This is the year of these results.
+         */
+        final int year;
+
+        /**
+         * Constructor, This evaluates every day of the supplied year against the supplied rules.
+         * The highlight texts must be in the same order as the rules.
+         */
+        YearResults(int year, RecurrenceRule[] rules, String[] highlightTexts) {
+            this.year = year;
+            this.highlightTexts = highlightTexts;
+            LocalDate date = LocalDate.ofYearDay(year, 1);
+            int lengthOfYear = date.lengthOfYear();
+            ruleNumbers = new byte[lengthOfYear];
+            for (int dayIndex = 0; dayIndex < lengthOfYear; ++dayIndex) {
+                for (int ruleIndex = 0; ruleIndex < rules.length; ++ruleIndex) {
+                    if (rules[ruleIndex].matches(date)) {
+                        bits[dayIndex >>> 6] |= (1L << (dayIndex & 63));
+                        ruleNumbers[dayIndex] = (byte) (ruleIndex + 1);
+                        break;
+                    }
+                }
+                // The day after the last day of the year 999999999 is not a valid date.
+                if (dayIndex + 1 < lengthOfYear) {
+                    date = date.plusDays(1);
+                }
+            }
+        }
+
+        /**
+         * contains, This returns true if the supplied day of the year matches any rule.
+         */
+        boolean contains(int dayIndex) {
+            return (bits[dayIndex >>> 6] & (1L << (dayIndex & 63))) != 0;
+        }
+
+        /**
+         * getRuleNumber, This returns (one plus) the index of the first rule that matches the
+         * supplied day of the year, or zero if no rule matches.
+         */
+        int getRuleNumber(int dayIndex) {
+            return ruleNumbers[dayIndex] & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.lgooddatepicker.policies;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.EnumSet;
+
+/**
+ * RecurrenceRule, A recurrence rule describes a set of dates that repeats every year, such as
+ * "every weekend", "the second Tuesday of each month", or "Easter Monday". Recurrence rules are
+ * used with the RecurrencePolicy class, which can use any number of rules to veto or highlight
+ * dates.
+ *
+ * The static functions in this interface create the most common kinds of rules. Custom rules can
+ * be created by implementing the matches() function, for example with a lambda expression.
+ *
+ * Implementations must be thread safe, and must always return the same result for the same date.
+ * (The RecurrencePolicy class caches the results.)
+ */
+public interface RecurrenceRule {
+
+    /**
+     * matches, Implement this function to indicate if the supplied date is included in this rule.
+     *
+     * Dates that are passed to this function will never be null.
+     */
+    public boolean matches(LocalDate date);
+
+    /**
+     * daysOfWeek, This returns a rule that matches every date that falls on any of the supplied
+     * days of the week.
+     */
+    public static RecurrenceRule daysOfWeek(DayOfWeek firstDayOfWeek,
+            DayOfWeek... otherDaysOfWeek) {
+        EnumSet<DayOfWeek> daysOfWeek = EnumSet.of(firstDayOfWeek, otherDaysOfWeek);
+        return date -> daysOfWeek.contains(date.getDayOfWeek());
+    }
+
+    /**
+     * dayOfWeekInMonth, This returns a rule that matches the n-th occurrence of the supplied day of
+     * the week in every month. For example, (2, TUESDAY) matches the second Tuesday of each month.
+     * A negative value counts from the end of the month, so (-1, FRIDAY) matches the last Friday
+     * of each month. The value of n must be from 1 to 5, or from -1 to -5.
+     */
+    public static RecurrenceRule dayOfWeekInMonth(int n, DayOfWeek dayOfWeek) {
+        if (n == 0 || n < -5 || n > 5) {
+            throw new IllegalArgumentException("The value of n must be from 1 to 5, or -1 to -5.");
+        }
+        return date -> {
+            if (date.getDayOfWeek() != dayOfWeek) {
+                return false;
+            }
+            if (n > 0) {
+                return ((date.getDayOfMonth() - 1) / 7) + 1 == n;
+            }
+            return ((date.lengthOfMonth() - date.getDayOfMonth()) / 7) + 1 == -n;
+        };
+    }
+
+    /**
+     * easterRelative, This returns a rule that matches the date that is the supplied number of days
+     * after Easter Sunday (Western, Gregorian calendar) in every year. For example, an offset of 0
+     * matches Easter Sunday, an offset of 1 matches Easter Monday, and an offset of -2 matches Good
+     * Friday. The offset may move the matching date into the previous or next year.
+     *
+     * The date of Easter Sunday is only computed when the year of the Easter Sunday that is being
+     * checked changes, so evaluating every day of a year computes it at most twice.
+     */
+    public static RecurrenceRule easterRelative(int offsetInDays) {
+        return new RecurrenceRule() {
+            /**
+             * lastEasterSunday, This holds the most recently computed Easter Sunday, or null.
+             */
+            private volatile LocalDate lastEasterSunday = null;
+
+            @Override
+            public boolean matches(LocalDate date) {
+                // This is the date that would be Easter Sunday, if the supplied date matches.
+                long easterEpochDay = date.toEpochDay() - offsetInDays;
+                if (easterEpochDay < LocalDate.MIN.toEpochDay()
+                        || easterEpochDay > LocalDate.MAX.toEpochDay()) {
+                    return false;
+                }
+                LocalDate easterCandidate = LocalDate.ofEpochDay(easterEpochDay);
+                LocalDate easterSunday = lastEasterSunday;
+                if (easterSunday == null || easterSunday.getYear() != easterCandidate.getYear()) {
+                    easterSunday = getEasterSunday(easterCandidate.getYear());
+                    lastEasterSunday = easterSunday;
+                }
+                return easterCandidate.equals(easterSunday);
+            }
+        };
+    }
+
+    /**
+     * fixedDate, This returns a rule that matches the supplied month and day of the month, in every
+     * year. For example, (DECEMBER, 25) matches Christmas Day. A rule for February 29th only
+     * matches dates in leap years.
+     */
+    public static RecurrenceRule fixedDate(Month month, int dayOfMonth) {
+        return date -> (date.getMonth() == month) && (date.getDayOfMonth() == dayOfMonth);
+    }
+
+    /**
+     * getEasterSunday, This returns the date of Easter Sunday in the supplied year, using the
+     * Gregorian computus (the "anonymous Gregorian algorithm").
+     */
+    public static LocalDate getEasterSunday(int year) {
+        int a = Math.floorMod(year, 19);
+        int b = Math.floorDiv(year, 100);
+        int c = Math.floorMod(year, 100);
+        int d = Math.floorDiv(b, 4);
+        int e = Math.floorMod(b, 4);
+        int f = Math.floorDiv(b + 8, 25);
+        int g = Math.floorDiv(b - f + 1, 3);
+        int h = Math.floorMod((19 * a) + b - d - g + 15, 30);
+        int i = Math.floorDiv(c, 4);
+        int k = Math.floorMod(c, 4);
+        int l = Math.floorMod(32 + (2 * e) + (2 * i) - h - k, 7);
+        int m = Math.floorDiv(a + (11 * h) + (22 * l), 451);
+        int month = Math.floorDiv(h + l - (7 * m) + 114, 31);
+        int day = Math.floorMod(h + l - (7 * m) + 114, 31) + 1;
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * weekends, This returns a rule that matches every Saturday and Sunday.
+     */
+    public static RecurrenceRule weekends() {
+        return daysOfWeek(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    }
+
+}
@@ -0,0 +1,428 @@
+package com.lgooddatepicker.policies;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.temporal.ChronoField;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.SwingUtilities;
+
+/**
+ * WindowedAvailabilityPolicy, This is a built in veto policy for booking style applications, where
+ * the availability of each date comes from a service that is expensive to call. (See the
+ * AvailabilitySource interface.)
+ *
+ * Windows: The availability is loaded in windows of whole months (by default, calendar quarters).
+ * When a date in a window is first requested, the whole window is requested from the source on a
+ * background thread. Until the window arrives, the dates in that window are "pending". Pending
+ * dates are vetoed, and are shown by the calendar panel with the pending background color. When the
+ * window arrives, the data arrival listeners are notified, and any open calendar is redrawn. The
+ * most recently used windows are kept in a bounded cache. A window is never removed from the cache
+ * while it is pending, and the cache always has room for all the windows of the most recently
+ * drawn range of months (plus the prefetched window). Otherwise a calendar that shows more months
+ * than the cache can hold would request the same windows again after every arrival.
+ *
+ * Prefetching: When the calendar moves from one window to another (for example, with the next
+ * month button), the next window in the same direction is also requested. This means that the
+ * data is usually already available when the user reaches it.
+ *
+ * Errors: If the source fails to load a window, the dates in that window are vetoed. The window is
+ * loaded again after it has left the cache, or after refresh() has been called.
+ *
+ * Example usage:
+ * <pre>
+ * WindowedAvailabilityPolicy availability = new WindowedAvailabilityPolicy(
+ *         (firstDate, lastDate) -> bookingService.getFullyBookedDates(firstDate, lastDate));
+ * datePickerSettings.vetoPolicy = availability;
+ * </pre>
+ */
+public class WindowedAvailabilityPolicy implements BatchVetoPolicy, PendingVetoPolicy {
+
+    /**
+     * defaultMaximumCachedWindows, This is the default number of windows that are kept in the
+     * cache.
+     */
+    final static public int defaultMaximumCachedWindows = 8;
+
+    /**
+     * defaultMonthsPerWindow, This is the default number of months in each window. (One calendar
+     * quarter.)
+     */
+    final static public int defaultMonthsPerWindow = 3;
+
+    /**
+     * maximumMonthIndex, This is the month index of the last month that a LocalDate can represent.
+     */
+    final static private long maximumMonthIndex
+            = YearMonth.of(Year.MAX_VALUE, 12).getLong(ChronoField.PROLEPTIC_MONTH);
+
+    /**
+     * minimumMonthIndex, This is the month index of the first month that a LocalDate can represent.
+     */
+    final static private long minimumMonthIndex
+            = YearMonth.of(Year.MIN_VALUE, 1).getLong(ChronoField.PROLEPTIC_MONTH);
+
+    /**
+     * dataArrivalListeners, This holds the listeners that are notified when a window arrives.
+     */
+    private final CopyOnWriteArrayList<Runnable> dataArrivalListeners
+            = new CopyOnWriteArrayList<>();
+
+    /**
+     * executor, This runs the requests to the availability source.
+     */
+    private final Executor executor;
+
+    /**
+     * lastDrawnMonthIndex, This is the month index (see getMonthIndex()) of the month that
+     * was most recently requested with getVetoedDaysOfMonth(), or the first month that was most
+     * recently requested with getVetoedDaysOfMonths(), or null if no month has been requested.
+     * This is used to find the direction of navigation. Access to this field is synchronized on
+     * this policy instance.
+     */
+    private Long lastDrawnMonthIndex = null;
+
+    /**
+     * lastDrawnWindowCount, This is the number of windows that were needed by the most recently
+     * drawn range of months. The cache is allowed to grow to this size (plus one for prefetching)
+     * even if it is larger than the maximum number of cached windows. Access to this field is
+     * synchronized on this policy instance.
+     */
+    private int lastDrawnWindowCount = 0;
+
+    /**
+     * maximumCachedWindows, This is the number of windows that are normally kept in the cache.
+     */
+    private final int maximumCachedWindows;
+
+    /**
+     * monthsPerWindow, This is the number of months in each window.
+     */
+    private final int monthsPerWindow;
+
+    /**
+     * source, This supplies the availability data.
+     */
+    private final AvailabilitySource source;
+
+    /**
+     * windows, This holds the most recently used windows, in access order. (See trimCache().)
+     * Access to this map is synchronized on this policy instance.
+     */
+    private final LinkedHashMap<Long, Window> windows;
+
+    /**
+     * Constructor, This creates a policy that loads quarter windows from the supplied source, on a
+     * background thread that belongs to this policy.
+     */
+    public WindowedAvailabilityPolicy(AvailabilitySource source) {
+        this(source, defaultMonthsPerWindow, defaultMaximumCachedWindows, null);
+    }
+
+    /**
+     * Constructor, This creates a policy that loads windows of the supplied number of months from
+     * the supplied source, and keeps up to the supplied number of windows in its cache. The windows
+     * are loaded with the supplied executor. If the executor is null, the windows are loaded on a
+     * background (daemon) thread that belongs to this policy.
+     */
+    public WindowedAvailabilityPolicy(AvailabilitySource source, int monthsPerWindow,
+            int maximumCachedWindows, Executor executor) {
+        if (source == null) {
+            throw new IllegalArgumentException("The availability source must not be null.");
+        }
+        if (monthsPerWindow < 1) {
+            throw new IllegalArgumentException("A window must contain at least one month.");
+        }
+        this.source = source;
+        this.monthsPerWindow = monthsPerWindow;
+        this.maximumCachedWindows = Math.max(2, maximumCachedWindows);
+        windows = new LinkedHashMap<>(this.maximumCachedWindows, 0.75f, true);
+        this.executor = (executor != null) ? executor : createDefaultExecutor();
+    }
+
+    /**
+     * addDataArrivalListener, This adds a listener that will be run on the event dispatch thread
+     * each time that a window has arrived.
+     */
+    @Override
+    public void addDataArrivalListener(Runnable listener) {
+        dataArrivalListeners.add(listener);
+    }
+
+    /**
+     * createDefaultExecutor, This creates an executor with a single daemon thread. A daemon thread
+     * does not prevent the application from exiting.
+     */
+    private static ExecutorService createDefaultExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WindowedAvailabilityPolicy");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * fireDataArrived, This notifies the data arrival listeners on the event dispatch thread.
+     */
+    private void fireDataArrived() {
+        SwingUtilities.invokeLater(() -> {
+            for (Runnable listener : dataArrivalListeners) {
+                listener.run();
+            }
+        });
+    }
+
+    /**
+     * getMonthIndex, This returns the month index of the supplied month. The month index is the
+     * number of months since January of the year zero. This is a long, because the month index of
+     * a LocalDate does not fit in an int.
+     */
+    private static long getMonthIndex(YearMonth yearMonth) {
+        return yearMonth.getLong(ChronoField.PROLEPTIC_MONTH);
+    }
+
+    /**
+     * getOrRequestWindow, This returns the window with the supplied window index. If the window is
+     * not in the cache, the window is requested from the source and returned in its pending state.
+     */
+    private synchronized Window getOrRequestWindow(long windowIndex) {
+        Window window = windows.get(windowIndex);
+        if (window == null) {
+            window = new Window(windowIndex, monthsPerWindow);
+            windows.put(windowIndex, window);
+            trimCache();
+            final Window requestedWindow = window;
+            executor.execute(() -> load(requestedWindow));
+        }
+        return window;
+    }
+
+    /**
+     * getVetoedDaysOfMonth, This returns a bit mask of the vetoed days in the supplied month. See
+     * the BatchVetoPolicy interface for details. Every day of a pending month is vetoed.
+     *
+     * This is called by the calendar panel each time that it draws a month, so it is also used to
+     * find the direction of navigation, and to prefetch the next window in that direction.
+     */
+    @Override
+    public int getVetoedDaysOfMonth(YearMonth yearMonth) {
+        // The window of the month is requested before any prefetched window.
+        long monthIndex = getMonthIndex(yearMonth);
+        setDrawnWindowCount(monthIndex, monthIndex);
+        int mask = getVetoedDaysOfMonthFromWindow(yearMonth);
+        prefetchInDirectionOfNavigation(monthIndex, monthIndex);
+        return mask;
+    }
+
+    /**
+     * getVetoedDaysOfMonths, This returns the bit masks of the vetoed days in the supplied range
+     * of months. See the BatchVetoPolicy interface for details. The whole range is treated as a
+     * single step of navigation, so only the window after the end of the range (in the direction
+     * of navigation) is prefetched.
+     */
+    @Override
+    public int[] getVetoedDaysOfMonths(YearMonth firstYearMonth, int monthCount) {
+        // The windows of the range are requested before any prefetched window.
+        int[] result = new int[monthCount];
+        long firstMonthIndex = getMonthIndex(firstYearMonth);
+        setDrawnWindowCount(firstMonthIndex, firstMonthIndex + monthCount - 1);
+        for (int i = 0; i < monthCount; ++i) {
+            result[i] = getVetoedDaysOfMonthFromWindow(firstYearMonth.plusMonths(i));
+        }
+        prefetchInDirectionOfNavigation(firstMonthIndex, firstMonthIndex + monthCount - 1);
+        return result;
+    }
+
+    /**
+     * getVetoedDaysOfMonthFromWindow, This returns a bit mask of the vetoed days in the supplied
+     * month, requesting the window of the month if needed. This does not affect the navigation
+     * direction.
+     */
+    private int getVetoedDaysOfMonthFromWindow(YearMonth yearMonth) {
+        long monthIndex = getMonthIndex(yearMonth);
+        Window window = getOrRequestWindow(Math.floorDiv(monthIndex, monthsPerWindow));
+        BitSet unavailable = window.unavailableDates;
+        int lengthOfMonth = yearMonth.lengthOfMonth();
+        if (unavailable == null) {
+            return (lengthOfMonth >= 32) ? -1 : ((1 << lengthOfMonth) - 1);
+        }
+        int firstBit = (int) (yearMonth.atDay(1).toEpochDay() - window.firstEpochDay);
+        int mask = 0;
+        for (int day = 0; day < lengthOfMonth; ++day) {
+            if (unavailable.get(firstBit + day)) {
+                mask |= (1 << day);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * getWindow, This returns the window that contains the supplied date, requesting it if needed.
+     */
+    private Window getWindow(LocalDate date) {
+        long monthIndex = getMonthIndex(YearMonth.from(date));
+        return getOrRequestWindow(Math.floorDiv(monthIndex, monthsPerWindow));
+    }
+
+    /**
+     * isDatePending, This returns true if the window that contains the supplied date has not
+     * arrived yet.
+     */
+    @Override
+    public boolean isDatePending(LocalDate date) {
+        return getWindow(date).unavailableDates == null;
+    }
+
+    /**
+     * isDateVetoed, This returns true if the supplied date is not available, if its window has not
+     * arrived yet, or if its window failed to load.
+     */
+    @Override
+    public boolean isDateVetoed(LocalDate date) {
+        Window window = getWindow(date);
+        BitSet unavailable = window.unavailableDates;
+        if (unavailable == null) {
+            return true;
+        }
+        return unavailable.get((int) (date.toEpochDay() - window.firstEpochDay));
+    }
+
+    /**
+     * load, This loads the supplied window from the source. This is run by the executor.
+     */
+    private void load(Window window) {
+        BitSet unavailable;
+        try {
+            BitSet result = source.loadUnavailableDates(
+                    LocalDate.ofEpochDay(window.firstEpochDay),
+                    LocalDate.ofEpochDay(window.firstEpochDay + window.dayCount - 1));
+            unavailable = (result == null) ? new BitSet() : (BitSet) result.clone();
+        } catch (Exception ex) {
+            // Veto the whole window.
+            unavailable = new BitSet(window.dayCount);
+            unavailable.set(0, window.dayCount);
+        }
+        window.unavailableDates = unavailable;
+        synchronized (this) {
+            // Windows that were kept while they were pending may now be removed.
+            trimCache();
+        }
+        fireDataArrived();
+    }
+
+    /**
+     * prefetchInDirectionOfNavigation, This is called when the calendar panel draws the supplied
+     * range of month indexes. If the first month has changed since the last draw, then the window
+     * just beyond the range, in the direction of the change, is requested. Windows outside of the
+     * range of LocalDate are never requested.
+     */
+    private synchronized void prefetchInDirectionOfNavigation(long firstMonthIndex,
+            long lastMonthIndex) {
+        if (lastDrawnMonthIndex != null && lastDrawnMonthIndex != firstMonthIndex) {
+            int direction = (firstMonthIndex > lastDrawnMonthIndex) ? 1 : -1;
+            long edgeMonthIndex = (direction > 0) ? lastMonthIndex : firstMonthIndex;
+            long windowIndex = Math.floorDiv(edgeMonthIndex, monthsPerWindow) + direction;
+            if (windowIndex >= Math.floorDiv(minimumMonthIndex, monthsPerWindow)
+                    && windowIndex <= Math.floorDiv(maximumMonthIndex, monthsPerWindow)) {
+                getOrRequestWindow(windowIndex);
+            }
+        }
+        lastDrawnMonthIndex = firstMonthIndex;
+    }
+
+    /**
+     * refresh, This discards every cached window. The windows will be loaded again from the source
+     * when they are next needed. The data arrival listeners are notified, so that any open calendar
+     * is redrawn (and requests its windows again).
+     */
+    public void refresh() {
+        synchronized (this) {
+            windows.clear();
+        }
+        fireDataArrived();
+    }
+
+    /**
+     * removeDataArrivalListener, This removes a listener that was added with
+     * addDataArrivalListener().
+     */
+    @Override
+    public void removeDataArrivalListener(Runnable listener) {
+        dataArrivalListeners.remove(listener);
+    }
+
+    /**
+     * setDrawnWindowCount, This records the number of windows that are needed by the supplied range
+     * of month indexes, which the calendar is about to draw. (See trimCache().)
+     */
+    private synchronized void setDrawnWindowCount(long firstMonthIndex, long lastMonthIndex) {
+        lastDrawnWindowCount = (int) (Math.floorDiv(lastMonthIndex, monthsPerWindow)
+                - Math.floorDiv(firstMonthIndex, monthsPerWindow) + 1);
+    }
+
+    /**
+     * trimCache, This removes the least recently used windows that have arrived, until the cache
+     * is no larger than its allowed size. Pending windows are never removed, because their data
+     * would be requested again as soon as it arrived. The allowed size is the maximum number of
+     * cached windows, or the number of windows in the most recently drawn range of months plus one
+     * (for the prefetched window), whichever is larger. This must be called while synchronized on
+     * this policy instance.
+     */
+    private void trimCache() {
+        int allowedSize = Math.max(maximumCachedWindows, lastDrawnWindowCount + 1);
+        Iterator<Window> iterator = windows.values().iterator();
+        while (windows.size() > allowedSize && iterator.hasNext()) {
+            if (iterator.next().unavailableDates != null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Window, This holds the availability data for a range of whole months. The first and last
+     * windows are shortened to the range of LocalDate, if needed.
+     */
+    private static final class Window {
+
+        /**
+         * dayCount, This is the number of days in this window.
+         */
+        final int dayCount;
+
+        /**
+         * firstEpochDay, This is the epoch day of the first day of this window.
+         */
+        final long firstEpochDay;
+
+        /**
+         * unavailableDates, This holds one bit for each day of the window, which is set if the day
+         * is not available. This is null until the window has arrived. The bit set is never
+         * modified after it has been assigned.
+         */
+        volatile BitSet unavailableDates = null;
+
+        Window(long windowIndex, int monthsPerWindow) {
+            long firstMonthIndex = Math.max(windowIndex * monthsPerWindow, minimumMonthIndex);
+            long lastMonthIndex = Math.min(
+                    ((windowIndex + 1) * monthsPerWindow) - 1, maximumMonthIndex);
+            firstEpochDay = getYearMonth(firstMonthIndex).atDay(1).toEpochDay();
+            long lastEpochDay = getYearMonth(lastMonthIndex).atEndOfMonth().toEpochDay();
+            dayCount = (int) (lastEpochDay - firstEpochDay + 1);
+        }
+
+        /**
+         * getYearMonth, This returns the month with the supplied month index. The month index must
+         * be inside the range of LocalDate.
+         */
+        private static YearMonth getYearMonth(long monthIndex) {
+            return YearMonth.of((int) Math.floorDiv(monthIndex, 12L),
+                    (int) Math.floorMod(monthIndex, 12L) + 1);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.lgooddatepicker.sandbox;
+
+import com.lgooddatepicker.core.DatePickerSettings;
+import com.lgooddatepicker.tableeditors.DateTableCellRenderer;
+import java.lang.ref.WeakReference;
+import java.time.LocalDate;
+import javax.swing.JTable;
+
+/**
+ * testDateStringCacheRelease, This class was written to check that the shared display string
+ * caches of the date table cell renderers do not keep their settings instances alive. Many
+ * renderers are created, each with its own settings instance, and each renderer formats some
+ * dates so that its cache is filled. The renderers are then dropped, and the garbage collector is
+ * run. Every settings instance must then be collected. (The cache map holds its settings keys
+ * weakly, so a settings instance that is still reachable means that a cache refers back to its
+ * key, and that the cache map never empties.) If any settings instance is still reachable, the
+ * failure is printed and the process exits with a status of 1. This class is not involved with the
+ * normal operation of the date pickers. This class does not need a display.
+ */
+public class testDateStringCacheRelease {
+
+    /**
+     * rendererCount, This is the number of renderers (and settings instances) that are created.
+     */
+    final static private int rendererCount = 200;
+
+    /**
+     * main, This only exists to run test functions.
+     */
+    public static void main(String[] args) throws Exception {
+        WeakReference<?>[] settingsReferences = createAndDropRenderers();
+        int reachableCount = rendererCount;
+        for (int attempt = 0; attempt < 10 && reachableCount > 0; ++attempt) {
+            System.gc();
+            Thread.sleep(100);
+            reachableCount = 0;
+            for (WeakReference<?> reference : settingsReferences) {
+                if (reference.get() != null) {
+                    ++reachableCount;
+                }
+            }
+        }
+        System.out.println("Settings instances still reachable after garbage collection: "
+                + reachableCount + " of " + rendererCount + ".");
+        if (reachableCount > 0) {
+            System.out.println("FAILED: The display string caches keep their settings alive.");
+            System.exit(1);
+        }
+        System.out.println("Passed.");
+    }
+
+    /**
+     * createAndDropRenderers, This creates the renderers, formats some dates with each renderer,
+     * and returns weak references to the settings of the renderers. No strong reference to a
+     * renderer or to its settings is kept.
+     */
+    private static WeakReference<?>[] createAndDropRenderers() {
+        WeakReference<?>[] settingsReferences = new WeakReference<?>[rendererCount];
+        JTable table = new JTable();
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < rendererCount; ++i) {
+            DatePickerSettings settings = new DatePickerSettings();
+            DateTableCellRenderer renderer = new DateTableCellRenderer(settings);
+            for (int day = 0; day < 20; ++day) {
+                renderer.getTableCellRendererComponent(
+                        table, date.plusDays(day), false, false, 0, 0);
+            }
+            settingsReferences[i] = new WeakReference<>(settings);
+        }
+        return settingsReferences;
+    }
+}
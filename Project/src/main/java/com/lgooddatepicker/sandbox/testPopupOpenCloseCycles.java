@@ -0,0 +1,163 @@
+package com.lgooddatepicker.sandbox;
+
+import com.lgooddatepicker.core.DatePicker;
+import com.lgooddatepicker.core.DatePickerSettings;
+import com.lgooddatepicker.utilities.TopWindowMovementListener;
+import java.awt.GridLayout;
+import java.awt.Window;
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+/**
+ * testPopupOpenCloseCycles, This class was written to check that opening and closing the calendar
+ * popups of many date pickers does not leave listeners or popup windows behind. A frame with many
+ * date pickers is shown, and the popups of the date pickers are opened and closed (in turn) for
+ * thousands of cycles. Some of the popups are closed by moving the frame, so that the shared top
+ * window movement listener is also exercised.
+ *
+ * The counts are first recorded after a warm up round of cycles, because the first popup of the
+ * frame adds listeners that are kept while the frame is showing. (The shared movement listener,
+ * and the listener that releases the shared popup window when the frame is hidden.) The frame
+ * keeps a single shared popup window, which is reused by every popup. After all the cycles, the
+ * counts must be the same as after the warm up, at most one popup window may be displayable, and
+ * no popup may be open. If any check fails, the failure is printed and the process exits with a
+ * status of 1. This class is not involved with the normal operation of the date pickers. This
+ * class needs a display.
+ */
+public class testPopupOpenCloseCycles {
+
+    /**
+     * cycleCount, This is the number of open and close cycles, not counting the warm up cycles.
+     */
+    final static private int cycleCount = 5000;
+
+    /**
+     * datePickerCount, This is the number of date pickers in the frame. A date picker will not
+     * open its popup within 200 milliseconds of being created or of closing its popup, so the
+     * popups are opened in turn. This is also the number of warm up cycles.
+     */
+    final static private int datePickerCount = 100;
+
+    /**
+     * main, This only exists to run test functions.
+     */
+    public static void main(String[] args) throws Exception {
+        DatePicker[] datePickers = new DatePicker[datePickerCount];
+        JFrame[] frame = new JFrame[1];
+        SwingUtilities.invokeAndWait(() -> {
+            frame[0] = new JFrame("testPopupOpenCloseCycles");
+            JPanel panel = new JPanel(new GridLayout(0, 5));
+            DatePickerSettings settings = new DatePickerSettings();
+            for (int i = 0; i < datePickerCount; ++i) {
+                datePickers[i] = new DatePicker(settings);
+                panel.add(datePickers[i]);
+            }
+            frame[0].getContentPane().add(panel);
+            frame[0].pack();
+            frame[0].setLocation(50, 50);
+            frame[0].setVisible(true);
+        });
+        // Wait until the new date pickers are allowed to open their popups.
+        Thread.sleep(250);
+        runCycles(frame[0], datePickers, datePickerCount);
+        Thread.sleep(500);
+        final int[] countsAfterWarmUp = getCounts(frame[0], datePickers);
+        long startNanoseconds = System.nanoTime();
+        int openedCount = runCycles(frame[0], datePickers, cycleCount);
+        long elapsedMilliseconds = (System.nanoTime() - startNanoseconds) / 1000000L;
+        // Give any pending events (such as the window movement events) a chance to run.
+        Thread.sleep(500);
+        System.gc();
+        final int[] countsAfterCycles = getCounts(frame[0], datePickers);
+        SwingUtilities.invokeAndWait(() -> frame[0].dispose());
+        System.out.println("Cycles: " + cycleCount + ", popups opened: " + openedCount
+                + ", elapsed: " + elapsedMilliseconds + " ms.");
+        String[] countNames = new String[]{"Frame component listeners",
+            "Displayable popup windows", "Windows with a movement listener", "Open popups"};
+        for (int i = 0; i < countNames.length; ++i) {
+            System.out.println(countNames[i] + ": after warm up " + countsAfterWarmUp[i]
+                    + ", after cycles " + countsAfterCycles[i] + ".");
+        }
+        boolean failed = false;
+        for (int i = 0; i < countNames.length; ++i) {
+            if (countsAfterCycles[i] > countsAfterWarmUp[i]) {
+                System.out.println("FAILED: " + countNames[i] + " grew.");
+                failed = true;
+            }
+        }
+        if (countsAfterCycles[1] > 1) {
+            System.out.println("FAILED: The frame should have at most one popup window.");
+            failed = true;
+        }
+        if (countsAfterCycles[3] != 0) {
+            System.out.println("FAILED: A popup was left open.");
+            failed = true;
+        }
+        if (openedCount == 0) {
+            System.out.println("FAILED: No popups were opened.");
+            failed = true;
+        }
+        if (failed) {
+            System.exit(1);
+        }
+        System.out.println("Passed.");
+        System.exit(0);
+    }
+
+    /**
+     * getCounts, This returns the counts that should not grow with the number of cycles. These are
+     * the number of component listeners of the frame, the number of displayable popup windows of
+     * the frame, the number of windows that have a movement listener, and the number of open
+     * popups.
+     */
+    private static int[] getCounts(final JFrame frame, final DatePicker[] datePickers)
+            throws Exception {
+        final int[] counts = new int[4];
+        SwingUtilities.invokeAndWait(() -> {
+            counts[0] = frame.getComponentListeners().length;
+            for (Window window : frame.getOwnedWindows()) {
+                if (window.isDisplayable()) {
+                    ++counts[1];
+                }
+            }
+            counts[2] = TopWindowMovementListener.getRegisteredWindowCount();
+            for (DatePicker datePicker : datePickers) {
+                if (datePicker.isPopupOpen()) {
+                    ++counts[3];
+                }
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * runCycles, This opens and closes the popups of the supplied date pickers (in turn) for the
+     * supplied number of cycles, and returns the number of popups that were opened. Every tenth
+     * popup is closed by moving the frame.
+     */
+    private static int runCycles(final JFrame frame, final DatePicker[] datePickers,
+            int cycles) throws Exception {
+        int openedCount = 0;
+        for (int cycle = 0; cycle < cycles; ++cycle) {
+            final DatePicker datePicker = datePickers[cycle % datePickers.length];
+            final boolean closeByMovingFrame = (cycle % 10 == 0);
+            final boolean[] opened = new boolean[1];
+            SwingUtilities.invokeAndWait(() -> {
+                datePicker.showPopup();
+                opened[0] = datePicker.isPopupOpen();
+            });
+            SwingUtilities.invokeAndWait(() -> {
+                if (closeByMovingFrame) {
+                    frame.setLocation(frame.getX() + 1, frame.getY());
+                } else {
+                    datePicker.closePopup();
+                }
+            });
+            if (opened[0]) {
+                ++openedCount;
+            }
+        }
+        return openedCount;
+    }
+}
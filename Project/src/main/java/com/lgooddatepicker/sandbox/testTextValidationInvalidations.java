@@ -0,0 +1,121 @@
+package com.lgooddatepicker.sandbox;
+
+import com.lgooddatepicker.core.DatePicker;
+import com.lgooddatepicker.core.DatePickerSettings;
+import java.awt.Font;
+import java.util.Locale;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+
+/**
+ * testTextValidationInvalidations, This class was written to count the layout invalidations that
+ * are caused by the text validation of a date picker, while text is typed into the date picker one
+ * character at a time. A repaint manager is installed that counts the components which request a
+ * revalidation. (A revalidation is requested, for example, when the font of the text field is
+ * changed.) The invalid date font is made italic, so that a change of the validity state of the
+ * text to or from the invalid state changes the font of the text field.
+ *
+ * Expected counts: Each typed character causes one invalidation, because the text field
+ * revalidates itself when its text changes. A character that changes the font of the text field
+ * causes two more invalidations (three in total). Any other character must not cause any more
+ * invalidations, so the text validation must not change the font (or anything else that affects
+ * the layout) unless the validity state changed. The number of font changes for each typed text is
+ * also checked. If any count is different from the expected count, the failure is printed and the
+ * process exits with a status of 1. This class is not involved with the normal operation of the
+ * date pickers. This class does not need a display.
+ */
+public class testTextValidationInvalidations {
+
+    /**
+     * invalidationCount, This counts the revalidation requests that reach the repaint manager.
+     */
+    private static int invalidationCount = 0;
+
+    /**
+     * failed, This indicates if any of the typed texts did not have the expected counts.
+     */
+    private static boolean failed = false;
+
+    /**
+     * main, This only exists to run test functions.
+     */
+    public static void main(String[] args) throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            RepaintManager.setCurrentManager(new RepaintManager() {
+                @Override
+                public void addInvalidComponent(JComponent invalidComponent) {
+                    ++invalidationCount;
+                    super.addInvalidComponent(invalidComponent);
+                }
+            });
+            // The font changes when the first character makes the text invalid, and again when
+            // the text first becomes a valid date. ("January 15, 2" is a valid date.)
+            testTypedText("January 15, 2021", 2);
+            testTypedText("1/15/2021", 2);
+            testTypedText("Janxuary 15", 1);
+        });
+        if (failed) {
+            System.exit(1);
+        }
+        System.out.println("Passed.");
+    }
+
+    /**
+     * testTypedText, This types the supplied text into a new date picker one character at a time,
+     * and prints the number of invalidations that were caused by each character. This checks the
+     * invalidations of each character against the expected count (see the class documentation),
+     * and checks that the font of the text field changed the supplied number of times.
+     */
+    public static void testTypedText(String typedText, int expectedFontChanges) {
+        DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+        settings.vetoPolicy = (date) -> (date.getDayOfMonth() == 1);
+        settings.fontInvalidDate = settings.fontInvalidDate.deriveFont(Font.ITALIC);
+        DatePicker datePicker = new DatePicker(settings);
+        JPanel container = new JPanel();
+        container.add(datePicker);
+        JTextField textField = datePicker.getComponentDateTextField();
+        Document document = textField.getDocument();
+        int totalInvalidations = 0;
+        int fontChanges = 0;
+        StringBuilder report = new StringBuilder();
+        StringBuilder failures = new StringBuilder();
+        for (int i = 0; i < typedText.length(); ++i) {
+            invalidationCount = 0;
+            Font fontBefore = textField.getFont();
+            try {
+                document.insertString(document.getLength(), typedText.substring(i, i + 1), null);
+            } catch (BadLocationException ex) {
+                throw new RuntimeException(ex);
+            }
+            boolean fontChanged = !textField.getFont().equals(fontBefore);
+            if (fontChanged) {
+                ++fontChanges;
+            }
+            int expectedInvalidations = fontChanged ? 3 : 1;
+            if (invalidationCount != expectedInvalidations) {
+                failures.append("    FAILED: '").append(typedText.charAt(i)).append("' caused ")
+                        .append(invalidationCount).append(" invalidations, expected ")
+                        .append(expectedInvalidations).append(".\n");
+            }
+            totalInvalidations += invalidationCount;
+            report.append(typedText.charAt(i)).append('=').append(invalidationCount).append(' ');
+        }
+        if (fontChanges != expectedFontChanges) {
+            failures.append("    FAILED: The font changed ").append(fontChanges)
+                    .append(" times, expected ").append(expectedFontChanges).append(".\n");
+        }
+        System.out.println("Typed \"" + typedText + "\": " + totalInvalidations
+                + " invalidations for " + typedText.length() + " characters, last valid date "
+                + datePicker.getDateOrNull() + ".");
+        System.out.println("    " + report.toString().trim());
+        if (failures.length() > 0) {
+            System.out.print(failures);
+            failed = true;
+        }
+    }
+}
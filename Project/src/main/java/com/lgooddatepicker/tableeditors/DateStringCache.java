@@ -0,0 +1,102 @@
+package com.lgooddatepicker.tableeditors;
+
+import java.time.LocalDate;
+import java.time.chrono.IsoEra;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import com.lgooddatepicker.core.DatePickerSettings;
+
+/**
+ * DateStringCache, This holds the display strings of recently formatted dates, for a single date
+ * picker settings instance. Every renderer that uses the same settings instance shares the same
+ * cache. A table column usually shows a limited set of distinct dates, so most cells can be drawn
+ * without formatting a date.
+ *
+ * The cache is cleared automatically if the display formatters of the settings are replaced.
+ *
+ * A cache does not refer to its settings instance. (The settings are supplied with each request.)
+ * A reference from the cache to its settings would keep the weakly referenced key of the cache
+ * map alive, so the cache could never be discarded.
+ *
+ * Thread safety: Instances of this class should only be used on the event dispatch thread.
+ */
+final class DateStringCache {
+
+    /**
+     * maximumCachedStrings, This is the maximum number of strings that are kept in each cache.
+     */
+    private static final int maximumCachedStrings = 4096;
+
+    /**
+     * caches, This holds the cache of each settings instance. The settings instances are weakly
+     * referenced, so a cache is discarded when its settings are no longer used.
+     */
+    private static final WeakHashMap<DatePickerSettings, DateStringCache> caches
+            = new WeakHashMap<>();
+
+    /**
+     * cachedFormatterAD, This is the AD formatter that was used to create the cached strings.
+     */
+    private DateTimeFormatter cachedFormatterAD = null;
+
+    /**
+     * cachedFormatterBC, This is the BC formatter that was used to create the cached strings.
+     */
+    private DateTimeFormatter cachedFormatterBC = null;
+
+    /**
+     * strings, This holds the display string of each recently formatted date, in access order.
+     */
+    private final LinkedHashMap<LocalDate, String> strings
+            = new LinkedHashMap<LocalDate, String>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<LocalDate, String> eldest) {
+                    return size() > maximumCachedStrings;
+                }
+            };
+
+    /**
+     * Constructor, This creates an empty cache. Instances are created with getInstance().
+     */
+    private DateStringCache() {
+    }
+
+    /**
+     * getInstance, This returns the shared cache for the supplied settings instance.
+     */
+    static synchronized DateStringCache getInstance(DatePickerSettings settings) {
+        DateStringCache cache = caches.get(settings);
+        if (cache == null) {
+            cache = new DateStringCache();
+            caches.put(settings, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * getDisplayString, This returns the supplied date, formatted with the display formatters of
+     * the supplied settings, in the same way that a date picker would display it. The settings
+     * must be the settings that this cache was created for. This returns an empty string if the
+     * date is null.
+     */
+    String getDisplayString(DatePickerSettings settings, LocalDate date) {
+        if (date == null) {
+            return "";
+        }
+        if (settings.displayFormatterAD != cachedFormatterAD
+                || settings.displayFormatterBC != cachedFormatterBC) {
+            strings.clear();
+            cachedFormatterAD = settings.displayFormatterAD;
+            cachedFormatterBC = settings.displayFormatterBC;
+        }
+        String displayString = strings.get(date);
+        if (displayString == null) {
+            displayString = (date.getEra() == IsoEra.CE)
+                    ? date.format(cachedFormatterAD) : date.format(cachedFormatterBC);
+            strings.put(date, displayString);
+        }
+        return displayString;
+    }
+}
@@ -0,0 +1,73 @@
+package com.lgooddatepicker.tableeditors;
+
+import java.time.LocalDate;
+import javax.swing.table.DefaultTableCellRenderer;
+import com.lgooddatepicker.core.DatePickerSettings;
+
+/**
+ * DateTableCellRenderer, This is a table cell renderer for LocalDate values. Dates are displayed
+ * with the display formats of a date picker settings instance, so a table column shows dates in
+ * exactly the same way as a date picker with the same settings.
+ *
+ * The formatted strings are kept in a cache that is shared by every renderer that uses the same
+ * settings instance. Drawing a cell is therefore usually as cheap as drawing a plain string cell.
+ * Null values are displayed as empty cells. Values that are not dates are displayed with their
+ * toString() function.
+ *
+ * Example usage:
+ * <pre>
+ * DatePickerSettings settings = new DatePickerSettings();
+ * table.setDefaultRenderer(LocalDate.class, new DateTableCellRenderer(settings));
+ * table.setDefaultEditor(LocalDate.class, new DateTableEditor(settings));
+ * </pre>
+ */
+public class DateTableCellRenderer extends DefaultTableCellRenderer {
+
+    /**
+     * displayStrings, This is the shared cache of display strings for the settings of this
+     * renderer.
+     */
+    private final DateStringCache displayStrings;
+
+    /**
+     * settings, This holds the settings whose display formats are used by this renderer.
+     */
+    private final DatePickerSettings settings;
+
+    /**
+     * Constructor with Default Values, This creates a renderer that uses a new date picker
+     * settings instance, with the default locale.
+     */
+    public DateTableCellRenderer() {
+        this(new DatePickerSettings());
+    }
+
+    /**
+     * Constructor with Custom Settings, This creates a renderer that uses the display formats of
+     * the supplied settings. The settings may be shared with a DateTableEditor or with date
+     * pickers.
+     */
+    public DateTableCellRenderer(DatePickerSettings settings) {
+        this.settings = settings;
+        this.displayStrings = DateStringCache.getInstance(settings);
+    }
+
+    /**
+     * getSettings, This returns the settings that are used by this renderer.
+     */
+    public DatePickerSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * setValue, This sets the text of the renderer to the display string of the supplied value.
+     */
+    @Override
+    protected void setValue(Object value) {
+        if (value instanceof LocalDate) {
+            setText(displayStrings.getDisplayString(settings, (LocalDate) value));
+        } else {
+            setText((value == null) ? "" : value.toString());
+        }
+    }
+}
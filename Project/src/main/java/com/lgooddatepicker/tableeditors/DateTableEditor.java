@@ -0,0 +1,219 @@
+package com.lgooddatepicker.tableeditors;
+
+import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.time.LocalDate;
+import java.util.EventObject;
+import javax.swing.AbstractAction;
+import javax.swing.AbstractCellEditor;
+import javax.swing.Action;
+import javax.swing.JComponent;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
+import javax.swing.table.TableCellEditor;
+import com.lgooddatepicker.core.DatePicker;
+import com.lgooddatepicker.core.DatePickerSettings;
+
+/**
+ * DateTableEditor, This is a table cell editor for LocalDate values. It edits dates with a date
+ * picker, so the user can type dates with the same parsing formats, or choose dates from the same
+ * calendar popup, as any other date picker with the same settings.
+ *
+ * A single date picker instance is created for each editor, and that instance is reused for every
+ * cell that is edited. The date picker is placed in the edited cell, so its calendar popup opens
+ * directly below the edited cell.
+ *
+ * Editing: Editing starts after a double click (by default) or when the user starts typing. When
+ * editing is started by a key, that key is passed on to the text field of the date picker, and the
+ * text of the previous date is replaced by the typed text. The enter key commits the last valid
+ * date of the date picker, and the escape key cancels the edit.
+ * Invalid or vetoed text is never committed. In that case, the last valid date is committed
+ * instead, just as the date picker does when it loses focus.
+ *
+ * Example usage:
+ * <pre>
+ * DatePickerSettings settings = new DatePickerSettings();
+ * table.setDefaultRenderer(LocalDate.class, new DateTableCellRenderer(settings));
+ * table.setDefaultEditor(LocalDate.class, new DateTableEditor(settings));
+ * </pre>
+ */
+public class DateTableEditor extends AbstractCellEditor implements TableCellEditor {
+
+    /**
+     * clickCountToStart, This is the number of mouse clicks that are needed to start editing a
+     * cell.
+     */
+    private int clickCountToStart = 2;
+
+    /**
+     * datePicker, This is the date picker that is shared by every edited cell.
+     */
+    private final DatePicker datePicker;
+
+    /**
+     * editingStartedByKey, This indicates if the current edit was started by a key event. This is
+     * set by isCellEditable(), which the table calls just before it asks for the editor component.
+     */
+    private boolean editingStartedByKey = false;
+
+    /**
+     * Constructor with Default Values, This creates an editor that uses a new date picker settings
+     * instance, with the default locale.
+     */
+    public DateTableEditor() {
+        this(new DatePickerSettings());
+    }
+
+    /**
+     * Constructor with Custom Settings, This creates an editor with a date picker that uses the
+     * supplied settings. The settings may be shared with a DateTableCellRenderer or with other
+     * date pickers.
+     */
+    public DateTableEditor(DatePickerSettings settings) {
+        datePicker = new DatePicker(settings) {
+            @Override
+            protected boolean processKeyBinding(KeyStroke keyStroke, KeyEvent e, int condition,
+                    boolean pressed) {
+                // The table passes the key that started the edit to the editor component, which is
+                // this date picker. Pass it on to the text field, so that the key is not lost.
+                if (condition == JComponent.WHEN_FOCUSED
+                        && processTextFieldKeyBinding(keyStroke, e)) {
+                    return true;
+                }
+                return super.processKeyBinding(keyStroke, e, condition, pressed);
+            }
+        };
+        JTextField dateTextField = datePicker.getComponentDateTextField();
+        // The table cell already has a border, so the text field does not need one.
+        dateTextField.setBorder(null);
+        // Commit the edit when the enter key is pressed.
+        String commitName = "commitDate";
+        dateTextField.getInputMap(JComponent.WHEN_FOCUSED).put(
+                KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), commitName);
+        dateTextField.getActionMap().put(commitName, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                stopCellEditing();
+            }
+        });
+    }
+
+    /**
+     * cancelCellEditing, This closes any open calendar popup, and cancels the edit.
+     */
+    @Override
+    public void cancelCellEditing() {
+        closePopupIfOpen();
+        super.cancelCellEditing();
+    }
+
+    /**
+     * closePopupIfOpen, This closes the calendar popup of the date picker, if it is open.
+     */
+    private void closePopupIfOpen() {
+        if (datePicker.isPopupOpen()) {
+            datePicker.closePopup();
+        }
+    }
+
+    /**
+     * getCellEditorValue, This returns the last valid date of the date picker, or null if the date
+     * picker is empty.
+     */
+    @Override
+    public Object getCellEditorValue() {
+        return datePicker.getDateOrNull();
+    }
+
+    /**
+     * getClickCountToStart, This returns the number of mouse clicks that are needed to start
+     * editing a cell.
+     */
+    public int getClickCountToStart() {
+        return clickCountToStart;
+    }
+
+    /**
+     * getDatePicker, This returns the date picker that is used by this editor. This is intended for
+     * customization of the date picker.
+     */
+    public DatePicker getDatePicker() {
+        return datePicker;
+    }
+
+    /**
+     * getTableCellEditorComponent, This sets the date picker to the value of the edited cell, and
+     * returns the date picker. Values that are not dates are treated as empty cells.
+     */
+    @Override
+    public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected,
+            int row, int column) {
+        closePopupIfOpen();
+        datePicker.setDate((value instanceof LocalDate) ? ((LocalDate) value) : null);
+        datePicker.setFont(table.getFont());
+        JTextField dateTextField = datePicker.getComponentDateTextField();
+        // When a key starts the edit, the typed text should replace the text of the previous date.
+        if (editingStartedByKey) {
+            dateTextField.selectAll();
+        }
+        // Give the text field the focus once the date picker has been placed in the cell.
+        SwingUtilities.invokeLater(() -> dateTextField.requestFocusInWindow());
+        return datePicker;
+    }
+
+    /**
+     * isCellEditable, This returns true if editing should start for the supplied event. Mouse
+     * events must have at least the configured number of clicks. Any other event starts editing.
+     */
+    @Override
+    public boolean isCellEditable(EventObject event) {
+        editingStartedByKey = (event instanceof KeyEvent);
+        if (event instanceof MouseEvent) {
+            return ((MouseEvent) event).getClickCount() >= clickCountToStart;
+        }
+        return true;
+    }
+
+    /**
+     * processTextFieldKeyBinding, This performs the action that the text field of the date picker
+     * has bound to the supplied key stroke, as if the text field had the focus. This returns true if
+     * an action was performed. (Typed characters are bound to the action that inserts them.)
+     */
+    // SwingUtilities.notifyAction() still takes the old style modifiers, as JComponent does.
+    @SuppressWarnings("deprecation")
+    private boolean processTextFieldKeyBinding(KeyStroke keyStroke, KeyEvent e) {
+        JTextField dateTextField = datePicker.getComponentDateTextField();
+        if (dateTextField == null || !dateTextField.isEnabled()) {
+            return false;
+        }
+        Object actionKey = dateTextField.getInputMap(JComponent.WHEN_FOCUSED).get(keyStroke);
+        Action action = (actionKey == null) ? null : dateTextField.getActionMap().get(actionKey);
+        if (action == null) {
+            return false;
+        }
+        return SwingUtilities.notifyAction(action, keyStroke, e, dateTextField,
+                e.getModifiers());
+    }
+
+    /**
+     * setClickCountToStart, This sets the number of mouse clicks that are needed to start editing
+     * a cell. The default value is 2.
+     */
+    public void setClickCountToStart(int clickCountToStart) {
+        this.clickCountToStart = clickCountToStart;
+    }
+
+    /**
+     * stopCellEditing, This closes any open calendar popup, and commits the last valid date of the
+     * date picker.
+     */
+    @Override
+    public boolean stopCellEditing() {
+        closePopupIfOpen();
+        return super.stopCellEditing();
+    }
+}
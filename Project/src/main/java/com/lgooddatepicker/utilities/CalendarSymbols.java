@@ -0,0 +1,114 @@
+package com.lgooddatepicker.utilities;
+
+import java.text.DateFormatSymbols;
+import java.time.DayOfWeek;
+import java.time.Month;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CalendarSymbols, This class holds the translated month names and weekday names that are displayed
+ * in the calendar panel, for a single locale. The names are retrieved from DateFormatSymbols only
+ * once per locale, and the instances are kept in a shared cache.
+ *
+ * The weekday names are stored in seven pre-ordered arrays, one for each possible first day of the
+ * week. This allows the calendar panel to set its weekday labels without any index calculations.
+ *
+ * The arrays returned by this class are shared, and must not be modified by the caller.
+ */
+public final class CalendarSymbols {
+
+    /**
+     * cache, This holds the calendar symbols for every locale that has been requested.
+     */
+    final static private ConcurrentHashMap<Locale, CalendarSymbols> cache
+            = new ConcurrentHashMap<>();
+
+    /**
+     * locale, This is the locale of these calendar symbols.
+     */
+    final private Locale locale;
+
+    /**
+     * monthNames, This holds the full name of every month, in the order January to December.
+     */
+    final private String[] monthNames;
+
+    /**
+     * shortWeekdaysByFirstDayOfWeek, This holds seven arrays of short weekday names. The array at
+     * index (firstDayOfWeek.getValue() - 1) holds the weekday names in the order that they are
+     * displayed when the calendar starts the week on firstDayOfWeek.
+     */
+    final private String[][] shortWeekdaysByFirstDayOfWeek;
+
+    /**
+     * Constructor, This retrieves and orders the symbols for the supplied locale. Instances should
+     * be retrieved from the getInstance() function.
+     */
+    private CalendarSymbols(Locale locale) {
+        this.locale = locale;
+        DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+        // Note: DateFormatSymbols.getMonths() returns 13 values. The last value is used only by
+        // lunar calendars, and is empty for the ISO calendar.
+        monthNames = new String[12];
+        System.arraycopy(symbols.getMonths(), 0, monthNames, 0, 12);
+        // Note: The DateFormatSymbols weekday array starts with Sunday at index 1.
+        String[] localShortDaysOfWeek = symbols.getShortWeekdays();
+        shortWeekdaysByFirstDayOfWeek = new String[7][];
+        for (DayOfWeek firstDayOfWeek : DayOfWeek.values()) {
+            String[] orderedWeekdays = new String[7];
+            for (int column = 0; column < 7; ++column) {
+                int isoDayOfWeek = firstDayOfWeek.plus(column).getValue();
+                orderedWeekdays[column] = localShortDaysOfWeek[(isoDayOfWeek % 7) + 1];
+            }
+            shortWeekdaysByFirstDayOfWeek[firstDayOfWeek.getValue() - 1] = orderedWeekdays;
+        }
+    }
+
+    /**
+     * getInstance, This returns the calendar symbols for the supplied locale. The symbols are only
+     * generated the first time that a locale is requested. This function is thread safe.
+     */
+    public static CalendarSymbols getInstance(Locale locale) {
+        CalendarSymbols symbols = cache.get(locale);
+        if (symbols == null) {
+            symbols = new CalendarSymbols(locale);
+            CalendarSymbols previous = cache.putIfAbsent(locale, symbols);
+            if (previous != null) {
+                symbols = previous;
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * getLocale, This returns the locale of these calendar symbols.
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * getMonthName, This returns the full translated name of the supplied month.
+     */
+    public String getMonthName(Month month) {
+        return monthNames[month.getValue() - 1];
+    }
+
+    /**
+     * getMonthNames, This returns the full translated names of all twelve months, in the order
+     * January to December. The returned array must not be modified.
+     */
+    public String[] getMonthNames() {
+        return monthNames;
+    }
+
+    /**
+     * getShortWeekdaysAsDisplayed, This returns the short translated names of the days of the
+     * week, in the order that they are displayed when the calendar week starts on the supplied
+     * first day of the week. The returned array must not be modified.
+     */
+    public String[] getShortWeekdaysAsDisplayed(DayOfWeek firstDayOfWeek) {
+        return shortWeekdaysByFirstDayOfWeek[firstDayOfWeek.getValue() - 1];
+    }
+}
@@ -2,26 +2,56 @@ package com.lgooddatepicker.utilities;
 
 import java.awt.Component;
 import java.awt.Window;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
+import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowFocusListener;
+import java.awt.event.WindowListener;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
+import javax.swing.JRootPane;
 import javax.swing.JWindow;
 import javax.swing.Popup;
+import javax.swing.RootPaneContainer;
 import com.lgooddatepicker.core.DatePicker;
 
 /**
  * CustomPopup, This class is used by the date picker, to supply the popup window for the calendar
  * panel. This class provides a fine control over when the popup opens and closes. This was created
  * to overcome particular shortcomings of the JPopupMenu class.
+ *
+ * Shared popup windows: Creating a window is expensive, because each window is a native
+ * (heavyweight) window. (This is especially slow in remote desktop sessions.) Only one date picker
+ * popup can be open at a time, so each owner window has a single shared popup window. Each popup
+ * moves the shared window, and swaps its own content into it. If a popup takes over the shared
+ * window while another popup is still open, the other popup is closed first.
+ *
+ * The shared window is stored as a client property of the root pane of its owner window, so the
+ * only references between them are the ones that the owner and its window already have. Nothing
+ * static refers to an owner window. The shared window is disposed (and forgotten) when its owner
+ * window is hidden or closed, so a hidden owner window that is discarded does not keep a native
+ * popup window alive. (A new shared window is created if the owner is shown again.) Owner windows
+ * that do not have a root pane get a new popup window for each popup, which is disposed when the
+ * popup is hidden.
+ *
+ * This class should only be used on the event dispatch thread.
  */
 public class CustomPopup extends Popup
         implements WindowFocusListener {
 
+    /**
+     * ownerlessSharedWindow, This is the shared popup window for popups that have no owner window,
+     * or null if it has not been created yet. (A JWindow without an owner uses the shared hidden
+     * owner frame of Swing, which exists for the life of the application.)
+     */
+    private static SharedWindow ownerlessSharedWindow = null;
+
     /**
      * displayWindow, This is the visible window that is used with this popup. The popup class does
      * not provide its own visible component. A visible component must be supplied by the
-     * implementation.
+     * implementation. This is the shared popup window of the owner window.
      */
     public JWindow displayWindow;
 
@@ -31,7 +61,14 @@ public class CustomPopup extends Popup
     private DatePicker parentDatePicker;
 
     /**
-     * Constructor, This creates and initializes instances of this class.
+     * sharedWindow, This is the shared popup window holder that is used by this popup.
+     */
+    private final SharedWindow sharedWindow;
+
+    /**
+     * Constructor, This creates and initializes instances of this class. This takes over the
+     * shared popup window of the supplied base (owner) window, and places the supplied component
+     * in it.
      */
     public CustomPopup(Window base, Component component, DatePicker parentDatePicker) {
         super();
@@ -39,24 +76,103 @@ public class CustomPopup extends Popup
         JPanel panel = new JPanel();
         panel.add(component);
         panel.setBorder(new JPopupMenu().getBorder());
-        displayWindow = new JWindow(base);
+        sharedWindow = getSharedWindow(base);
+        // If another popup still uses the shared window, close that popup first.
+        CustomPopup previousPopup = sharedWindow.currentPopup;
+        if (previousPopup != null && previousPopup.parentDatePicker != null) {
+            previousPopup.parentDatePicker.closePopup();
+        }
+        if (sharedWindow.currentPopup != null) {
+            sharedWindow.currentPopup.hide();
+        }
+        sharedWindow.currentPopup = this;
+        displayWindow = sharedWindow.window;
+        displayWindow.getContentPane().removeAll();
         displayWindow.getContentPane().add(panel);
-        displayWindow.setFocusable(true);
         displayWindow.pack();
         displayWindow.validate();
     }
 
+    /**
+     * getSharedWindow, This returns the shared popup window holder for the supplied owner window.
+     * If the owner does not have one yet, one is created and stored in the root pane of the owner.
+     * The new shared window is disposed (and forgotten) when the owner window is hidden or closed.
+     * If the owner does not have a root pane, this returns a new holder that is not shared.
+     */
+    private static SharedWindow getSharedWindow(final Window owner) {
+        if (owner == null) {
+            if (ownerlessSharedWindow == null) {
+                ownerlessSharedWindow = new SharedWindow(new JWindow((Window) null), true);
+            }
+            return ownerlessSharedWindow;
+        }
+        if (!(owner instanceof RootPaneContainer)) {
+            return new SharedWindow(new JWindow(owner), false);
+        }
+        final JRootPane rootPane = ((RootPaneContainer) owner).getRootPane();
+        Object property = rootPane.getClientProperty(SharedWindow.class);
+        if (property instanceof SharedWindow) {
+            return (SharedWindow) property;
+        }
+        final SharedWindow shared = new SharedWindow(new JWindow(owner), true);
+        rootPane.putClientProperty(SharedWindow.class, shared);
+        // Release the shared window when the owner is hidden or closed.
+        shared.hiddenListener = new ComponentAdapter() {
+            @Override
+            public void componentHidden(ComponentEvent e) {
+                releaseSharedWindow(owner, rootPane, shared);
+            }
+        };
+        shared.closedListener = new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                releaseSharedWindow(owner, rootPane, shared);
+            }
+        };
+        owner.addComponentListener(shared.hiddenListener);
+        owner.addWindowListener(shared.closedListener);
+        return shared;
+    }
+
     /**
      * hide, This hides the popup window. This also removes this class from the list of window
-     * listeners for the popup window.
+     * listeners for the popup window, and removes the content of this popup from the shared popup
+     * window, so that the content can be released. The shared popup window itself is kept for the
+     * next popup. If another popup has already taken over the shared window, then the shared window
+     * is not changed.
      */
     @Override
     public void hide() {
-        displayWindow.setVisible(false);
         displayWindow.removeWindowFocusListener(this);
+        if (sharedWindow.currentPopup == this) {
+            sharedWindow.currentPopup = null;
+            displayWindow.setVisible(false);
+            displayWindow.getContentPane().removeAll();
+            if (!sharedWindow.shared) {
+                displayWindow.dispose();
+            }
+        }
         parentDatePicker = null;
     }
 
+    /**
+     * releaseSharedWindow, This disposes the supplied shared window of the supplied owner window,
+     * removes it from the root pane of the owner, and removes the listeners that were added by
+     * getSharedWindow().
+     */
+    private static void releaseSharedWindow(Window owner, JRootPane rootPane,
+            SharedWindow shared) {
+        owner.removeComponentListener(shared.hiddenListener);
+        owner.removeWindowListener(shared.closedListener);
+        if (rootPane.getClientProperty(SharedWindow.class) == shared) {
+            rootPane.putClientProperty(SharedWindow.class, null);
+        }
+        shared.currentPopup = null;
+        shared.hiddenListener = null;
+        shared.closedListener = null;
+        shared.window.dispose();
+    }
+
     /**
      * setLocation, This gives external classes the ability to change location of the popup window.
      * (By default, external classes only have access to the functions of the Popup class.)
@@ -71,6 +187,9 @@ public class CustomPopup extends Popup
      */
     @Override
     public void show() {
+        if (sharedWindow.currentPopup != this) {
+            return;
+        }
         displayWindow.addWindowFocusListener(this);
         displayWindow.setVisible(true);
     }
@@ -87,6 +206,53 @@ public class CustomPopup extends Popup
      */
     @Override
     public void windowLostFocus(WindowEvent e) {
-        parentDatePicker.closePopup();
+        // The popup may already have been hidden (for example, if the focus event was still in
+        // the event queue when the popup was closed).
+        DatePicker datePicker = parentDatePicker;
+        if (datePicker != null) {
+            datePicker.closePopup();
+        }
+    }
+
+    /**
+     * SharedWindow, This holds the shared popup window of an owner window, and the popup that is
+     * currently using it.
+     */
+    private static final class SharedWindow {
+
+        /**
+         * closedListener, This is the window listener that releases the shared window when its
+         * owner is closed, or null if there is no such listener.
+         */
+        WindowListener closedListener = null;
+
+        /**
+         * currentPopup, This is the popup that is currently using the shared window, or null if
+         * the shared window is not in use.
+         */
+        CustomPopup currentPopup = null;
+
+        /**
+         * hiddenListener, This is the component listener that releases the shared window when its
+         * owner is hidden, or null if there is no such listener.
+         */
+        ComponentListener hiddenListener = null;
+
+        /**
+         * shared, This is true if the window is kept for the next popup. If this is false, the
+         * window is disposed when its popup is hidden.
+         */
+        final boolean shared;
+
+        /**
+         * window, This is the shared popup window.
+         */
+        final JWindow window;
+
+        SharedWindow(JWindow window, boolean shared) {
+            this.window = window;
+            this.shared = shared;
+            window.setFocusable(true);
+        }
     }
 }
@@ -0,0 +1,227 @@
+package com.lgooddatepicker.utilities;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MonthGrid, This is an immutable model of the 42 date cells (6 rows of 7 days) that are displayed
+ * for a single month in a calendar panel. The grid is defined by a YearMonth, and by the day of the
+ * week that is displayed in the far left column. This class does not depend on any Swing
+ * components, so it can be used (and tested) without a display.
+ *
+ * Cell indexes are numbered from 0 to 41, from left to right and then from top to bottom. The first
+ * day of the month is always located in the first row of the grid. Cells that come before the
+ * first day of the month, or after the last day of the month, belong to the adjacent months.
+ *
+ * Instances should be retrieved with MonthGrid.getInstance(). Recently used grids are kept in a
+ * bounded cache that is shared by all calendar panels.
+ */
+public final class MonthGrid {
+
+    /**
+     * cellCount, This is the number of date cells in every month grid.
+     */
+    final static public int cellCount = 42;
+
+    /**
+     * maximumCacheSize, This is the maximum number of month grids that will be kept in the shared
+     * cache. When the cache is full, the least recently used grid is discarded.
+     */
+    final static private int maximumCacheSize = 64;
+
+    /**
+     * cache, This holds the most recently used month grids, in access order. The key is generated
+     * by the function getCacheKey(). Access to the cache is synchronized on the cache instance.
+     */
+    final static private LinkedHashMap<Long, MonthGrid> cache
+            = new LinkedHashMap<Long, MonthGrid>(maximumCacheSize, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, MonthGrid> eldest) {
+                    return size() > maximumCacheSize;
+                }
+            };
+
+    /**
+     * daysOfMonth, This holds the day of the month for every cell in the grid, including the cells
+     * that belong to the adjacent months.
+     */
+    final private byte[] daysOfMonth;
+
+    /**
+     * firstCellEpochDay, This is the epoch day of the top left cell in the grid.
+     */
+    final private long firstCellEpochDay;
+
+    /**
+     * firstDayOfWeek, This is the day of the week that is displayed in the far left column.
+     */
+    final private DayOfWeek firstDayOfWeek;
+
+    /**
+     * firstDayOfMonthCellIndex, This is the cell index of the first day of the month. This will
+     * always be a value from 0 to 6.
+     */
+    final private int firstDayOfMonthCellIndex;
+
+    /**
+     * lengthOfMonth, This is the number of days in the month of the grid.
+     */
+    final private int lengthOfMonth;
+
+    /**
+     * yearMonth, This is the year and month that is represented by this grid.
+     */
+    final private YearMonth yearMonth;
+
+    /**
+     * Constructor, This calculates the layout of the grid. Instances should be retrieved from the
+     * getInstance() function, so that they can be reused.
+     *
+     * Implementation note: The length of the month is taken from java.time.YearMonth, which
+     * correctly handles negative (ISO 8601) years. For example, the year "-0004" is a leap year,
+     * and February of that year has 29 days.
+     */
+    private MonthGrid(YearMonth yearMonth, DayOfWeek firstDayOfWeek) {
+        this.yearMonth = yearMonth;
+        this.firstDayOfWeek = firstDayOfWeek;
+        LocalDate firstDayOfMonth = yearMonth.atDay(1);
+        this.lengthOfMonth = yearMonth.lengthOfMonth();
+        this.firstDayOfMonthCellIndex = Math.floorMod(
+                firstDayOfMonth.getDayOfWeek().getValue() - firstDayOfWeek.getValue(), 7);
+        this.firstCellEpochDay = firstDayOfMonth.toEpochDay() - firstDayOfMonthCellIndex;
+        int lengthOfPreviousMonth = yearMonth.minusMonths(1).lengthOfMonth();
+        daysOfMonth = new byte[cellCount];
+        for (int cellIndex = 0; cellIndex < cellCount; ++cellIndex) {
+            int dayOfMonth = cellIndex - firstDayOfMonthCellIndex + 1;
+            if (dayOfMonth < 1) {
+                dayOfMonth += lengthOfPreviousMonth;
+            } else if (dayOfMonth > lengthOfMonth) {
+                dayOfMonth -= lengthOfMonth;
+            }
+            daysOfMonth[cellIndex] = (byte) dayOfMonth;
+        }
+    }
+
+    /**
+     * getInstance, This returns the month grid for the specified year and month, and the specified
+     * first day of the week. Grids are retrieved from a shared cache when possible. This function
+     * is thread safe.
+     */
+    public static MonthGrid getInstance(YearMonth yearMonth, DayOfWeek firstDayOfWeek) {
+        Long key = getCacheKey(yearMonth, firstDayOfWeek);
+        synchronized (cache) {
+            MonthGrid grid = cache.get(key);
+            if (grid == null) {
+                grid = new MonthGrid(yearMonth, firstDayOfWeek);
+                cache.put(key, grid);
+            }
+            return grid;
+        }
+    }
+
+    /**
+     * getCacheKey, This combines a year, a month, and a first day of the week into a single cache
+     * key. The proleptic month is the number of months since year zero, and the day of week value
+     * fits into the lowest three bits.
+     */
+    private static Long getCacheKey(YearMonth yearMonth, DayOfWeek firstDayOfWeek) {
+        long prolepticMonth = (yearMonth.getYear() * 12L) + (yearMonth.getMonthValue() - 1);
+        return (prolepticMonth << 3) | firstDayOfWeek.getValue();
+    }
+
+    /**
+     * getCellIndexOrNegativeOne, This returns the cell index of the supplied date, if that date is
+     * located inside the current month. Otherwise this returns -1.
+     */
+    public int getCellIndexOrNegativeOne(LocalDate date) {
+        if (date == null) {
+            return -1;
+        }
+        long cellIndex = date.toEpochDay() - firstCellEpochDay;
+        if (cellIndex < firstDayOfMonthCellIndex
+                || cellIndex >= firstDayOfMonthCellIndex + lengthOfMonth) {
+            return -1;
+        }
+        return (int) cellIndex;
+    }
+
+    /**
+     * getDayOfMonth, This returns the day of the month for the specified cell. For cells that are
+     * outside of the current month, this returns the day of the month in the adjacent month.
+     */
+    public int getDayOfMonth(int cellIndex) {
+        return daysOfMonth[cellIndex];
+    }
+
+    /**
+     * getDayOfWeekForColumn, This returns the day of the week that is displayed in the specified
+     * column. Columns are numbered from 0 to 6.
+     */
+    public DayOfWeek getDayOfWeekForColumn(int column) {
+        return firstDayOfWeek.plus(column);
+    }
+
+    /**
+     * getEpochDay, This returns the epoch day of the specified cell. (See LocalDate.toEpochDay()
+     * for details.)
+     */
+    public long getEpochDay(int cellIndex) {
+        return firstCellEpochDay + cellIndex;
+    }
+
+    /**
+     * getFirstCellEpochDay, This returns the epoch day of the top left cell in the grid.
+     */
+    public long getFirstCellEpochDay() {
+        return firstCellEpochDay;
+    }
+
+    /**
+     * getFirstDayOfMonthCellIndex, This returns the cell index of the first day of the month. This
+     * will always be a value from 0 to 6.
+     */
+    public int getFirstDayOfMonthCellIndex() {
+        return firstDayOfMonthCellIndex;
+    }
+
+    /**
+     * getFirstDayOfWeek, This returns the day of the week that is displayed in the far left column.
+     */
+    public DayOfWeek getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    /**
+     * getLengthOfMonth, This returns the number of days in the month of this grid.
+     */
+    public int getLengthOfMonth() {
+        return lengthOfMonth;
+    }
+
+    /**
+     * getYearMonth, This returns the year and month that is represented by this grid.
+     */
+    public YearMonth getYearMonth() {
+        return yearMonth;
+    }
+
+    /**
+     * isInMonth, This returns true if the specified cell holds a day of the current month. This
+     * returns false if the cell belongs to the previous month or the next month.
+     */
+    public boolean isInMonth(int cellIndex) {
+        return (cellIndex >= firstDayOfMonthCellIndex)
+                && (cellIndex < firstDayOfMonthCellIndex + lengthOfMonth);
+    }
+
+    /**
+     * toString, This returns a short description of the grid, for debugging purposes.
+     */
+    @Override
+    public String toString() {
+        return "MonthGrid[" + yearMonth + ", " + firstDayOfWeek + "]";
+    }
+}
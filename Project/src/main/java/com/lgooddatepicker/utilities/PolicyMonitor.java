@@ -0,0 +1,659 @@
+package com.lgooddatepicker.utilities;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.concurrent.CopyOnWriteArrayList;
+import com.lgooddatepicker.core.DatePickerSettings;
+import com.lgooddatepicker.policies.BatchHighlightPolicy;
+import com.lgooddatepicker.policies.BatchVetoPolicy;
+import com.lgooddatepicker.policies.HighlightPolicy;
+import com.lgooddatepicker.policies.PendingVetoPolicy;
+import com.lgooddatepicker.policies.VetoPolicy;
+
+/**
+ * PolicyMonitor, This is an optional tool that measures the time that is spent in the veto policy
+ * and the highlight policy of a date picker. It is intended to help find policies that slow down
+ * the user interface.
+ *
+ * Installing a monitor replaces the policies in a settings instance with wrappers that time every
+ * call, and then pass the call to the original policies. For each call site (drawing the calendar,
+ * typing in the text field, validating text, and selecting a date), the monitor records the number
+ * of calls, the total and maximum duration, and a latency histogram. The wrappers keep the optional
+ * capabilities of the original policies. (See BatchVetoPolicy, PendingVetoPolicy, and
+ * BatchHighlightPolicy.)
+ *
+ * Budgets: When a single call takes longer than the call budget, or when all the calls made during
+ * a single visit to a call site (such as a single draw of a month) take longer than the site
+ * budget, the monitor notifies its listeners. (See PolicyMonitorListener.) Listeners are the
+ * intended way to act on budgets. Logging is off by default, because a message for every slow call
+ * can flood the console of an application. If logging is enabled, the monitor also prints a message
+ * for each exceeded budget, which can be useful while debugging.
+ *
+ * Example usage:
+ * <pre>
+ * PolicyMonitor monitor = PolicyMonitor.install(datePickerSettings);
+ * monitor.setCallBudgetNanoseconds(500_000);
+ * // Later...
+ * System.out.println(monitor.getReport());
+ * </pre>
+ *
+ * Notes: A monitor should be installed after the policies have been set in the settings. If a
+ * policy is replaced after the monitor was installed, the new policy is not monitored. The call
+ * site of a call is only known on the thread that entered the call site (the event dispatch
+ * thread). Calls from other threads, and calls made outside of the date picker, are recorded under
+ * the OTHER call site.
+ */
+public class PolicyMonitor {
+
+    /**
+     * CallSite, This indicates where in the date picker a policy was called from.
+     */
+    public enum CallSite {
+        /**
+         * DRAW, The calendar panel is drawing a month.
+         */
+        DRAW,
+        /**
+         * TYPING, The date picker is validating the text field after its text has changed.
+         */
+        TYPING,
+        /**
+         * TEXT_VALIDATION, The isTextValid() function of a date picker was called.
+         */
+        TEXT_VALIDATION,
+        /**
+         * SELECTION, The user selected a date in the calendar panel.
+         */
+        SELECTION,
+        /**
+         * OTHER, The policy was called from any other place or thread.
+         */
+        OTHER
+    }
+
+    /**
+     * defaultCallBudgetNanoseconds, This is the default budget for a single policy call. (One
+     * millisecond.)
+     */
+    final static public long defaultCallBudgetNanoseconds = 1_000_000L;
+
+    /**
+     * defaultSiteBudgetNanoseconds, This is the default budget for all the policy calls made
+     * during a single visit to a call site. (Sixteen milliseconds, about one frame.)
+     */
+    final static public long defaultSiteBudgetNanoseconds = 16_000_000L;
+
+    /**
+     * activeMonitors, This holds every installed monitor. The monitors are told when a visit to a
+     * call site ends.
+     */
+    private static final CopyOnWriteArrayList<PolicyMonitor> activeMonitors
+            = new CopyOnWriteArrayList<>();
+
+    /**
+     * currentCallSite, This holds the call site that the current thread is visiting.
+     */
+    private static final ThreadLocal<CallSite> currentCallSite
+            = ThreadLocal.withInitial(() -> CallSite.OTHER);
+
+    /**
+     * callBudgetNanoseconds, This is the budget for a single policy call.
+     */
+    private volatile long callBudgetNanoseconds = defaultCallBudgetNanoseconds;
+
+    /**
+     * highlightStatistics, This holds the statistics of the highlight policy, for each call site.
+     */
+    private final CallStatistics[] highlightStatistics = createStatistics();
+
+    /**
+     * listeners, This holds the listeners that are notified when a budget is exceeded.
+     */
+    private final CopyOnWriteArrayList<PolicyMonitorListener> listeners
+            = new CopyOnWriteArrayList<>();
+
+    /**
+     * loggingEnabled, This indicates if a message should be printed when a budget is exceeded.
+     */
+    private volatile boolean loggingEnabled = false;
+
+    /**
+     * originalHighlightPolicy, This is the highlight policy that was in the settings when this
+     * monitor was installed.
+     */
+    private final HighlightPolicy originalHighlightPolicy;
+
+    /**
+     * originalVetoPolicy, This is the veto policy that was in the settings when this monitor was
+     * installed.
+     */
+    private final VetoPolicy originalVetoPolicy;
+
+    /**
+     * settings, This is the settings instance that this monitor was installed into.
+     */
+    private final DatePickerSettings settings;
+
+    /**
+     * siteBudgetNanoseconds, This is the budget for all the policy calls that are made during a
+     * single visit to a call site.
+     */
+    private volatile long siteBudgetNanoseconds = defaultSiteBudgetNanoseconds;
+
+    /**
+     * visitCallCount, This counts the policy calls made during the current call site visit.
+     */
+    private int visitCallCount = 0;
+
+    /**
+     * visitNanoseconds, This is the total duration of the policy calls made during the current
+     * call site visit.
+     */
+    private long visitNanoseconds = 0;
+
+    /**
+     * vetoStatistics, This holds the statistics of the veto policy, for each call site.
+     */
+    private final CallStatistics[] vetoStatistics = createStatistics();
+
+    /**
+     * Constructor, This creates a monitor for the supplied settings. Monitors are created with the
+     * install() function.
+     */
+    private PolicyMonitor(DatePickerSettings settings) {
+        this.settings = settings;
+        this.originalVetoPolicy = settings.vetoPolicy;
+        this.originalHighlightPolicy = settings.highlightPolicy;
+    }
+
+    /**
+     * addListener, This adds a listener that is notified when a budget is exceeded.
+     */
+    public void addListener(PolicyMonitorListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * createStatistics, This creates one statistics instance for each call site.
+     */
+    private static CallStatistics[] createStatistics() {
+        CallStatistics[] statistics = new CallStatistics[CallSite.values().length];
+        for (int i = 0; i < statistics.length; ++i) {
+            statistics[i] = new CallStatistics();
+        }
+        return statistics;
+    }
+
+    /**
+     * enterCallSite, This is called by the date picker classes before they call the policies from
+     * the supplied call site. This returns the previous call site of the current thread, which
+     * must be passed to exitCallSite() afterwards. This function is very cheap when no monitor is
+     * installed.
+     */
+    public static CallSite enterCallSite(CallSite callSite) {
+        if (activeMonitors.isEmpty()) {
+            return null;
+        }
+        CallSite previousCallSite = currentCallSite.get();
+        currentCallSite.set(callSite);
+        return previousCallSite;
+    }
+
+    /**
+     * exitCallSite, This is called by the date picker classes after they have finished calling the
+     * policies from a call site. The supplied value must be the value that was returned by
+     * enterCallSite(). The installed monitors check the site budget at this time.
+     */
+    public static void exitCallSite(CallSite previousCallSite) {
+        if (previousCallSite == null) {
+            return;
+        }
+        CallSite callSite = currentCallSite.get();
+        currentCallSite.set(previousCallSite);
+        for (PolicyMonitor monitor : activeMonitors) {
+            monitor.endVisit(callSite);
+        }
+    }
+
+    /**
+     * endVisit, This checks the site budget for the call site visit that just ended, and starts a
+     * new visit.
+     */
+    private void endVisit(CallSite callSite) {
+        int callCount;
+        long nanoseconds;
+        synchronized (this) {
+            callCount = visitCallCount;
+            nanoseconds = visitNanoseconds;
+            visitCallCount = 0;
+            visitNanoseconds = 0;
+        }
+        if (callCount > 0 && nanoseconds > siteBudgetNanoseconds) {
+            if (loggingEnabled) {
+                System.out.println("PolicyMonitor: " + callCount + " policy calls during "
+                        + callSite + " took " + (nanoseconds / 1000) + " microseconds.");
+            }
+            for (PolicyMonitorListener listener : listeners) {
+                listener.callSiteOverBudget(this, callSite, callCount, nanoseconds);
+            }
+        }
+    }
+
+    /**
+     * getHighlightStatistics, This returns the statistics of the highlight policy, for the
+     * supplied call site.
+     */
+    public CallStatistics getHighlightStatistics(CallSite callSite) {
+        return highlightStatistics[callSite.ordinal()];
+    }
+
+    /**
+     * getReport, This returns a readable summary of the statistics of every call site that has
+     * been used.
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        for (CallSite callSite : CallSite.values()) {
+            CallStatistics veto = getVetoStatistics(callSite);
+            if (veto.getCallCount() > 0) {
+                report.append("Veto policy, ").append(callSite).append(": ")
+                        .append(veto).append('\n');
+            }
+        }
+        for (CallSite callSite : CallSite.values()) {
+            CallStatistics highlight = getHighlightStatistics(callSite);
+            if (highlight.getCallCount() > 0) {
+                report.append("Highlight policy, ").append(callSite).append(": ")
+                        .append(highlight).append('\n');
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * getVetoStatistics, This returns the statistics of the veto policy, for the supplied call
+     * site.
+     */
+    public CallStatistics getVetoStatistics(CallSite callSite) {
+        return vetoStatistics[callSite.ordinal()];
+    }
+
+    /**
+     * install, This creates a monitor for the policies that are currently in the supplied settings,
+     * and replaces those policies with monitored wrappers. If a policy is null, it is not wrapped.
+     * This returns the new monitor.
+     */
+    public static PolicyMonitor install(DatePickerSettings settings) {
+        PolicyMonitor monitor = new PolicyMonitor(settings);
+        if (settings.vetoPolicy != null) {
+            settings.vetoPolicy = monitor.new MonitoredVetoPolicy(settings.vetoPolicy);
+        }
+        if (settings.highlightPolicy != null) {
+            settings.highlightPolicy = monitor.new MonitoredHighlightPolicy(
+                    settings.highlightPolicy);
+        }
+        activeMonitors.add(monitor);
+        return monitor;
+    }
+
+    /**
+     * isLoggingEnabled, This returns true if a message is printed when a budget is exceeded.
+     */
+    public boolean isLoggingEnabled() {
+        return loggingEnabled;
+    }
+
+    /**
+     * record, This records a single policy call.
+     */
+    private void record(CallStatistics[] statistics, Object policy, LocalDate date,
+            long nanoseconds) {
+        CallSite callSite = currentCallSite.get();
+        statistics[callSite.ordinal()].record(nanoseconds);
+        if (callSite != CallSite.OTHER) {
+            synchronized (this) {
+                ++visitCallCount;
+                visitNanoseconds += nanoseconds;
+            }
+        }
+        if (nanoseconds > callBudgetNanoseconds) {
+            if (loggingEnabled) {
+                System.out.println("PolicyMonitor: " + policy.getClass().getName()
+                        + " took " + (nanoseconds / 1000) + " microseconds during " + callSite
+                        + ((date == null) ? "." : (" for " + date + ".")));
+            }
+            for (PolicyMonitorListener listener : listeners) {
+                listener.callOverBudget(this, policy, callSite, date, nanoseconds);
+            }
+        }
+    }
+
+    /**
+     * removeListener, This removes a listener that was added with addListener().
+     */
+    public void removeListener(PolicyMonitorListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * reset, This clears the statistics of every call site.
+     */
+    public void reset() {
+        for (CallSite callSite : CallSite.values()) {
+            getVetoStatistics(callSite).reset();
+            getHighlightStatistics(callSite).reset();
+        }
+    }
+
+    /**
+     * setCallBudgetNanoseconds, This sets the budget for a single policy call.
+     */
+    public void setCallBudgetNanoseconds(long nanoseconds) {
+        callBudgetNanoseconds = nanoseconds;
+    }
+
+    /**
+     * setLoggingEnabled, This sets whether a message should be printed when a budget is exceeded.
+     * The default value is false. The listeners are notified either way.
+     */
+    public void setLoggingEnabled(boolean loggingEnabled) {
+        this.loggingEnabled = loggingEnabled;
+    }
+
+    /**
+     * setSiteBudgetNanoseconds, This sets the budget for all the policy calls that are made during
+     * a single visit to a call site, such as a single draw of the calendar.
+     */
+    public void setSiteBudgetNanoseconds(long nanoseconds) {
+        siteBudgetNanoseconds = nanoseconds;
+    }
+
+    /**
+     * uninstall, This stops this monitor. If the policies in the settings are still the wrappers
+     * of this monitor, the original policies are restored.
+     */
+    public void uninstall() {
+        activeMonitors.remove(this);
+        if (settings.vetoPolicy instanceof MonitoredVetoPolicy
+                && ((MonitoredVetoPolicy) settings.vetoPolicy).getMonitor() == this) {
+            settings.vetoPolicy = originalVetoPolicy;
+        }
+        if (settings.highlightPolicy instanceof MonitoredHighlightPolicy
+                && ((MonitoredHighlightPolicy) settings.highlightPolicy).getMonitor() == this) {
+            settings.highlightPolicy = originalHighlightPolicy;
+        }
+    }
+
+    /**
+     * CallStatistics, This holds the measurements of the calls to one policy from one call site.
+     * The latency histogram uses power of two buckets: Bucket n counts the calls that took less
+     * than 2^n nanoseconds, and at least 2^(n-1) nanoseconds.
+     */
+    public static final class CallStatistics {
+
+        /**
+         * callCount, This is the number of recorded calls.
+         */
+        private long callCount = 0;
+
+        /**
+         * histogram, This holds the number of calls in each latency bucket.
+         */
+        private final long[] histogram = new long[64];
+
+        /**
+         * maximumNanoseconds, This is the duration of the slowest recorded call.
+         */
+        private long maximumNanoseconds = 0;
+
+        /**
+         * totalNanoseconds, This is the total duration of the recorded calls.
+         */
+        private long totalNanoseconds = 0;
+
+        /**
+         * getCallCount, This returns the number of recorded calls.
+         */
+        public synchronized long getCallCount() {
+            return callCount;
+        }
+
+        /**
+         * getHistogram, This returns a copy of the latency histogram. See the class documentation
+         * for the meaning of each bucket.
+         */
+        public synchronized long[] getHistogram() {
+            return histogram.clone();
+        }
+
+        /**
+         * getMaximumNanoseconds, This returns the duration of the slowest recorded call.
+         */
+        public synchronized long getMaximumNanoseconds() {
+            return maximumNanoseconds;
+        }
+
+        /**
+         * getPercentileNanoseconds, This returns an upper bound for the duration of the supplied
+         * percentage of calls (for example, 99 for the 99th percentile). The result is the upper
+         * limit of the histogram bucket that holds the percentile, so it is accurate to within a
+         * factor of two. This returns zero if no calls have been recorded.
+         */
+        public synchronized long getPercentileNanoseconds(double percentile) {
+            if (callCount == 0) {
+                return 0;
+            }
+            long wantedCount = (long) Math.ceil(callCount * (percentile / 100.0));
+            long countedCalls = 0;
+            for (int bucket = 0; bucket < histogram.length; ++bucket) {
+                countedCalls += histogram[bucket];
+                if (countedCalls >= wantedCount) {
+                    return (bucket >= 63) ? Long.MAX_VALUE : ((1L << bucket) - 1);
+                }
+            }
+            return maximumNanoseconds;
+        }
+
+        /**
+         * getTotalNanoseconds, This returns the total duration of the recorded calls.
+         */
+        public synchronized long getTotalNanoseconds() {
+            return totalNanoseconds;
+        }
+
+        /**
+         * record, This records a single call.
+         */
+        synchronized void record(long nanoseconds) {
+            nanoseconds = Math.max(0, nanoseconds);
+            ++callCount;
+            totalNanoseconds += nanoseconds;
+            maximumNanoseconds = Math.max(maximumNanoseconds, nanoseconds);
+            int bucket = Math.min(63, 64 - Long.numberOfLeadingZeros(nanoseconds));
+            ++histogram[bucket];
+        }
+
+        /**
+         * reset, This clears all the recorded calls.
+         */
+        synchronized void reset() {
+            callCount = 0;
+            totalNanoseconds = 0;
+            maximumNanoseconds = 0;
+            Arrays.fill(histogram, 0);
+        }
+
+        @Override
+        public synchronized String toString() {
+            long averageNanoseconds = (callCount == 0) ? 0 : (totalNanoseconds / callCount);
+            return "calls=" + callCount
+                    + ", totalMicroseconds=" + (totalNanoseconds / 1000)
+                    + ", averageNanoseconds=" + averageNanoseconds
+                    + ", p99Nanoseconds<=" + getPercentileNanoseconds(99)
+                    + ", maximumNanoseconds=" + maximumNanoseconds;
+        }
+    }
+
+    /**
+     * MonitoredHighlightPolicy, This wraps a highlight policy, and records each call. The wrapper
+     * always implements BatchHighlightPolicy. If the wrapped policy does not implement that
+     * interface, a month is checked one day at a time, as the date picker would have done.
+     */
+    private final class MonitoredHighlightPolicy implements BatchHighlightPolicy {
+
+        /**
+         * policy, This is the wrapped policy.
+         */
+        private final HighlightPolicy policy;
+
+        MonitoredHighlightPolicy(HighlightPolicy policy) {
+            this.policy = policy;
+        }
+
+        /**
+         * getMonitor, This returns the monitor that created this wrapper.
+         */
+        PolicyMonitor getMonitor() {
+            return PolicyMonitor.this;
+        }
+
+        @Override
+        public String getHighlightStringOrNull(LocalDate date) {
+            long startTime = System.nanoTime();
+            try {
+                return policy.getHighlightStringOrNull(date);
+            } finally {
+                record(highlightStatistics, policy, date, System.nanoTime() - startTime);
+            }
+        }
+
+        @Override
+        public String[] getHighlightStringsOfMonth(YearMonth yearMonth) {
+            if (policy instanceof BatchHighlightPolicy) {
+                long startTime = System.nanoTime();
+                try {
+                    return ((BatchHighlightPolicy) policy).getHighlightStringsOfMonth(yearMonth);
+                } finally {
+                    record(highlightStatistics, policy, null, System.nanoTime() - startTime);
+                }
+            }
+            String[] result = new String[yearMonth.lengthOfMonth()];
+            for (int day = 1; day <= result.length; ++day) {
+                result[day - 1] = getHighlightStringOrNull(yearMonth.atDay(day));
+            }
+            return result;
+        }
+
+        @Override
+        public String[][] getHighlightStringsOfMonths(YearMonth firstYearMonth, int monthCount) {
+            if (policy instanceof BatchHighlightPolicy) {
+                long startTime = System.nanoTime();
+                try {
+                    return ((BatchHighlightPolicy) policy).getHighlightStringsOfMonths(
+                            firstYearMonth, monthCount);
+                } finally {
+                    record(highlightStatistics, policy, null, System.nanoTime() - startTime);
+                }
+            }
+            return BatchHighlightPolicy.super.getHighlightStringsOfMonths(
+                    firstYearMonth, monthCount);
+        }
+    }
+
+    /**
+     * MonitoredVetoPolicy, This wraps a veto policy, and records each call. The wrapper always
+     * implements BatchVetoPolicy and PendingVetoPolicy. If the wrapped policy does not implement
+     * one of those interfaces, the wrapper gives the same results that the date picker would have
+     * calculated without that interface. (A month is checked one day at a time, and no date is
+     * ever pending.)
+     */
+    private final class MonitoredVetoPolicy implements BatchVetoPolicy, PendingVetoPolicy {
+
+        /**
+         * policy, This is the wrapped policy.
+         */
+        private final VetoPolicy policy;
+
+        MonitoredVetoPolicy(VetoPolicy policy) {
+            this.policy = policy;
+        }
+
+        @Override
+        public void addDataArrivalListener(Runnable listener) {
+            if (policy instanceof PendingVetoPolicy) {
+                ((PendingVetoPolicy) policy).addDataArrivalListener(listener);
+            }
+        }
+
+        /**
+         * getMonitor, This returns the monitor that created this wrapper.
+         */
+        PolicyMonitor getMonitor() {
+            return PolicyMonitor.this;
+        }
+
+        @Override
+        public int getVetoedDaysOfMonth(YearMonth yearMonth) {
+            if (policy instanceof BatchVetoPolicy) {
+                long startTime = System.nanoTime();
+                try {
+                    return ((BatchVetoPolicy) policy).getVetoedDaysOfMonth(yearMonth);
+                } finally {
+                    record(vetoStatistics, policy, null, System.nanoTime() - startTime);
+                }
+            }
+            int mask = 0;
+            for (int day = 1; day <= yearMonth.lengthOfMonth(); ++day) {
+                if (isDateVetoed(yearMonth.atDay(day))) {
+                    mask |= (1 << (day - 1));
+                }
+            }
+            return mask;
+        }
+
+        @Override
+        public int[] getVetoedDaysOfMonths(YearMonth firstYearMonth, int monthCount) {
+            if (policy instanceof BatchVetoPolicy) {
+                long startTime = System.nanoTime();
+                try {
+                    return ((BatchVetoPolicy) policy).getVetoedDaysOfMonths(
+                            firstYearMonth, monthCount);
+                } finally {
+                    record(vetoStatistics, policy, null, System.nanoTime() - startTime);
+                }
+            }
+            return BatchVetoPolicy.super.getVetoedDaysOfMonths(firstYearMonth, monthCount);
+        }
+
+        @Override
+        public boolean isDatePending(LocalDate date) {
+            if (!(policy instanceof PendingVetoPolicy)) {
+                return false;
+            }
+            long startTime = System.nanoTime();
+            try {
+                return ((PendingVetoPolicy) policy).isDatePending(date);
+            } finally {
+                record(vetoStatistics, policy, date, System.nanoTime() - startTime);
+            }
+        }
+
+        @Override
+        public boolean isDateVetoed(LocalDate date) {
+            long startTime = System.nanoTime();
+            try {
+                return policy.isDateVetoed(date);
+            } finally {
+                record(vetoStatistics, policy, date, System.nanoTime() - startTime);
+            }
+        }
+
+        @Override
+        public void removeDataArrivalListener(Runnable listener) {
+            if (policy instanceof PendingVetoPolicy) {
+                ((PendingVetoPolicy) policy).removeDataArrivalListener(listener);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.lgooddatepicker.utilities;
+
+import java.time.LocalDate;
+
+/**
+ * PolicyMonitorListener, This interface can be implemented to be notified when a policy that is
+ * watched by a PolicyMonitor takes longer than the configured budget. See the PolicyMonitor class.
+ *
+ * The functions of this interface are called on the thread that called the policy, which is
+ * usually the Swing event dispatch thread. Implementations should return quickly.
+ */
+public interface PolicyMonitorListener {
+
+    /**
+     * callOverBudget, This is called when a single policy call took longer than the call budget of
+     * the monitor. The policy is the original (unwrapped) policy. The date is the date that was
+     * checked, or null if the call checked a whole month.
+     */
+    public void callOverBudget(PolicyMonitor monitor, Object policy,
+            PolicyMonitor.CallSite callSite, LocalDate date, long nanoseconds);
+
+    /**
+     * callSiteOverBudget, This is called when the policy calls that were made during a single
+     * visit to a call site (for example, during a single draw of the calendar) took longer in total
+     * than the site budget of the monitor.
+     */
+    public void callSiteOverBudget(PolicyMonitor monitor, PolicyMonitor.CallSite callSite,
+            int callCount, long nanoseconds);
+
+}
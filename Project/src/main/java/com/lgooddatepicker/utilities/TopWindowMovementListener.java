@@ -3,53 +3,123 @@ package com.lgooddatepicker.utilities;
 import java.awt.Window;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
+import java.util.Map;
+import java.util.WeakHashMap;
 import com.lgooddatepicker.core.DatePicker;
 
 /**
  * TopWindowMovementListener, This class is used to listen for movement in the top window of a date
  * pickers GUI component tree. If the window moves, the popup calendar for the date picker will be
- * closed. This class handles its own registration of the listener instances with the top window
- * component, but not the de-registration. New instances of this class are generated with the
- * addNewTopWindowMovementListener() function.
+ * closed.
  *
- * Implementation note: This class cannot handle its own de-registration from the top window,
- * because a popup may be closed from many different sources (not exclusively from the events in
- * this class). For that reason, the de-registration of this class from the top window is handled by
- * the parentDatePicker.closePopup() function.
+ * There is one shared instance of this class for each top window. The shared instance is
+ * registered with its top window exactly once, the first time that a date picker in that window
+ * opens a popup, and it stays registered for the life of the window. The shared instance keeps
+ * track of the date picker that currently has an open popup (at most one per window), so opening
+ * or closing a popup never needs to add, remove, or search through the listeners of the window.
+ *
+ * Date pickers report their popups with setOpenPopupDatePicker() when a popup is opened, and with
+ * clearOpenPopupDatePicker() when a popup is closed. A popup may be closed from many different
+ * sources (not exclusively from the events in this class), so the closing is always handled by the
+ * parentDatePicker.closePopup() function.
+ *
+ * The shared instances are held in a weak map that is keyed by the window, so this class does not
+ * keep any window from being garbage collected. This class should only be used on the event
+ * dispatch thread.
  */
 public class TopWindowMovementListener implements ComponentListener {
 
-    private DatePicker parentDatePicker;
+    /**
+     * sharedInstances, This holds the shared instance for each top window.
+     */
+    private static final Map<Window, TopWindowMovementListener> sharedInstances
+            = new WeakHashMap<>();
+
+    /**
+     * openPopupDatePicker, This is the date picker in the top window that currently has an open
+     * popup, or null if no date picker in the top window has an open popup.
+     */
+    private DatePicker openPopupDatePicker = null;
 
-    private TopWindowMovementListener(DatePicker parentDatePicker) {
-        this.parentDatePicker = parentDatePicker;
+    /**
+     * Constructor, Instances are only created by setOpenPopupDatePicker().
+     */
+    private TopWindowMovementListener() {
     }
 
-    public static void addNewTopWindowMovementListener(DatePicker parentDatePicker, Window topWindow) {
-        topWindow.addComponentListener(new TopWindowMovementListener(parentDatePicker));
+    /**
+     * clearOpenPopupDatePicker, This is called when the supplied date picker has closed its popup.
+     * If the supplied date picker is the one that was registered for the supplied top window, the
+     * registration is cleared. This does nothing if the window is null, or if the window has no
+     * shared instance.
+     */
+    public static void clearOpenPopupDatePicker(DatePicker datePicker, Window topWindow) {
+        if (topWindow == null) {
+            return;
+        }
+        TopWindowMovementListener instance = sharedInstances.get(topWindow);
+        if (instance != null && instance.openPopupDatePicker == datePicker) {
+            instance.openPopupDatePicker = null;
+        }
+    }
+
+    /**
+     * closeOpenPopup, This closes the popup of the registered date picker, if there is one.
+     */
+    private void closeOpenPopup() {
+        DatePicker datePicker = openPopupDatePicker;
+        openPopupDatePicker = null;
+        if (datePicker != null) {
+            datePicker.closePopup();
+        }
+    }
+
+    /**
+     * getRegisteredWindowCount, This returns the number of top windows that currently have a
+     * shared instance. This is intended for diagnostics.
+     */
+    public static int getRegisteredWindowCount() {
+        return sharedInstances.size();
+    }
+
+    /**
+     * setOpenPopupDatePicker, This is called when the supplied date picker has opened its popup.
+     * If the top window does not have a shared instance yet, then one is created and registered
+     * with the window. If a different date picker in the same window still has an open popup, that
+     * popup is closed. This does nothing if the window is null.
+     */
+    public static void setOpenPopupDatePicker(DatePicker datePicker, Window topWindow) {
+        if (topWindow == null) {
+            return;
+        }
+        TopWindowMovementListener instance = sharedInstances.get(topWindow);
+        if (instance == null) {
+            instance = new TopWindowMovementListener();
+            sharedInstances.put(topWindow, instance);
+            topWindow.addComponentListener(instance);
+        }
+        if (instance.openPopupDatePicker != datePicker) {
+            instance.closeOpenPopup();
+        }
+        instance.openPopupDatePicker = datePicker;
     }
 
     @Override
     public void componentResized(ComponentEvent e) {
-        closePopupAndDispose();
+        closeOpenPopup();
     }
 
     @Override
     public void componentMoved(ComponentEvent e) {
-        closePopupAndDispose();
+        closeOpenPopup();
     }
 
     @Override
     public void componentHidden(ComponentEvent e) {
-        closePopupAndDispose();
+        closeOpenPopup();
     }
 
     @Override
     public void componentShown(ComponentEvent e) {
     }
-
-    private void closePopupAndDispose() {
-        parentDatePicker.closePopup();
-        parentDatePicker = null;
-    }
 }